@@ -0,0 +1,102 @@
+package org.kamatech.chess;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Computer player for one side. Each decision captures a
+ * {@link SearchPosition} on the engine's thread and searches it in the
+ * background with {@link RealTimeSearch}; the chosen move is played on a later
+ * tick through {@link GameEngine#processCommand}, the same "MOVE" key command a
+ * human's movement mode sends. The engine is only touched from
+ * {@link #update()}, so call it from the thread that updates the engine.
+ */
+public class AIPlayer implements AutoCloseable {
+    private final GameEngine engine;
+    private final Command.Player player;
+    private final boolean white;
+    private final RealTimeSearch search;
+    private final long thinkMillis;
+    private CompletableFuture<RealTimeSearch.Result> pending; // Decision in progress
+    private RealTimeSearch.Result lastResult;
+
+    public AIPlayer(GameEngine engine, Command.Player player, long thinkMillis, int threads) {
+        if (player == Command.Player.SYSTEM) {
+            throw new IllegalArgumentException("AI must play WHITE or BLACK");
+        }
+        this.engine = engine;
+        this.player = player;
+        this.white = player == Command.Player.WHITE;
+        this.search = new RealTimeSearch(threads);
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Start a decision when a piece is ready, or play a finished one
+     */
+    public void update() {
+        if (!engine.isRunning()) {
+            return;
+        }
+        if (pending == null) {
+            SearchPosition position = SearchPosition.capture(engine);
+            if (position.hasReadyPiece(white)) {
+                pending = CompletableFuture.supplyAsync(() -> search.search(position, white, thinkMillis),
+                        search.getPool());
+            }
+            return;
+        }
+        if (!pending.isDone()) {
+            return;
+        }
+        try {
+            lastResult = pending.join();
+            play(lastResult);
+        } catch (Exception e) {
+            System.err.println("AI search failed: " + e.getMessage());
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * Play a search result if its piece is still where the search saw it and
+     * ready to act
+     */
+    private void play(RealTimeSearch.Result result) {
+        if (!result.hasMove()) {
+            return;
+        }
+        Piece piece = engine.getPiece(result.getPieceKey());
+        int width = engine.getWidthCells();
+        int fromCol = result.getFromCell() % width;
+        int fromRow = result.getFromCell() / width;
+        if (piece == null || piece.getX() != fromCol || piece.getY() != fromRow
+                || !piece.getState().canPerformAction()) {
+            return; // The position changed while thinking; decide again
+        }
+
+        if (!result.getPieceKey().equals(white ? engine.getSelectedPieceWhite() : engine.getSelectedPieceBlack())) {
+            engine.selectPiece(result.getPieceKey(), player);
+        }
+        engine.setPendingMove(player, result.getToCell() % width - fromCol, result.getToCell() / width - fromRow);
+        engine.processCommand(Command.createKeyInput("MOVE", player));
+        engine.setPendingMove(player, 0, 0);
+        System.out.println("AI " + player + ": " + result);
+    }
+
+    /**
+     * Result of the last decision played or discarded, or null
+     */
+    public RealTimeSearch.Result getLastResult() {
+        return lastResult;
+    }
+
+    public Command.Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
@@ -0,0 +1,149 @@
+package org.kamatech.chess;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Active rendering: draws into a Canvas through a BufferStrategy on its own
+ * thread and flips at a fixed target frame rate, instead of asking Swing to
+ * repaint and letting the EDT coalesce requests. Frames are paced against
+ * absolute deadlines so timing does not drift; if rendering falls more than a
+ * frame behind, the schedule resyncs instead of bursting to catch up.
+ */
+public class ActiveRenderer {
+
+    /**
+     * Draws one complete frame at the canvas size
+     */
+    public interface FramePainter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Canvas canvas;
+    private final GameClock clock;
+    private final long frameNanos;
+    private final FramePainter painter;
+    private final FrameTimeHistogram frameTimes = new FrameTimeHistogram();
+    private final FrameTimeHistogram renderTimes = new FrameTimeHistogram();
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private long lastFlipNanos;
+
+    public ActiveRenderer(Canvas canvas, GameClock clock, int targetFps, FramePainter painter) {
+        if (targetFps <= 0) {
+            throw new IllegalArgumentException("Target FPS must be positive: " + targetFps);
+        }
+        this.canvas = canvas;
+        this.clock = clock;
+        this.frameNanos = 1_000_000_000L / targetFps;
+        this.painter = painter;
+        canvas.setIgnoreRepaint(true); // We draw the canvas ourselves
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Time between consecutive flips
+     */
+    public FrameTimeHistogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    /**
+     * Time spent drawing and flipping each frame
+     */
+    public FrameTimeHistogram getRenderTimes() {
+        return renderTimes;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start the render thread. The canvas must already be displayable.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (canvas.getBufferStrategy() == null) {
+            canvas.createBufferStrategy(2);
+        }
+        running = true;
+        lastFlipNanos = 0;
+        Thread t = new Thread(this::runLoop, "RenderLoop");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        Thread t = thread;
+        thread = null;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    private void runLoop() {
+        long nextFrame = clock.nanoTime();
+        while (running && thread == Thread.currentThread()) {
+            renderFrame();
+
+            nextFrame += frameNanos;
+            long now = clock.nanoTime();
+            if (now - nextFrame > frameNanos) {
+                // More than a frame behind: skip the missed frames
+                nextFrame = now;
+            }
+            long wait = nextFrame - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+        }
+    }
+
+    /**
+     * Draw and show one frame. Returns false if the canvas has no buffer
+     * strategy yet.
+     */
+    public boolean renderFrame() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        if (strategy == null) {
+            return false;
+        }
+        long start = clock.nanoTime();
+        try {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        painter.paint(g, canvas.getWidth(), canvas.getHeight());
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            // Flush the window system queue so the flip is presented now (vsync-friendly on X11)
+            Toolkit.getDefaultToolkit().sync();
+        } catch (IllegalStateException e) {
+            // Canvas was removed or its buffers disposed; skip this frame
+            return false;
+        }
+
+        long end = clock.nanoTime();
+        renderTimes.record(end - start);
+        if (lastFlipNanos != 0) {
+            frameTimes.record(end - lastFlipNanos);
+        }
+        lastFlipNanos = end;
+        return true;
+    }
+}
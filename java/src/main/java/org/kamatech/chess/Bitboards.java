@@ -0,0 +1,337 @@
+package org.kamatech.chess;
+
+/**
+ * Bitboard view of the position: one bit set per cell for each piece kind
+ * (K, Q, R, B, N, P) and color, plus per-color occupancy. On an 8x8 board
+ * every plane is a single long with bit (row * 8 + col); larger boards use
+ * several longs per plane, words in the same order.
+ *
+ * Like {@link OccupancyGrid}, a piece only sets its bit while it rests on a
+ * cell; pieces between cells (mid-animation) are still counted, so
+ * {@link #isKingAlive} does not flicker while a king moves.
+ */
+public class Bitboards {
+    /** Piece kinds in plane order, matching the first letter of piece codes */
+    public static final String KINDS = "KQRBNP";
+
+    private static final int KIND_COUNT = KINDS.length();
+    private static final int KING = 0, QUEEN = 1, ROOK = 2, BISHOP = 3, KNIGHT = 4, PAWN = 5;
+    private static final double CELL_TOLERANCE = 0.1;
+    private static final int[][] KNIGHT_STEPS = { { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 },
+            { -2, 1 }, { -1, 2 } };
+    private static final int[][] KING_STEPS = { { 1, 0 }, { 1, 1 }, { 0, 1 }, { -1, 1 }, { -1, 0 }, { -1, -1 },
+            { 0, -1 }, { 1, -1 } };
+    private static final int[][] ORTHOGONAL_RAYS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+    private static final int[][] DIAGONAL_RAYS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+
+    private final int widthCells;
+    private final int heightCells;
+    private final int words; // longs per plane
+    private final long[] planes; // [(color * KIND_COUNT + kind) * words + word], color 0 = white
+    private final long[] occupancy; // [color * words + word]
+    private final int[] counts; // Pieces per plane, including those between cells
+
+    // Leaper attack masks per cell: [cell * words + word]
+    private final long[] knightAttacks;
+    private final long[] kingAttacks;
+    // Cells from which a pawn of the given color attacks the cell: [color][cell * words + word]
+    private final long[][] pawnAttackers;
+
+    public Bitboards(int widthCells, int heightCells) {
+        if (widthCells <= 0 || heightCells <= 0) {
+            throw new IllegalArgumentException("Board must have cells: " + widthCells + "x" + heightCells);
+        }
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.words = (widthCells * heightCells + 63) / 64;
+        this.planes = new long[2 * KIND_COUNT * words];
+        this.occupancy = new long[2 * words];
+        this.counts = new int[2 * KIND_COUNT];
+
+        int cellCount = widthCells * heightCells;
+        this.knightAttacks = new long[cellCount * words];
+        this.kingAttacks = new long[cellCount * words];
+        this.pawnAttackers = new long[][] { new long[cellCount * words], new long[cellCount * words] };
+        for (int row = 0; row < heightCells; row++) {
+            for (int col = 0; col < widthCells; col++) {
+                int cell = row * widthCells + col;
+                for (int[] step : KNIGHT_STEPS) {
+                    setMaskBit(knightAttacks, cell, col + step[0], row + step[1]);
+                }
+                for (int[] step : KING_STEPS) {
+                    setMaskBit(kingAttacks, cell, col + step[0], row + step[1]);
+                }
+                // White pawns move toward row 0, so they attack this cell from the row below
+                setMaskBit(pawnAttackers[0], cell, col - 1, row + 1);
+                setMaskBit(pawnAttackers[0], cell, col + 1, row + 1);
+                setMaskBit(pawnAttackers[1], cell, col - 1, row - 1);
+                setMaskBit(pawnAttackers[1], cell, col + 1, row - 1);
+            }
+        }
+    }
+
+    private void setMaskBit(long[] masks, int cell, int col, int row) {
+        if (col >= 0 && col < widthCells && row >= 0 && row < heightCells) {
+            int target = row * widthCells + col;
+            masks[cell * words + (target >>> 6)] |= 1L << (target & 63);
+        }
+    }
+
+    /**
+     * Plane index of a kind letter (see {@link #KINDS}), or -1 if unknown
+     */
+    public static int kindOf(char kind) {
+        return KINDS.indexOf(Character.toUpperCase(kind));
+    }
+
+    private static int planeOf(Piece piece) {
+        String id = piece.getId();
+        int kind = id.isEmpty() ? -1 : kindOf(id.charAt(0));
+        if (kind < 0) {
+            return -1;
+        }
+        return (piece.isWhite() ? 0 : KIND_COUNT) + kind;
+    }
+
+    /* ----------- Updates ----------- */
+
+    /**
+     * Add a piece to the board: count it and set its bit if it rests on a cell
+     */
+    public void add(Piece piece) {
+        int plane = planeOf(piece);
+        if (plane >= 0) {
+            counts[plane]++;
+            place(piece);
+        }
+    }
+
+    /**
+     * Remove a piece from the board. Must be called before its position changes.
+     */
+    public void remove(Piece piece) {
+        int plane = planeOf(piece);
+        if (plane >= 0) {
+            lift(piece);
+            counts[plane]--;
+        }
+    }
+
+    /**
+     * Set the piece's bit at its current position, if it rests on a cell
+     */
+    public void place(Piece piece) {
+        int plane = planeOf(piece);
+        int cell = cellIndexOf(piece.getX(), piece.getY());
+        if (plane < 0 || cell < 0) {
+            return;
+        }
+        int word = cell >>> 6;
+        long bit = 1L << (cell & 63);
+        planes[plane * words + word] |= bit;
+        occupancy[(plane / KIND_COUNT) * words + word] |= bit;
+    }
+
+    /**
+     * Clear the piece's bit at its current position. Call before moving it.
+     */
+    public void lift(Piece piece) {
+        int plane = planeOf(piece);
+        int cell = cellIndexOf(piece.getX(), piece.getY());
+        if (plane < 0 || cell < 0) {
+            return;
+        }
+        int word = cell >>> 6;
+        planes[plane * words + word] &= ~(1L << (cell & 63));
+
+        // Rebuild the color's occupancy word: another kind may share the cell
+        int color = plane / KIND_COUNT;
+        long occupied = 0;
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            occupied |= planes[(color * KIND_COUNT + kind) * words + word];
+        }
+        occupancy[color * words + word] = occupied;
+    }
+
+    /* ----------- Queries ----------- */
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+
+    /**
+     * Number of longs per plane (1 for boards of up to 64 cells)
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Whether a king of the given color is still on the board
+     */
+    public boolean isKingAlive(boolean white) {
+        return counts[(white ? 0 : KIND_COUNT) + KING] > 0;
+    }
+
+    /**
+     * Number of pieces of a kind and color on the board, including pieces
+     * between cells
+     */
+    public int count(char kind, boolean white) {
+        int index = kindOf(kind);
+        return index < 0 ? 0 : counts[(white ? 0 : KIND_COUNT) + index];
+    }
+
+    /**
+     * First word of a kind's plane; the whole plane on boards of up to 64 cells
+     */
+    public long getBits(char kind, boolean white) {
+        int index = kindOf(kind);
+        return index < 0 ? 0 : planes[((white ? 0 : KIND_COUNT) + index) * words];
+    }
+
+    /**
+     * Copy of a kind's plane, for boards of any size
+     */
+    public long[] getPlane(char kind, boolean white) {
+        long[] copy = new long[words];
+        int index = kindOf(kind);
+        if (index >= 0) {
+            System.arraycopy(planes, ((white ? 0 : KIND_COUNT) + index) * words, copy, 0, words);
+        }
+        return copy;
+    }
+
+    /**
+     * First word of a color's occupancy; the whole board on boards of up to 64
+     * cells
+     */
+    public long getOccupancy(boolean white) {
+        return occupancy[(white ? 0 : 1) * words];
+    }
+
+    /**
+     * The live occupancy of both colors, laid out as [color * words + word]
+     * with color 0 = white; for move generation, which must not modify it
+     */
+    long[] occupancyWords() {
+        return occupancy;
+    }
+
+    /**
+     * One word of a color's occupancy, for boards of any size
+     */
+    public long getOccupancyWord(boolean white, int word) {
+        return occupancy[(white ? 0 : 1) * words + word];
+    }
+
+    /**
+     * Whether any piece rests on a cell
+     */
+    public boolean isOccupied(int col, int row) {
+        return isOccupied(col, row, true) || isOccupied(col, row, false);
+    }
+
+    /**
+     * Whether a piece of the given color rests on a cell
+     */
+    public boolean isOccupied(int col, int row, boolean white) {
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return false;
+        }
+        int cell = row * widthCells + col;
+        return (occupancy[(white ? 0 : 1) * words + (cell >>> 6)] & (1L << (cell & 63))) != 0;
+    }
+
+    /**
+     * Kind letter of the piece of the given color resting on a cell, or 0 if
+     * there is none
+     */
+    public char kindAt(int col, int row, boolean white) {
+        if (!isOccupied(col, row, white)) {
+            return 0;
+        }
+        int cell = row * widthCells + col;
+        int base = white ? 0 : KIND_COUNT;
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            if (testBit(base + kind, cell)) {
+                return KINDS.charAt(kind);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Whether a piece of the given color attacks a cell under standard chess
+     * geometry: leapers through precomputed masks, sliders along rays until the
+     * first occupied cell
+     */
+    public boolean isAttacked(int col, int row, boolean byWhite) {
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return false;
+        }
+        int cell = row * widthCells + col;
+        int base = byWhite ? 0 : KIND_COUNT;
+        if (intersects(knightAttacks, cell, base + KNIGHT)
+                || intersects(kingAttacks, cell, base + KING)
+                || intersects(pawnAttackers[byWhite ? 0 : 1], cell, base + PAWN)) {
+            return true;
+        }
+        return slidingAttack(col, row, ORTHOGONAL_RAYS, base + ROOK, base + QUEEN)
+                || slidingAttack(col, row, DIAGONAL_RAYS, base + BISHOP, base + QUEEN);
+    }
+
+    private boolean intersects(long[] masks, int cell, int plane) {
+        int maskBase = cell * words;
+        int planeBase = plane * words;
+        for (int w = 0; w < words; w++) {
+            if ((masks[maskBase + w] & planes[planeBase + w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean slidingAttack(int col, int row, int[][] rays, int plane, int queenPlane) {
+        for (int[] ray : rays) {
+            int c = col + ray[0];
+            int r = row + ray[1];
+            while (c >= 0 && c < widthCells && r >= 0 && r < heightCells) {
+                int cell = r * widthCells + c;
+                if (testBit(plane, cell) || testBit(queenPlane, cell)) {
+                    return true;
+                }
+                if (isOccupied(c, r)) {
+                    break; // Blocked
+                }
+                c += ray[0];
+                r += ray[1];
+            }
+        }
+        return false;
+    }
+
+    private boolean testBit(int plane, int cell) {
+        return (planes[plane * words + (cell >>> 6)] & (1L << (cell & 63))) != 0;
+    }
+
+    /**
+     * Convert board coordinates to a cell index, or -1 if the position is not on
+     * a cell
+     */
+    private int cellIndexOf(double x, double y) {
+        long col = Math.round(x);
+        long row = Math.round(y);
+        if (Math.abs(x - col) > CELL_TOLERANCE || Math.abs(y - row) > CELL_TOLERANCE) {
+            return -1;
+        }
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return -1;
+        }
+        return (int) row * widthCells + (int) col;
+    }
+}
@@ -0,0 +1,105 @@
+package org.kamatech.chess;
+
+/**
+ * Pixel layout of the board inside a panel of a given size: the largest
+ * square-celled board that fits, centered. Every cell has the same pixel
+ * size, so positions map to pixels with one multiply. Immutable; build a new
+ * one when the panel is resized.
+ */
+public final class BoardGeometry {
+    private final int panelWidth;
+    private final int panelHeight;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int originX;
+    private final int originY;
+    private final int boardWidth;
+    private final int boardHeight;
+
+    private BoardGeometry(int panelWidth, int panelHeight, int columns, int rows, int cellWidth, int cellHeight) {
+        this.panelWidth = panelWidth;
+        this.panelHeight = panelHeight;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.originX = (panelWidth - columns * cellWidth) / 2;
+        this.originY = (panelHeight - rows * cellHeight) / 2;
+        this.boardWidth = columns * cellWidth;
+        this.boardHeight = rows * cellHeight;
+    }
+
+    /**
+     * Fit a board of columns x rows square cells into a panel, as large as the
+     * panel allows
+     */
+    public static BoardGeometry fit(int panelWidth, int panelHeight, int columns, int rows) {
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Board must have cells: " + columns + "x" + rows);
+        }
+        int cell = Math.max(1, Math.min(panelWidth / columns, panelHeight / rows));
+        return new BoardGeometry(panelWidth, panelHeight, columns, rows, cell, cell);
+    }
+
+    /**
+     * Lay out a board with fixed cell sizes at the top-left of an area of the
+     * given size
+     */
+    public static BoardGeometry ofCells(int columns, int rows, int cellWidth, int cellHeight) {
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Board must have cells: " + columns + "x" + rows);
+        }
+        return new BoardGeometry(columns * cellWidth, rows * cellHeight, columns, rows,
+                Math.max(1, cellWidth), Math.max(1, cellHeight));
+    }
+
+    /**
+     * Check whether this geometry was built for the given panel size
+     */
+    public boolean matches(int panelWidth, int panelHeight) {
+        return this.panelWidth == panelWidth && this.panelHeight == panelHeight;
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    /**
+     * Left edge of the board within the panel
+     */
+    public int getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Top edge of the board within the panel
+     */
+    public int getOriginY() {
+        return originY;
+    }
+
+    public int getBoardWidth() {
+        return boardWidth;
+    }
+
+    public int getBoardHeight() {
+        return boardHeight;
+    }
+
+    /**
+     * Pixel x, relative to the board, of a column position in cells; positions
+     * between cells (moving pieces) are scaled the same way
+     */
+    public int toPixelX(double cellX) {
+        return (int) (cellX * cellWidth);
+    }
+
+    /**
+     * Pixel y, relative to the board, of a row position in cells
+     */
+    public int toPixelY(double cellY) {
+        return (int) (cellY * cellHeight);
+    }
+}
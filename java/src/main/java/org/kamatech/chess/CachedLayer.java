@@ -0,0 +1,135 @@
+package org.kamatech.chess;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * A static picture (background, board) rendered once into an accelerated
+ * VolatileImage and then copied 1:1 every frame. The contents are only
+ * redrawn when the size changes, the layer is invalidated, or the video
+ * memory copy is lost. Falls back to a BufferedImage when no accelerated
+ * image can be created (e.g. headless).
+ */
+public class CachedLayer {
+
+    /**
+     * Draws the layer contents at the given size
+     */
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private final Painter painter;
+    private VolatileImage volatileImage;
+    private BufferedImage fallbackImage;
+    private int width;
+    private int height;
+    private boolean dirty = true;
+    private int renderCount;
+
+    public CachedLayer(Painter painter) {
+        this.painter = painter;
+    }
+
+    /**
+     * Force the contents to be redrawn on the next draw, e.g. after the source
+     * image changed
+     */
+    public synchronized void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Number of times the contents were rendered, for diagnostics
+     */
+    public synchronized int getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Draw the layer at (x, y) with the given size, re-rendering it first only if
+     * needed
+     */
+    public synchronized void draw(Graphics2D g, int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (w != width || h != height) {
+            width = w;
+            height = h;
+            release();
+            dirty = true;
+        }
+
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        if (fallbackImage == null) {
+            if (drawVolatile(g, gc, x, y)) {
+                return;
+            }
+            // No accelerated image available; keep using a plain image from now on
+            release();
+            fallbackImage = SpriteAtlas.createCompatibleImage(width, height);
+            dirty = true;
+        }
+        if (dirty) {
+            render(fallbackImage);
+        }
+        g.drawImage(fallbackImage, x, y, null);
+    }
+
+    /**
+     * Draw through the VolatileImage, restoring it as often as its contents get
+     * lost. Returns false if no VolatileImage can be used.
+     */
+    private boolean drawVolatile(Graphics2D g, GraphicsConfiguration gc, int x, int y) {
+        try {
+            do {
+                if (volatileImage == null) {
+                    volatileImage = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+                    dirty = true;
+                }
+                int status = volatileImage.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    volatileImage.flush();
+                    volatileImage = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+                    dirty = true;
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    dirty = true;
+                }
+                if (dirty) {
+                    render(volatileImage);
+                }
+                g.drawImage(volatileImage, x, y, null);
+            } while (volatileImage.contentsLost());
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void render(Image target) {
+        Graphics2D g = (Graphics2D) target.getGraphics();
+        try {
+            // Clear to transparent, then let the painter scale its source once
+            g.setComposite(AlphaComposite.Src);
+            g.setColor(new Color(0, 0, 0, 0));
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            painter.paint(g, width, height);
+        } finally {
+            g.dispose();
+        }
+        dirty = false;
+        renderCount++;
+    }
+
+    private void release() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+        fallbackImage = null;
+    }
+}
@@ -0,0 +1,109 @@
+package org.kamatech.chess;
+
+/**
+ * Collects the board cells whose pixels changed since the last frame, so only
+ * those areas are repainted. Pieces and overlays mark the cells they touch;
+ * {@link #flush} turns the marked cells into one rectangle per run of
+ * adjacent cells in a row and clears them.
+ */
+public class DamageTracker {
+
+    /**
+     * Receives one damaged area in pixels, e.g. {@code JComponent::repaint}
+     */
+    public interface RepaintSink {
+        void repaint(int x, int y, int width, int height);
+    }
+
+    // Extra pixels around each area for borders drawn slightly outside a cell
+    private static final int PADDING = 4;
+
+    private final int widthCells;
+    private final int heightCells;
+    private final boolean[] dirty;
+    private int dirtyCount;
+    private boolean all;
+
+    public DamageTracker(int widthCells, int heightCells) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.dirty = new boolean[widthCells * heightCells];
+    }
+
+    /**
+     * Mark a single cell; cells off the board are ignored
+     */
+    public synchronized void markCell(int col, int row) {
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return;
+        }
+        int index = row * widthCells + col;
+        if (!dirty[index]) {
+            dirty[index] = true;
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * Mark every cell covered by a cell-sized item at board coordinates (x, y),
+     * i.e. up to four cells while it is between cells
+     */
+    public synchronized void markPosition(double x, double y) {
+        int col0 = (int) Math.floor(x);
+        int row0 = (int) Math.floor(y);
+        int col1 = (int) Math.ceil(x);
+        int row1 = (int) Math.ceil(y);
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                markCell(col, row);
+            }
+        }
+    }
+
+    /**
+     * Mark the whole board, e.g. after a resize or a board-wide change
+     */
+    public synchronized void markAll() {
+        all = true;
+    }
+
+    public synchronized boolean isDirty() {
+        return all || dirtyCount > 0;
+    }
+
+    /**
+     * Report the damaged areas for a board drawn at (originX, originY) with the
+     * given cell size, then clear all marks. Does nothing when nothing changed.
+     */
+    public synchronized void flush(int originX, int originY, int cellWidth, int cellHeight, RepaintSink sink) {
+        if (all) {
+            sink.repaint(originX - PADDING, originY - PADDING,
+                    widthCells * cellWidth + 2 * PADDING, heightCells * cellHeight + 2 * PADDING);
+        } else if (dirtyCount > 0) {
+            for (int row = 0; row < heightCells; row++) {
+                int col = 0;
+                while (col < widthCells) {
+                    if (!dirty[row * widthCells + col]) {
+                        col++;
+                        continue;
+                    }
+                    int start = col;
+                    while (col < widthCells && dirty[row * widthCells + col]) {
+                        col++;
+                    }
+                    sink.repaint(originX + start * cellWidth - PADDING, originY + row * cellHeight - PADDING,
+                            (col - start) * cellWidth + 2 * PADDING, cellHeight + 2 * PADDING);
+                }
+            }
+        }
+        clear();
+    }
+
+    private void clear() {
+        if (dirtyCount > 0) {
+            java.util.Arrays.fill(dirty, false);
+            dirtyCount = 0;
+        }
+        all = false;
+    }
+}
@@ -0,0 +1,128 @@
+package org.kamatech.chess;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Fixed-timestep simulation loop. Elapsed clock time is accumulated and
+ * consumed in whole steps, so the simulation advances deterministically no
+ * matter how late the thread wakes up. The loop thread parks until the next
+ * step is due instead of polling.
+ */
+public class FixedTimestepLoop {
+    private static final int DEFAULT_MAX_STEPS_PER_TICK = 5;
+
+    private final GameClock clock;
+    private final long stepNanos;
+    private final long stepMillis;
+    private final int maxStepsPerTick;
+    private final LongConsumer update;
+    private final Runnable render;
+
+    private long lastTime;
+    private long accumulator;
+    private long totalSteps;
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    public FixedTimestepLoop(GameClock clock, long stepMillis, LongConsumer update, Runnable render) {
+        this(clock, stepMillis, DEFAULT_MAX_STEPS_PER_TICK, update, render);
+    }
+
+    public FixedTimestepLoop(GameClock clock, long stepMillis, int maxStepsPerTick,
+            LongConsumer update, Runnable render) {
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + stepMillis);
+        }
+        this.clock = clock;
+        this.stepMillis = stepMillis;
+        this.stepNanos = stepMillis * 1_000_000L;
+        this.maxStepsPerTick = Math.max(1, maxStepsPerTick);
+        this.update = update;
+        this.render = render;
+        this.lastTime = clock.nanoTime();
+    }
+
+    /**
+     * Run all simulation steps that are due according to the clock, then render
+     * once if anything changed. Backlog beyond the per-tick limit is dropped so
+     * a stalled machine does not spiral.
+     *
+     * @return the number of steps that were run
+     */
+    public int tick() {
+        long now = clock.nanoTime();
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = 0;
+        while (accumulator >= stepNanos && steps < maxStepsPerTick) {
+            update.accept(stepMillis);
+            accumulator -= stepNanos;
+            steps++;
+        }
+        if (accumulator >= stepNanos) {
+            accumulator %= stepNanos;
+        }
+        totalSteps += steps;
+
+        if (steps > 0 && render != null) {
+            render.run();
+        }
+        return steps;
+    }
+
+    /**
+     * Start running the loop on its own daemon thread
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastTime = clock.nanoTime();
+        accumulator = 0;
+        thread = new Thread(this::run, "GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the loop thread
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getStepMillis() {
+        return stepMillis;
+    }
+
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    private void run() {
+        // A restarted loop replaces the thread, so stale threads exit
+        while (running && thread == Thread.currentThread()) {
+            tick();
+
+            // Sleep until the next step is due
+            long wait = stepNanos - accumulator;
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                running = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.kamatech.chess;
+
+/**
+ * Histogram of frame times with 0.5 ms buckets up to 100 ms (longer frames
+ * share one overflow bucket). Recording is allocation-free; percentiles are
+ * read from the buckets.
+ */
+public class FrameTimeHistogram {
+    private static final long BUCKET_NANOS = 500_000L;
+    private static final int BUCKETS = 200;
+
+    private final long[] counts = new long[BUCKETS + 1];
+    private long total;
+    private long sumNanos;
+    private long maxNanos;
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        int bucket = (int) Math.min(BUCKETS, nanos / BUCKET_NANOS);
+        counts[bucket]++;
+        total++;
+        sumNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    public synchronized long getCount() {
+        return total;
+    }
+
+    public synchronized double getMeanMillis() {
+        return total == 0 ? 0 : sumNanos / (double) total / 1_000_000.0;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    /**
+     * Upper edge of the bucket holding the given percentile (0-100), in
+     * milliseconds. Frames in the overflow bucket report the longest frame seen.
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        rank = Math.max(1, rank);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public synchronized void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        sumNanos = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d frames, mean %.2f ms, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.2f ms",
+                total, getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95),
+                getPercentileMillis(99), getMaxMillis());
+    }
+}
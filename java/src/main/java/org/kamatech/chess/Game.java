@@ -11,114 +11,87 @@ import java.io.*;
 import java.util.*;
 import javax.imageio.ImageIO;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main game class that orchestrates all game components
- * Manages board state, command processing, physics, and game flow
+ * Swing view over a headless GameEngine: owns the window, maps keys to engine
+ * actions, runs the game loop and paints the engine's snapshots
  */
 public class Game {
     private final Board board;
     private final Graphics graphics;
     private final Physics physics;
-    private final GameLogger logger;
-    private final Map<String, Piece> pieces;
+    private final GameEngine engine; // Headless simulation this window shows and drives
+    private final DamageTracker damage; // Board cells to repaint on the next frame
+    private final Map<Piece, Integer> lastFrameIndex = new IdentityHashMap<>(); // Sprite frame last drawn per piece; simulation thread only
+    private final double[] overlayCells = new double[12]; // Hover/selection/cursor positions as x,y pairs
+    private final double[] lastOverlayCells = new double[12];
     private final IPieceFactory pieceFactory;
     private final IGraphicsFactory graphicsFactory;
     private final IPhysicsFactory physicsFactory;
     private final JFrame frame;
-    private boolean running;
-    private long lastUpdateTime;
+    private final JPanel gameBoardPanel;
+    private final ActiveRenderer activeRenderer; // Null in passive (Swing repaint) mode
+    private volatile RenderSnapshot snapshot = RenderSnapshot.EMPTY; // Latest state published for painting
+    private volatile BoardGeometry geometry; // Board layout for the current panel size
+    private final GameClock clock;
+    private final FixedTimestepLoop gameLoop;
+    private final AIPlayer aiPlayer; // Null unless -Dkfchess.ai=WHITE or BLACK
     private final Set<Integer> pressedKeys;
-    private String selectedPieceWhite; // Selected piece for white player
-    private String selectedPieceBlack; // Selected piece for black player
-    private String hoveredPieceWhite; // Piece currently being hovered by white player
-    private String hoveredPieceBlack; // Piece currently being hovered by black player
-    private boolean whiteInMovementMode = false; // Whether white player is in movement mode
-    private boolean blackInMovementMode = false; // Whether black player is in movement mode
-    // Pending moves storage
-    private int whitePendingDx = 0;
-    private int whitePendingDy = 0;
-    private int blackPendingDx = 0;
-    private int blackPendingDy = 0;
-    // Visual position tracking for real-time feedback
-    private double whiteVisualX = -1, whiteVisualY = -1; // Visual position for white piece
-    private double blackVisualX = -1, blackVisualY = -1; // Visual position for black piece
+    private final AtomicBoolean shutDown = new AtomicBoolean(); // Loop, renderer and AI released
 
     // Background image
     private java.awt.image.BufferedImage backgroundImage;
-
-    private void updateVisualPosition(Command.Player player) {
-        try {
-            if (player == Command.Player.WHITE && selectedPieceWhite != null) {
-                Piece piece = pieces.get(selectedPieceWhite);
-                if (piece != null) {
-                    whiteVisualX = piece.getX() + whitePendingDx;
-                    whiteVisualY = piece.getY() + whitePendingDy;
-                }
-            } else if (player == Command.Player.BLACK && selectedPieceBlack != null) {
-                Piece piece = pieces.get(selectedPieceBlack);
-                if (piece != null) {
-                    blackVisualX = piece.getX() + blackPendingDx;
-                    blackVisualY = piece.getY() + blackPendingDy;
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error updating visual position: " + e.getMessage());
-        }
-    }
-
-    private void initializeVisualPosition(Command.Player player) {
-        // Initialize visual position to match the current piece position
-        if (player == Command.Player.WHITE && selectedPieceWhite != null) {
-            Piece piece = pieces.get(selectedPieceWhite);
-            if (piece != null) {
-                whiteVisualX = piece.getX();
-                whiteVisualY = piece.getY();
-            }
-        } else if (player == Command.Player.BLACK && selectedPieceBlack != null) {
-            Piece piece = pieces.get(selectedPieceBlack);
-            if (piece != null) {
-                blackVisualX = piece.getX();
-                blackVisualY = piece.getY();
-            }
+    // Background scaled once to the window size
+    private final CachedLayer backgroundLayer = new CachedLayer((g, width, height) -> {
+        if (backgroundImage != null) {
+            g.drawImage(backgroundImage, 0, 0, width, height, null);
         }
-    }
+    });
 
     // Event system
-    private EventBus eventBus;
+    private final EventBus eventBus;
     private MoveTableListener moveTableListener;
     private AnimationListener animationListener;
     private SoundPlayer soundPlayer;
-    private int moveCounter = 0;
 
-    private static final long UPDATE_INTERVAL_MS = 33; // ~30 FPS for slower updates
+    private static final long UPDATE_INTERVAL_MS = 33; // ~30 FPS fixed simulation step
+    private static final int ACTIVE_RENDER_FPS = 60; // Target frame rate with -Dkfchess.activeRender=true
+    private static final long DEFAULT_AI_THINK_MS = 250; // Per-decision budget unless -Dkfchess.aiThinkMs is set
 
     public Game(Board board, IPieceFactory pieceFactory, IGraphicsFactory graphicsFactory,
             IPhysicsFactory physicsFactory) {
+        this(board, pieceFactory, graphicsFactory, physicsFactory, GameClock.SYSTEM);
+    }
+
+    public Game(Board board, IPieceFactory pieceFactory, IGraphicsFactory graphicsFactory,
+            IPhysicsFactory physicsFactory, GameClock clock) {
         this.board = board;
-        this.pieces = new HashMap<>();
+        this.clock = clock;
+        this.engine = new GameEngine(board.getWidthCells(), board.getHeightCells(), pieceFactory, clock);
+        this.damage = new DamageTracker(board.getWidthCells(), board.getHeightCells());
         this.pieceFactory = pieceFactory;
         this.graphicsFactory = graphicsFactory;
         this.physicsFactory = physicsFactory;
         this.graphics = graphicsFactory.createGraphics("", "");
         this.physics = physicsFactory.createPhysics("", null);
-        this.logger = new GameLogger();
-        this.running = false;
-        this.lastUpdateTime = System.currentTimeMillis();
+        this.gameLoop = new FixedTimestepLoop(clock, UPDATE_INTERVAL_MS, this::updateSimulation, this::render);
+        this.aiPlayer = createAIPlayer(engine);
         this.pressedKeys = new HashSet<>();
-        this.selectedPieceWhite = null;
-        this.selectedPieceBlack = null;
-        this.hoveredPieceWhite = null;
-        this.hoveredPieceBlack = null;
+        this.engine.setListener(new EngineListener());
 
-        // Create EventBus and MoveTableListener
-        this.eventBus = new EventBus();
+        // Use the engine's EventBus and create MoveTableListener
+        this.eventBus = engine.getEventBus();
         this.moveTableListener = new MoveTableListener();
-        this.eventBus.subscribe(PieceMovedEvent.class, moveTableListener);
+        // Table updates run on the EDT; moves are also published from the EDT, so
+        // the queue must not block
+        this.eventBus.subscribeAsync(PieceMovedEvent.class, moveTableListener, SwingUtilities::invokeLater,
+                256, AsyncListener.OverflowPolicy.DROP_NEWEST);
 
-        // Create and register SoundPlayer
+        // Create and register SoundPlayer; a stale sound is worth less than the latest one
         this.soundPlayer = new SoundPlayer();
-        this.eventBus.subscribe(SoundEvent.class, soundPlayer);
+        this.eventBus.subscribeAsync(SoundEvent.class, soundPlayer, 8, AsyncListener.OverflowPolicy.DROP_OLDEST);
 
         // Create and setup the window
         this.frame = new JFrame("Chess Game");
@@ -135,9 +108,9 @@ public class Game {
                 super.paintComponent(g);
                 Graphics2D g2d = (Graphics2D) g;
 
-                // Draw background image scaled to panel size
+                // Draw background from the cached layer, scaled to panel size only on resize
                 if (backgroundImage != null) {
-                    g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+                    backgroundLayer.draw(g2d, 0, 0, getWidth(), getHeight());
                 }
             }
         };
@@ -145,51 +118,37 @@ public class Game {
         // Create AnimationListener and subscribe to events
         this.animationListener = new AnimationListener(frame, mainPanel);
         // Subscribe to specific event types for animations
-        this.eventBus.subscribe(GameStartedEvent.class,
-                new org.kamatech.chess.events.EventListener<GameStartedEvent>() {
-                    @Override
-                    public void onEvent(GameStartedEvent event) {
-                        animationListener.onEvent(event);
-                    }
-                });
-        this.eventBus.subscribe(GameEndedEvent.class, new org.kamatech.chess.events.EventListener<GameEndedEvent>() {
-            @Override
-            public void onEvent(GameEndedEvent event) {
-                animationListener.onEvent(event);
-            }
-        });
+        this.eventBus.subscribeAsync(GameStartedEvent.class, animationListener, SwingUtilities::invokeLater, 4,
+                AsyncListener.OverflowPolicy.DROP_OLDEST);
+        this.eventBus.subscribeAsync(GameEndedEvent.class, animationListener, SwingUtilities::invokeLater, 4,
+                AsyncListener.OverflowPolicy.DROP_OLDEST);
 
         // Create game board panel (center) - transparent to show background
-        JPanel gameBoardPanel = new JPanel() {
+        this.gameBoardPanel = new JPanel() {
             @Override
             protected void paintComponent(java.awt.Graphics g) {
                 // Don't call super.paintComponent to keep transparency
-                Graphics2D g2d = (Graphics2D) g;
-
-                // Calculate center position for the board
-                int panelWidth = getWidth();
-                int panelHeight = getHeight();
-                int boardSize = 800;
-                int centerX = (panelWidth - boardSize) / 2;
-                int centerY = (panelHeight - boardSize) / 2;
-
-                // Translate graphics to center the board
-                g2d.translate(centerX, centerY);
-
-                // Use GraphicsFactory to draw everything - centered in 800x800 area
-                GraphicsFactory.drawGameBoard(g2d, board, pieces,
-                        hoveredPieceWhite, hoveredPieceBlack,
-                        selectedPieceWhite, selectedPieceBlack,
-                        whiteInMovementMode, blackInMovementMode,
-                        whiteVisualX, whiteVisualY, blackVisualX, blackVisualY,
-                        boardSize, boardSize);
-
-                // Reset translation
-                g2d.translate(-centerX, -centerY);
+                drawBoardArea((Graphics2D) g, getWidth(), getHeight());
             }
         };
         gameBoardPanel.setOpaque(false); // Make transparent to show background
 
+        // Optional active rendering: a canvas drawn and flipped by its own render thread
+        if (Boolean.getBoolean("kfchess.activeRender")) {
+            Canvas canvas = new Canvas();
+            canvas.setFocusable(false); // Keep keyboard focus on the frame
+            this.activeRenderer = new ActiveRenderer(canvas, clock, ACTIVE_RENDER_FPS, (g2d, width, height) -> {
+                // The canvas is opaque, so draw the part of the window background behind it
+                if (backgroundImage != null) {
+                    backgroundLayer.draw(g2d, -canvas.getX(), -canvas.getY(), mainPanel.getWidth(),
+                            mainPanel.getHeight());
+                }
+                drawBoardArea(g2d, width, height);
+            });
+        } else {
+            this.activeRenderer = null;
+        }
+
         // Create left panel for black player moves - Fully Transparent
         JPanel leftPanel = new JPanel(new BorderLayout());
         leftPanel.setOpaque(false);
@@ -276,7 +235,7 @@ public class Game {
 
         // Add panels to main panel
         mainPanel.add(leftPanel, BorderLayout.WEST);
-        mainPanel.add(gameBoardPanel, BorderLayout.CENTER);
+        mainPanel.add(activeRenderer != null ? activeRenderer.getCanvas() : gameBoardPanel, BorderLayout.CENTER);
         mainPanel.add(rightPanel, BorderLayout.EAST);
 
         this.frame.add(mainPanel);
@@ -295,14 +254,14 @@ public class Game {
             // Use PieceFactory to create pieces with real configurations
             loadPiecesFromBoardCsv();
 
-            logger.logCommand(Command.createGameControl("GAME_INITIALIZED"));
+            engine.getLogger().logCommand(Command.createGameControl("GAME_INITIALIZED"));
 
             // Note: hover and selection initialization will be done in
             // autoSelectFirstPieces()
 
         } catch (Exception e) {
             // Fall back to default pieces
-            pieces.putAll(pieceFactory.createDefaultPieces());
+            engine.addPieces(pieceFactory.createDefaultPieces());
         }
     }
 
@@ -330,6 +289,7 @@ public class Game {
 
             System.out.println("Created default gradient background");
         }
+        backgroundLayer.invalidate();
     }
 
     /**
@@ -340,15 +300,15 @@ public class Game {
         File boardFile = new File(boardCsvPath);
 
         if (!boardFile.exists()) {
-            pieces.putAll(pieceFactory.createDefaultPieces());
+            engine.addPieces(pieceFactory.createDefaultPieces());
             return;
         }
 
         try {
-            pieces.putAll(pieceFactory.createPiecesFromBoardCsv());
+            engine.addPieces(pieceFactory.createPiecesFromBoardCsv());
         } catch (Exception e) {
             System.err.println("Error loading from board.csv: " + e.getMessage());
-            pieces.putAll(pieceFactory.createDefaultPieces());
+            engine.addPieces(pieceFactory.createDefaultPieces());
         }
     }
 
@@ -356,162 +316,261 @@ public class Game {
      * Start the game loop
      */
     public void startGame() {
+        publishSnapshot(); // First paint shows the initial position
         frame.setVisible(true);
-        running = true;
-        logger.logCommand(Command.createGameControl("GAME_STARTED"));
-
-        // Publish game started event
-        GameStartedEvent gameStartedEvent = new GameStartedEvent();
-        eventBus.publish(gameStartedEvent);
-
-        // Auto-select first piece for each player
-        autoSelectFirstPieces();
+        damage.markAll();
+        if (activeRenderer != null) {
+            activeRenderer.start();
+        }
+        engine.start();
 
-        // Start game loop in separate thread
-        Thread gameLoop = new Thread(this::gameLoop);
-        gameLoop.setDaemon(true);
+        // Start the fixed-timestep game loop on its own thread
         gameLoop.start();
     }
 
     /**
-     * Auto-select the first piece for each player using the same logic as hover
-     * initialization
+     * Stop the game
      */
-    private void autoSelectFirstPieces() {
-        // Use the same logic as initializeGame to ensure consistency
-        List<String> whitePieces = Command.getPlayerPieces(Command.Player.WHITE, pieces);
-        List<String> blackPieces = Command.getPlayerPieces(Command.Player.BLACK, pieces);
-
-        // Select and hover the same pieces for white player
-        if (!whitePieces.isEmpty()) {
-            String firstWhitePiece = whitePieces.get(0);
-            selectedPieceWhite = firstWhitePiece;
-            hoveredPieceWhite = firstWhitePiece;
-            pieces.get(firstWhitePiece).getState().setState(State.PieceState.IDLE);
-            System.out.println("Initialized white player: selected and hovered = " + firstWhitePiece);
+    public void stopGame() {
+        if (gameLoop.isRunning()) {
+            engine.submit(engine::stop);
+        } else {
+            engine.stop(); // No simulation thread left to hand it to
         }
+    }
 
-        // Select and hover the same pieces for black player
-        if (!blackPieces.isEmpty()) {
-            String firstBlackPiece = blackPieces.get(0);
-            selectedPieceBlack = firstBlackPiece;
-            hoveredPieceBlack = firstBlackPiece;
-            pieces.get(firstBlackPiece).getState().setState(State.PieceState.IDLE);
-            System.out.println("Initialized black player: selected and hovered = " + firstBlackPiece);
+    /**
+     * One fixed simulation step: queued input and the engine, then the
+     * computer player if any, then a snapshot of the result for painting
+     */
+    private void updateSimulation(long deltaTimeMs) {
+        engine.update(deltaTimeMs);
+        if (aiPlayer != null) {
+            aiPlayer.update();
         }
+        publishSnapshot();
     }
 
     /**
-     * Stop the game
+     * Create the computer player selected with -Dkfchess.ai, or null
      */
-    public void stopGame() {
-        running = false;
-        logger.logCommand(Command.createGameControl("GAME_STOPPED"));
-        logger.saveLogs();
-        logger.printGameStats();
+    private static AIPlayer createAIPlayer(GameEngine engine) {
+        String side = System.getProperty("kfchess.ai");
+        if (side == null || side.isEmpty()) {
+            return null;
+        }
+        try {
+            Command.Player player = Command.Player.valueOf(side.trim().toUpperCase());
+            long thinkMs = Long.getLong("kfchess.aiThinkMs", DEFAULT_AI_THINK_MS);
+            int threads = Runtime.getRuntime().availableProcessors();
+            System.out.println("AI plays " + player + " (" + thinkMs + " ms per decision, " + threads + " threads)");
+            return new AIPlayer(engine, player, thinkMs, threads);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring kfchess.ai=" + side + ": " + e.getMessage());
+            return null;
+        }
     }
 
     /**
-     * Main game loop
+     * Stop the loop, the render thread, the AI and event delivery once the
+     * game is over or the engine has stopped; only the first call does
+     * anything
      */
-    private void gameLoop() {
-        while (running) {
-            long currentTime = System.currentTimeMillis();
-            long deltaTime = currentTime - lastUpdateTime;
-
-            if (deltaTime >= UPDATE_INTERVAL_MS) {
-                update(deltaTime);
-                render();
-                lastUpdateTime = currentTime;
-            }
+    private void onEngineStopped() {
+        if (!shutDown.compareAndSet(false, true)) {
+            return;
+        }
+        gameLoop.stop();
+        if (aiPlayer != null) {
+            aiPlayer.close();
+        }
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+            System.out.println("Frame times: " + activeRenderer.getFrameTimes());
+            System.out.println("Render times: " + activeRenderer.getRenderTimes());
+        }
+        // Stop the delivery threads and release the pooled clips; a late sound is skipped
+        eventBus.shutdown();
+        soundPlayer.shutdown();
+    }
 
-            try {
-                Thread.sleep(1); // Prevent 100% CPU usage
-            } catch (InterruptedException e) {
-                break;
-            }
+    /**
+     * Engine notifications: damage tracking and game end. Changes made during
+     * a tick are shown by the render that follows it.
+     */
+    private final class EngineListener implements GameEngine.Listener {
+        @Override
+        public void cellChanged(double x, double y) {
+            damage.markPosition(x, y);
+        }
+
+        @Override
+        public void pieceRemoved(Piece piece) {
+            lastFrameIndex.remove(piece);
+        }
+
+        @Override
+        public void gameEnded(Command.Player winner, String reason) {
+            onEngineStopped();
+
+            // Display game over animation dialog
+            SwingUtilities.invokeLater(() -> {
+                JOptionPane.showMessageDialog(frame,
+                        reason + "\nWinner: " + winner,
+                        "Game Over",
+                        JOptionPane.INFORMATION_MESSAGE);
+            });
+        }
+
+        @Override
+        public void gameStopped() {
+            onEngineStopped();
         }
     }
 
     /**
-     * Update game state
+     * Get the board layout for a panel size, recomputing it only when the size
+     * changes
      */
-    private void update(long deltaTimeMs) {
-        // Update all piece states and animations
-        for (Piece piece : pieces.values()) {
-            State state = piece.getState();
-            if (state != null) {
-                state.update(); // Call without parameters for now
-            }
+    private BoardGeometry geometryFor(int width, int height) {
+        BoardGeometry current = geometry;
+        if (current == null || !current.matches(width, height)) {
+            current = BoardGeometry.fit(width, height, board.getWidthCells(), board.getHeightCells());
+            geometry = current;
         }
+        return current;
+    }
+
+    /**
+     * Draw the board and pieces as large as fits, centered in an area of the
+     * given size
+     */
+    private void drawBoardArea(Graphics2D g2d, int width, int height) {
+        // Calculate center position for the board
+        BoardGeometry layout = geometryFor(width, height);
+        int centerX = layout.getOriginX();
+        int centerY = layout.getOriginY();
+
+        // Translate graphics to center the board
+        g2d.translate(centerX, centerY);
 
-        // Check for game end conditions
-        checkGameEndConditions();
+        // Use GraphicsFactory to draw everything at the board's current size.
+        // Only the published snapshot is read, never the live pieces and cursors.
+        GraphicsFactory.drawGameBoard(g2d, board, snapshot, layout);
+
+        // Reset translation
+        g2d.translate(-centerX, -centerY);
     }
 
     /**
-     * Render current frame
+     * Render current frame: request repaints of the published snapshot. In
+     * active mode the render thread draws it on its own schedule.
      */
     private void render() {
-        // Just request a repaint of the frame
-        frame.repaint();
+        repaintDamage();
     }
 
     /**
-     * Check for game end conditions
+     * Repaint only the board cells that changed since the last frame: pieces
+     * that moved, were added or removed, are animating or cooling down, and
+     * cells whose hover/selection overlay changed. An idle board repaints
+     * nothing. Reads live engine state, so it only runs on the simulation
+     * thread, from {@link #render()}.
      */
-    private void checkGameEndConditions() {
-        // Check if any king is captured - look for pieces that start with "KW" or "KB"
-        boolean whiteKingExists = pieces.keySet().stream()
-                .anyMatch(key -> key.startsWith("KW"));
-        boolean blackKingExists = pieces.keySet().stream()
-                .anyMatch(key -> key.startsWith("KB"));
-
-        if (!whiteKingExists) {
-            endGame(Command.Player.BLACK, "Black wins - White king captured!");
-        } else if (!blackKingExists) {
-            endGame(Command.Player.WHITE, "White wins - Black king captured!");
+    private void repaintDamage() {
+        if (activeRenderer != null) {
+            return;
+        }
+        for (Piece piece : engine.getPiecesView().values()) {
+            int frameIndex = GraphicsFactory.getFrameIndex(piece);
+            Integer last = lastFrameIndex.put(piece, frameIndex);
+            if (last == null || last != frameIndex
+                    || piece.getState().getCurrentState() != State.PieceState.IDLE) {
+                damage.markPosition(piece.getX(), piece.getY());
+            }
+        }
+
+        collectOverlayCells(overlayCells);
+        if (!Arrays.equals(overlayCells, lastOverlayCells)) {
+            markOverlayCells(lastOverlayCells);
+            markOverlayCells(overlayCells);
+            System.arraycopy(overlayCells, 0, lastOverlayCells, 0, overlayCells.length);
         }
+
+        BoardGeometry layout = geometryFor(gameBoardPanel.getWidth(), gameBoardPanel.getHeight());
+        damage.flush(layout.getOriginX(), layout.getOriginY(), layout.getCellWidth(), layout.getCellHeight(),
+                gameBoardPanel::repaint);
     }
 
     /**
-     * End the game with a winner
+     * Capture the pieces and cursors into an immutable snapshot for the paint
+     * thread. Only called on the simulation thread, after each step (which
+     * includes queued input), and once in {@link #startGame()} before that
+     * thread starts.
      */
-    private void endGame(Command.Player winner, String reason) {
-        running = false;
-        logger.logCommand(Command.createGameControl("GAME_ENDED: " + reason));
-        logger.saveLogs();
+    private void publishSnapshot() {
+        snapshot = engine.captureSnapshot();
+    }
 
-        // Publish game ended event
-        GameEndedEvent gameEndedEvent = new GameEndedEvent(winner.toString());
-        eventBus.publish(gameEndedEvent);
+    /**
+     * Fill x,y pairs for every cell with a hover, selection or cursor overlay;
+     * NaN marks an unused slot
+     */
+    private void collectOverlayCells(double[] out) {
+        putPieceCell(out, 0, engine.getHoveredPieceWhite());
+        putPieceCell(out, 1, engine.getHoveredPieceBlack());
+        putPieceCell(out, 2, engine.getSelectedPieceWhite());
+        putPieceCell(out, 3, engine.getSelectedPieceBlack());
+        putCursorCell(out, 4, Command.Player.WHITE);
+        putCursorCell(out, 5, Command.Player.BLACK);
+    }
 
-        // Display game over animation dialog
-        SwingUtilities.invokeLater(() -> {
-            JOptionPane.showMessageDialog(frame,
-                    reason + "\nWinner: " + winner,
-                    "Game Over",
-                    JOptionPane.INFORMATION_MESSAGE);
-        });
+    private void putPieceCell(double[] out, int slot, String key) {
+        Piece piece = engine.getPiece(key);
+        out[slot * 2] = piece != null ? piece.getX() : Double.NaN;
+        out[slot * 2 + 1] = piece != null ? piece.getY() : Double.NaN;
+    }
+
+    private void putCursorCell(double[] out, int slot, Command.Player player) {
+        boolean moving = engine.isInMovementMode(player);
+        out[slot * 2] = moving ? engine.getVisualX(player) : Double.NaN;
+        out[slot * 2 + 1] = moving ? engine.getVisualY(player) : Double.NaN;
+    }
+
+    private void markOverlayCells(double[] cells) {
+        for (int i = 0; i < cells.length; i += 2) {
+            if (!Double.isNaN(cells[i])) {
+                damage.markPosition(cells[i], cells[i + 1]);
+            }
+        }
     }
 
     /**
-     * Raw KeyListener entry point: preserves existing logic before full migration
+     * Raw KeyListener entry point, called on the EDT: records the key and
+     * queues its engine action for the simulation thread
      */
     public void handleRawKeyPressed(KeyEvent e) {
         int keyCode = e.getKeyCode();
         // Track pressed keys for movement hold detection
         pressedKeys.add(keyCode);
 
+        int loc = e.getKeyLocation();
+        boolean shiftDown = e.isShiftDown();
+        engine.submit(() -> applyKey(keyCode, loc, shiftDown));
+    }
+
+    /**
+     * Map a key to engine actions. Runs on the simulation thread.
+     */
+    private void applyKey(int keyCode, int loc, boolean shiftDown) {
         // Handle jump via Shift keys
         if (keyCode == KeyEvent.VK_SHIFT) {
-            int loc = e.getKeyLocation();
-            if (loc == KeyEvent.KEY_LOCATION_LEFT && selectedPieceWhite != null) {
+            if (loc == KeyEvent.KEY_LOCATION_LEFT) {
                 // Left Shift: white jump
-                executeCommand(Command.createJump(selectedPieceWhite, Command.Player.WHITE));
-            } else if (loc == KeyEvent.KEY_LOCATION_RIGHT && selectedPieceBlack != null) {
+                engine.jump(Command.Player.WHITE);
+            } else if (loc == KeyEvent.KEY_LOCATION_RIGHT) {
                 // Right Shift: black jump
-                executeCommand(Command.createJump(selectedPieceBlack, Command.Player.BLACK));
+                engine.jump(Command.Player.BLACK);
             }
             return;
         }
@@ -519,161 +578,55 @@ public class Game {
         switch (keyCode) {
             case KeyEvent.VK_SPACE:
                 // White player: SPACE for movement mode only (no piece selection)
-                if (!whiteInMovementMode && selectedPieceWhite != null) {
-                    // Enter movement mode
-                    whiteInMovementMode = true;
-                    whitePendingDx = 0;
-                    whitePendingDy = 0;
-                    initializeVisualPosition(Command.Player.WHITE);
-                    System.out.println("White player entered movement mode");
-                } else if (whiteInMovementMode) {
-                    // Execute accumulated move if exists
-                    if ((whitePendingDx != 0 || whitePendingDy != 0) && selectedPieceWhite != null) {
-                        // Create move command for validation and execution
-                        Command moveCommand = Command.createKeyInput("MOVE", Command.Player.WHITE);
-                        executeCommand(moveCommand);
-
-                        // Note: State will be managed by the animation in movePieceStepByStep
-                    }
-                    // Exit movement mode
-                    whiteInMovementMode = false;
-                    whitePendingDx = 0;
-                    whitePendingDy = 0;
-                    whiteVisualX = -1; // Reset visual position
-                    whiteVisualY = -1;
-                    System.out.println("White player exited movement mode");
-                }
+                engine.toggleMovementMode(Command.Player.WHITE);
                 break;
-
             case KeyEvent.VK_ENTER:
                 // Black player: ENTER for movement mode only (no piece selection)
-                if (!blackInMovementMode && selectedPieceBlack != null) {
-                    // Enter movement mode
-                    blackInMovementMode = true;
-                    blackPendingDx = 0;
-                    blackPendingDy = 0;
-                    initializeVisualPosition(Command.Player.BLACK);
-                    System.out.println("Black player entered movement mode");
-                } else if (blackInMovementMode) {
-                    // Execute accumulated move if exists
-                    if ((blackPendingDx != 0 || blackPendingDy != 0) && selectedPieceBlack != null) {
-                        // Create move command for validation and execution
-                        Command moveCommand = Command.createKeyInput("MOVE", Command.Player.BLACK);
-                        executeCommand(moveCommand);
-
-                        // Note: State will be managed by the animation in movePieceStepByStep
-                    }
-                    // Exit movement mode
-                    blackInMovementMode = false;
-                    blackPendingDx = 0;
-                    blackPendingDy = 0;
-                    blackVisualX = -1; // Reset visual position
-                    blackVisualY = -1;
-                    System.out.println("Black player exited movement mode");
-                }
+                engine.toggleMovementMode(Command.Player.BLACK);
                 break;
             case KeyEvent.VK_ESCAPE:
                 // Exit movement modes
-                whiteInMovementMode = false;
-                blackInMovementMode = false;
-                whiteVisualX = -1; // Reset visual positions
-                whiteVisualY = -1;
-                blackVisualX = -1;
-                blackVisualY = -1;
+                engine.cancelMovementModes();
                 Command command = Command.createGameControl("END_GAME");
-                executeCommand(command);
+                engine.processCommand(command);
                 break;
 
             // WHITE PLAYER Controls (WASD)
             case KeyEvent.VK_W:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "UP");
-                } else {
-                    whitePendingDy--;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                }
+                selectOrAdjust(Command.Player.WHITE, "UP", 0, -1);
                 break;
             case KeyEvent.VK_S:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "DOWN");
-                } else {
-                    whitePendingDy++;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                selectOrAdjust(Command.Player.WHITE, "DOWN", 0, 1);
                 break;
             case KeyEvent.VK_A:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "LEFT");
-                } else {
-                    whitePendingDx--;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                selectOrAdjust(Command.Player.WHITE, "LEFT", -1, 0);
                 break;
             case KeyEvent.VK_D:
-                if (!whiteInMovementMode) {
-                    selectPieceWithDirection(Command.Player.WHITE, "RIGHT");
-                } else {
-                    whitePendingDx++;
-                    updateVisualPosition(Command.Player.WHITE);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
-                }
+                selectOrAdjust(Command.Player.WHITE, "RIGHT", 1, 0);
                 break;
 
             // BLACK PLAYER Controls (Arrow Keys)
             case KeyEvent.VK_UP:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "UP");
-                } else {
-                    blackPendingDy--;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                }
+                selectOrAdjust(Command.Player.BLACK, "UP", 0, -1);
                 break;
             case KeyEvent.VK_DOWN:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "DOWN");
-                } else {
-                    blackPendingDy++;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                selectOrAdjust(Command.Player.BLACK, "DOWN", 0, 1);
                 break;
             case KeyEvent.VK_LEFT:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "LEFT");
-                } else {
-                    blackPendingDx--;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                selectOrAdjust(Command.Player.BLACK, "LEFT", -1, 0);
                 break;
             case KeyEvent.VK_RIGHT:
-                if (!blackInMovementMode) {
-                    selectPieceWithDirection(Command.Player.BLACK, "RIGHT");
-                } else {
-                    blackPendingDx++;
-                    updateVisualPosition(Command.Player.BLACK);
-                    frame.repaint(); // Immediate visual feedback
-                    System.out.println("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
-                }
+                selectOrAdjust(Command.Player.BLACK, "RIGHT", 1, 0);
                 break;
         }
 
         // Handle hover keys using Command utility methods
         if (Command.isWhiteHoverKey(keyCode)) {
             String direction = Command.getHoverDirection(keyCode);
-            hoverPieceWithDirection(Command.Player.WHITE, direction);
+            engine.hoverPieceWithDirection(Command.Player.WHITE, direction);
         } else if (Command.isBlackHoverKey(keyCode)) {
             String direction = Command.getHoverDirection(keyCode);
-            hoverPieceWithDirection(Command.Player.BLACK, direction);
+            engine.hoverPieceWithDirection(Command.Player.BLACK, direction);
         }
 
         // Continue with remaining cases
@@ -681,738 +634,58 @@ public class Game {
             // Hover to Selection conversion
             case KeyEvent.VK_C:
                 // White player: Convert current hover to selection
-                if (hoveredPieceWhite != null && pieces.get(hoveredPieceWhite).isWhite()) {
-                    selectedPieceWhite = hoveredPieceWhite;
-                    System.out.println("White selected from hover: " + selectedPieceWhite);
-                    Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceWhite);
-                    logger.logCommand(selectCommand);
-                }
+                engine.selectFromHover(Command.Player.WHITE);
                 break;
             case KeyEvent.VK_V:
                 // Black player: Convert current hover to selection
-                if (hoveredPieceBlack != null && !pieces.get(hoveredPieceBlack).isWhite()) {
-                    selectedPieceBlack = hoveredPieceBlack;
-                    System.out.println("Black selected from hover: " + selectedPieceBlack);
-                    Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceBlack);
-                    logger.logCommand(selectCommand);
-                }
+                engine.selectFromHover(Command.Player.BLACK);
                 break;
             case KeyEvent.VK_M:
                 // Legacy key for black player selection (keeping for compatibility)
-                if (hoveredPieceBlack != null && !pieces.get(hoveredPieceBlack).isWhite()) {
-                    selectedPieceBlack = hoveredPieceBlack;
-                    System.out.println("Black selected from hover: " + selectedPieceBlack);
-                    Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceBlack);
-                    logger.logCommand(selectCommand);
-                }
+                engine.selectFromHover(Command.Player.BLACK);
                 break;
         }
 
         // Handle number keys for piece selection using Command utility methods
         if (Command.isNumberKey(keyCode)) {
             int pieceIndex = Command.numberKeyToIndex(keyCode);
-            Command.Player player = e.isShiftDown() ? Command.Player.BLACK : Command.Player.WHITE;
-            selectPieceByNumber(pieceIndex, player);
-        }
-    }
-
-    /**
-     * Temporary delegate for InputHandler compatibility
-     */
-    public void keyPressed(KeyEvent e) {
-        handleRawKeyPressed(e);
-    }
-
-    /**
-     * Execute a command through the command system
-     */
-    private void executeCommand(Command command) {
-        if (command == null)
-            return;
-
-        // Log the command
-        logger.logCommand(command);
-
-        // Process the command based on its type
-        switch (command.getCommandType()) {
-            case GAME_CONTROL:
-                handleGameControlCommand(command);
-                break;
-            case KEY_INPUT:
-                handleMovementCommand(command);
-                break;
-            case MOVE:
-                handleMoveCommand(command);
-                break;
-            case JUMP:
-                handleJumpCommand(command);
-                break;
-            default:
-        }
-    }
-
-    /**
-     * Public entry to process commands from external executors
-     */
-    public void processCommand(Command command) {
-        executeCommand(command);
-    }
-
-    /**
-     * Handle movement commands (WASD/arrows) - Move the selected piece step by step
-     */
-    private void handleMovementCommand(Command command) {
-        // Get selected piece by player
-        Command.Player player = command.getPlayer();
-        Piece piece = (player == Command.Player.WHITE)
-                ? pieces.get(selectedPieceWhite)
-                : pieces.get(selectedPieceBlack);
-
-        if (piece == null) {
-            return;
-        }
-
-        if (!piece.getState().canPerformAction()) {
-            return;
-        }
-
-        // Use accumulated movement values
-        int dx = (player == Command.Player.WHITE) ? whitePendingDx : blackPendingDx;
-        int dy = (player == Command.Player.WHITE) ? whitePendingDy : blackPendingDy;
-
-        // Move the piece step by step
-        movePieceStepByStep(piece, dx, dy);
-
-        // Force repaint to see the change immediately
-        frame.repaint();
-    }
-
-    /**
-     * Handle move commands
-     */
-    private void handleMoveCommand(Command command) {
-        // This would handle more complex moves like chess notation
-    }
-
-    /**
-     * Handle jump commands: move piece by pending deltas, capture if landing on
-     * enemy
-     */
-    private void handleJumpCommand(Command command) {
-        String pieceId = command.getPieceId();
-        if (!pieces.containsKey(pieceId))
-            return;
-        Piece piece = pieces.get(pieceId);
-
-        // Publish sound event for jump FIRST - always play sound regardless of outcome
-        SoundEvent jumpSound = new SoundEvent(SoundEvent.SoundType.JUMP);
-        eventBus.publish(jumpSound);
-
-        // Determine pending jump deltas and reset
-        int dx = (command.getPlayer() == Command.Player.WHITE) ? whitePendingDx : blackPendingDx;
-        int dy = (command.getPlayer() == Command.Player.WHITE) ? whitePendingDy : blackPendingDy;
-        if (command.getPlayer() == Command.Player.WHITE) {
-            whitePendingDx = 0;
-            whitePendingDy = 0;
-        } else {
-            blackPendingDx = 0;
-            blackPendingDy = 0;
-        }
-        // Calculate landing position
-        double currentX = piece.getX();
-        double currentY = piece.getY();
-        double nextX = currentX + dx;
-        double nextY = currentY + dy;
-
-        // Check for enemy at landing
-        Piece target = findPieceAt(nextX, nextY);
-        if (target != null && target.isWhite() != piece.isWhite()) {
-            handleCollision(piece, target);
-        } else {
-            // Move piece to landing (no capture)
-            piece.setPosition(nextX, nextY);
-
-            // Check for pawn promotion after jump
-            if (shouldPromotePawn(piece, nextY)) {
-                promotePawnToQueen(pieceId, piece);
-                return; // Exit early since piece was replaced
-            }
-
-            // Publish jump event without capture
-            publishMoveEvent(piece, currentX, currentY, nextX, nextY, null);
-        }
-
-        // Set jump state
-        piece.getState().setState(State.PieceState.JUMP);
-    }
-
-    /**
-     * Select next piece for a player using direction keys
-     */
-    private void selectPieceWithDirection(Command.Player player, String direction) {
-        // Get pieces for this player only, ensuring correct color match
-        List<String> playerPieces = Command.getPlayerPieces(player, pieces);
-        if (playerPieces.isEmpty())
-            return;
-
-        String currentSelected = (player == Command.Player.WHITE) ? selectedPieceWhite : selectedPieceBlack;
-        int currentIndex = playerPieces.indexOf(currentSelected);
-
-        // If no piece selected or piece not found, start from beginning
-        if (currentIndex == -1) {
-            currentIndex = 0;
-        } else {
-            // Cycle through pieces based on direction
-            switch (direction) {
-                case "UP":
-                case "LEFT":
-                    currentIndex = (currentIndex - 1 + playerPieces.size()) % playerPieces.size();
-                    break;
-                case "DOWN":
-                case "RIGHT":
-                    currentIndex = (currentIndex + 1) % playerPieces.size();
-                    break;
-            }
-        }
-
-        String newSelectedPiece = playerPieces.get(currentIndex);
-
-        // Double-check the piece color matches the player before assigning
-        boolean pieceColorMatches = (player == Command.Player.WHITE && newSelectedPiece.contains("W")) ||
-                (player == Command.Player.BLACK && newSelectedPiece.contains("B"));
-
-        if (!pieceColorMatches) {
-            return;
-        }
-
-        if (player == Command.Player.WHITE) {
-            hoveredPieceWhite = newSelectedPiece; // Update hovered piece first
-            selectedPieceWhite = newSelectedPiece;
-        } else {
-            hoveredPieceBlack = newSelectedPiece; // Update hovered piece first
-            selectedPieceBlack = newSelectedPiece;
+            Command.Player player = shiftDown ? Command.Player.BLACK : Command.Player.WHITE;
+            engine.selectPieceByNumber(pieceIndex, player);
         }
-
-        // Log the selection
-        Command selectCommand = Command.createGameControl("SELECT_PIECE:" + newSelectedPiece);
-        logger.logCommand(selectCommand);
     }
 
     /**
-     * Move hover between pieces without selecting
+     * Direction key: cycle the selection, or in movement mode extend the
+     * pending move; the render after this tick shows it
      */
-    private void hoverPieceWithDirection(Command.Player player, String direction) {
-        // Ensure we only get pieces of the appropriate color
-        List<String> playerPieces = Command.getPlayerPieces(player, pieces);
-        if (playerPieces.isEmpty())
-            return;
-
-        String currentHovered = (player == Command.Player.WHITE) ? hoveredPieceWhite : hoveredPieceBlack;
-        int currentIndex = playerPieces.indexOf(currentHovered);
-
-        // If no piece hovered or piece not found, start from beginning
-        if (currentIndex == -1) {
-            currentIndex = 0;
-        } else {
-            // Cycle through pieces based on direction
-            switch (direction) {
-                case "UP":
-                case "LEFT":
-                    currentIndex = (currentIndex - 1 + playerPieces.size()) % playerPieces.size();
-                    break;
-                case "DOWN":
-                case "RIGHT":
-                    currentIndex = (currentIndex + 1) % playerPieces.size();
-                    break;
-            }
-        }
-
-        String newHoveredPiece = playerPieces.get(currentIndex);
-
-        // Double-check the piece color matches the player before hovering
-        boolean pieceColorMatches = (player == Command.Player.WHITE && newHoveredPiece.contains("W")) ||
-                (player == Command.Player.BLACK && newHoveredPiece.contains("B"));
-
-        if (!pieceColorMatches) {
-            System.out.println("ERROR: Attempted to hover over piece of wrong color: " + newHoveredPiece);
-            return;
-        }
-
-        if (player == Command.Player.WHITE) {
-            hoveredPieceWhite = newHoveredPiece;
-            System.out.println("*** WHITE HOVER CHANGED TO: " + hoveredPieceWhite + " ***");
+    private void selectOrAdjust(Command.Player player, String direction, int dx, int dy) {
+        if (!engine.isInMovementMode(player)) {
+            engine.selectPieceWithDirection(player, direction);
         } else {
-            hoveredPieceBlack = newHoveredPiece;
-            System.out.println("*** BLACK HOVER CHANGED TO: " + hoveredPieceBlack + " ***");
-        }
-    }
-
-    /**
-     * Move a piece step by step based on user input
-     */
-    private void movePieceStepByStep(Piece piece, int dx, int dy) {
-        double currentX = piece.getX();
-        double currentY = piece.getY();
-
-        // Calculate the next position
-        double nextX = currentX + dx;
-        double nextY = currentY + dy;
-
-        // Check if this move is allowed by the piece's moves.txt file
-        if (!isValidMoveForPiece(piece, dx, dy)) {
-            return;
-        }
-
-        // Check board boundaries
-        if (nextX < 0 || nextX >= board.getWidthCells() ||
-                nextY < 0 || nextY >= board.getHeightCells()) {
-            return;
-        }
-
-        // Check for collisions with other pieces
-        Piece collidingPiece = findPieceAt(nextX, nextY);
-        if (collidingPiece != null && !collidingPiece.equals(piece)) {
-            // Check if this is a valid capture (different colors)
-            if (piece.isWhite() != collidingPiece.isWhite()) {
-                handleCollision(piece, collidingPiece);
-            } else {
-                return;
-            }
-        } else {
-            // No collision - animated move
-            // Set piece to MOVE state for animation
-            piece.getState().setState(State.PieceState.MOVE);
-
-            // Publish sound event for move
-            SoundEvent moveSound = new SoundEvent(SoundEvent.SoundType.MOVE);
-            eventBus.publish(moveSound);
-
-            // Publish move event for regular move (no capture)
-            publishMoveEvent(piece, currentX, currentY, nextX, nextY, null);
-
-            // Create animation thread
-            new Thread(() -> {
-                try {
-                    double progress = 0;
-                    while (progress < 1.0) {
-                        // Calculate interpolated position
-                        double interpX = piece.getX() + (nextX - piece.getX()) * progress;
-                        double interpY = piece.getY() + (nextY - piece.getY()) * progress;
-                        piece.setPosition(interpX, interpY);
-
-                        // Update progress
-                        progress += 0.05; // Slower progress for smoother, slower animation
-                        Thread.sleep(100); // Slower animation timing
-
-                        // Request repaint
-                        frame.repaint();
-                    }
-
-                    // Ensure final position is exact
-                    piece.setPosition(nextX, nextY);
-
-                    // Check for pawn promotion after move
-                    if (shouldPromotePawn(piece, nextY)) {
-                        String movingKey = getPieceIdFromPiece(piece);
-                        promotePawnToQueen(movingKey, piece);
-                        return; // Exit early since piece was replaced
-                    }
-
-                    // Set back to REST state
-                    piece.getState().setState(State.PieceState.REST);
-
-                    // Final repaint
-                    frame.repaint();
-
-                } catch (InterruptedException e) {
-                    // Handle interruption if needed
-                    piece.setPosition(nextX, nextY);
-
-                    // Check for pawn promotion even if interrupted
-                    if (shouldPromotePawn(piece, nextY)) {
-                        String movingKey = getPieceIdFromPiece(piece);
-                        promotePawnToQueen(movingKey, piece);
-                        return; // Exit early since piece was replaced
-                    }
-
-                    piece.getState().setState(State.PieceState.REST);
-                    frame.repaint();
-                }
-            }).start();
-        }
-
-        // No need for immediate repaint here as animation thread handles it
-    }
-
-    /**
-     * Convert board coordinates to chess notation (e.g., 0,0 -> a1, 1,0 -> b1)
-     */
-    private String coordinatesToChessNotation(double x, double y) {
-        char file = (char) ('a' + (int) x);
-        int rank = (int) (8 - y); // Chess ranks are numbered 1-8 from bottom to top
-        return "" + file + rank;
-    }
-
-    /**
-     * Get piece type character from piece ID
-     */
-    private String getPieceTypeFromId(String pieceId) {
-        if (pieceId == null || pieceId.length() == 0)
-            return "?";
-        return pieceId.substring(0, 1); // First character is piece type
-    }
-
-    /**
-     * Get player from piece ID
-     */
-    private String getPlayerFromId(String pieceId) {
-        if (pieceId == null || pieceId.length() < 2)
-            return "UNKNOWN";
-        return pieceId.contains("W") ? "WHITE" : "BLACK";
-    }
-
-    /**
-     * Publish a move event to the event bus
-     */
-    private void publishMoveEvent(Piece piece, double fromX, double fromY, double toX, double toY,
-            String capturedPiece) {
-        String pieceId = getPieceIdFromPiece(piece);
-        String fromNotation = coordinatesToChessNotation(fromX, fromY);
-        String toNotation = coordinatesToChessNotation(toX, toY);
-        String player = getPlayerFromId(pieceId);
-        String pieceType = getPieceTypeFromId(pieceId);
-
-        moveCounter++;
-
-        PieceMovedEvent event = new PieceMovedEvent(
-                fromNotation,
-                toNotation,
-                player,
-                pieceType,
-                moveCounter,
-                capturedPiece);
-
-        eventBus.publish(event);
-    }
-
-    /**
-     * Get piece ID from piece object
-     */
-    private String getPieceIdFromPiece(Piece piece) {
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            if (entry.getValue() == piece) {
-                return entry.getKey();
-            }
-        }
-        return piece.getId(); // fallback
-    }
-
-    /**
-     * Check if a move is valid for a piece based on its moves.txt file
-     */
-    private boolean isValidMoveForPiece(Piece piece, int dx, int dy) {
-        // Get the piece's moves from its state
-        State state = piece.getState();
-        if (state == null || state.getMoves() == null) {
-            return true; // If no moves defined, allow all moves
-        }
-
-        Moves moves = state.getMoves();
-        List<String> movesList = moves.getAllowedMoves();
-
-        if (movesList == null || movesList.isEmpty()) {
-            return true; // If moves list is empty, allow all moves
-        }
-
-        // Check if the requested move matches any of the allowed moves
-        for (String moveStr : movesList) {
-            if (moveStr.trim().isEmpty())
-                continue;
-
-            try {
-                // Parse move string (format: "dx,dy")
-                String[] parts = moveStr.split(",");
-                if (parts.length >= 2) {
-                    int allowedDx = Integer.parseInt(parts[0].trim());
-                    int allowedDy = Integer.parseInt(parts[1].trim());
-
-                    // Check if this move matches the requested move
-                    if (allowedDx == dx && allowedDy == dy) {
-                        return true;
-                    }
-
-                    // Also check negative direction (for bidirectional moves)
-                    if (allowedDx == -dx && allowedDy == -dy) {
-                        return true;
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Invalid move format, skip
-            }
-        }
-
-        // Temporary fallback - allow basic moves for common pieces
-        String pieceType = piece.getId().substring(0, 1);
-
-        switch (pieceType) {
-            case "P": // Pawn
-                // Check if it's a forward move (dy = 1 for black, dy = -1 for white)
-                boolean isWhitePawn = piece.getId().contains("W");
-                int forwardDirection = isWhitePawn ? -1 : 1; // White moves up (-y), Black moves down (+y)
-
-                // Allow diagonal captures
-                if (Math.abs(dx) == 1 && dy == forwardDirection) {
-                    // Only allow diagonal moves if there's an enemy piece to capture
-                    double nextX = piece.getX() + dx;
-                    double nextY = piece.getY() + dy;
-                    Piece targetPiece = findPieceAt(nextX, nextY);
-                    if (targetPiece != null && targetPiece.isWhite() != piece.isWhite()) {
-                        return true;
-                    }
-                    return false;
-                }
-
-                // Allow forward moves
-                if (dx == 0) {
-                    // Check if this is the pawn's first move
-                    boolean isStartingPosition = (isWhitePawn && piece.getY() == 6)
-                            || (!isWhitePawn && piece.getY() == 1);
-
-                    // One square forward is always allowed
-                    if (dy == forwardDirection) {
-                        return true;
-                    }
-
-                    // Two squares forward only on first move
-                    if (isStartingPosition && dy == (forwardDirection * 2)) {
-                        return true;
-                    }
-                }
-                break;
-            case "R": // Rook
-                if ((dx == 0 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && dy == 0)) {
-                    return true;
-                }
-                break;
-            case "N": // Knight
-                if ((Math.abs(dx) == 2 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && Math.abs(dy) == 2)) {
-                    return true;
-                }
-                break;
-            case "B": // Bishop
-                if (Math.abs(dx) == 1 && Math.abs(dy) == 1) {
-                    return true;
-                }
-                break;
-            case "Q": // Queen
-            case "K": // King
-                if ((Math.abs(dx) <= 1 && Math.abs(dy) <= 1) && !(dx == 0 && dy == 0)) {
-                    return true;
-                }
-                break;
+            engine.adjustPendingMove(player, dx, dy);
         }
-
-        return false;
     }
 
     /**
-     * Handle collision between two pieces
-     */
-    private void handleCollision(Piece movingPiece, Piece targetPiece) {
-        // Check if it's a capture (different players)
-        if (movingPiece.isWhite() != targetPiece.isWhite()) {
-            // Store original positions for event
-            double fromX = movingPiece.getX();
-            double fromY = movingPiece.getY();
-            double toX = targetPiece.getX();
-            double toY = targetPiece.getY();
-
-            // Find map keys for moving and target pieces
-            String movingKey = null;
-            String targetKey = null;
-            for (Map.Entry<String, Piece> e : pieces.entrySet()) {
-                if (e.getValue() == movingPiece)
-                    movingKey = e.getKey();
-                if (e.getValue() == targetPiece)
-                    targetKey = e.getKey();
-            }
-
-            // Get captured piece type for event
-            String capturedPieceType = getPieceTypeFromId(targetKey);
-
-            // Remove the captured piece
-            if (targetKey != null) {
-                pieces.remove(targetKey);
-            }
-
-            // Move attacking piece to target position
-            movingPiece.setPosition(targetPiece.getX(), targetPiece.getY());
-
-            // Check for pawn promotion after capture
-            if (shouldPromotePawn(movingPiece, targetPiece.getY())) {
-                promotePawnToQueen(movingKey, movingPiece);
-                return; // Exit early since piece was replaced
-            }
-
-            // Publish sound event for eat
-            SoundEvent eatSound = new SoundEvent(SoundEvent.SoundType.EAT);
-            eventBus.publish(eatSound);
-
-            // Publish move event with capture information
-            publishMoveEvent(movingPiece, fromX, fromY, toX, toY, capturedPieceType);
-
-            // Log capture using full keys
-            Command.Player capturer = movingPiece.isWhite() ? Command.Player.WHITE : Command.Player.BLACK;
-            String logKey = movingKey != null ? movingKey : movingPiece.getId();
-            String logCaptured = targetKey != null ? targetKey : targetPiece.getId();
-            Command captureCommand = Command.createMove(
-                    logKey,
-                    movingPiece.getX(),
-                    movingPiece.getY(),
-                    capturer);
-            logger.logCapture(capturer, logCaptured, captureCommand);
-
-            // Set piece to rest state after capture (like after regular move)
-            movingPiece.getState().setState(State.PieceState.REST);
-
-            System.out.println(String.format("%s captured %s!", logKey, logCaptured));
-
-            // Check if game ended due to king capture
-            checkGameEndConditions();
-        }
-    }
-
-    /**
-     * Find piece at specific coordinates
-     */
-    private Piece findPieceAt(double x, double y) {
-        double tolerance = 0.1; // Small tolerance
-
-        for (Piece piece : pieces.values()) {
-            double distance = Math.sqrt(
-                    Math.pow(piece.getX() - x, 2) +
-                            Math.pow(piece.getY() - y, 2));
-            if (distance <= tolerance) {
-                return piece;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Check if a pawn should be promoted to queen
-     */
-    private boolean shouldPromotePawn(Piece piece, double newY) {
-        String pieceId = getPieceIdFromPiece(piece);
-        if (!pieceId.startsWith("P"))
-            return false; // Only pawns can be promoted
-
-        boolean isWhite = piece.isWhite();
-        return (isWhite && newY == 0) || (!isWhite && newY == 7);
-    }
-
-    /**
-     * Promote a pawn to queen
+     * Temporary delegate for InputHandler compatibility
      */
-    private void promotePawnToQueen(String pawnKey, Piece pawn) {
-        try {
-            // Create new queen at pawn's position
-            String queenId = pawn.isWhite() ? "QW" : "QB";
-            Piece newQueen = pieceFactory.createPiece(queenId, (int) pawn.getX(), (int) pawn.getY());
-
-            if (newQueen != null) {
-                // Remove the pawn from pieces map
-                pieces.remove(pawnKey);
-
-                // Add the new queen with a unique key
-                String newQueenKey = queenId + "_promoted_" + System.currentTimeMillis();
-                pieces.put(newQueenKey, newQueen);
-
-                // Update selected piece if this was the selected pawn
-                if (pawnKey.equals(selectedPieceWhite)) {
-                    selectedPieceWhite = newQueenKey;
-                }
-                if (pawnKey.equals(selectedPieceBlack)) {
-                    selectedPieceBlack = newQueenKey;
-                }
-
-                // Update hovered piece if this was the hovered pawn
-                if (pawnKey.equals(hoveredPieceWhite)) {
-                    hoveredPieceWhite = newQueenKey;
-                }
-                if (pawnKey.equals(hoveredPieceBlack)) {
-                    hoveredPieceBlack = newQueenKey;
-                }
-
-                System.out.println("PAWN PROMOTION: " + pawnKey + " promoted to " + newQueenKey + " at (" + pawn.getX()
-                        + "," + pawn.getY() + ")");
-
-                // Force repaint to show the new queen
-                frame.repaint();
-            } else {
-                System.err.println("ERROR: Failed to create queen for promotion of " + pawnKey);
-            }
-        } catch (Exception e) {
-            System.err.println("ERROR: Exception during pawn promotion: " + e.getMessage());
-            e.printStackTrace();
-        }
+    public void keyPressed(KeyEvent e) {
+        handleRawKeyPressed(e);
     }
 
     /**
-     * Select piece by number for a specific player (0-7 for player's pieces)
+     * Public entry to process commands from external executors; applied on
+     * the simulation thread at the next tick
      */
-    private void selectPieceByNumber(int index, Command.Player player) {
-        java.util.List<String> playerPieces = pieces.keySet().stream()
-                .filter(id -> {
-                    return (player == Command.Player.WHITE && id.contains("W")) ||
-                            (player == Command.Player.BLACK && id.contains("B"));
-                })
-                .sorted()
-                .collect(java.util.stream.Collectors.toList());
-
-        if (index < playerPieces.size()) {
-            selectPiece(playerPieces.get(index), player);
-        }
+    public void processCommand(Command command) {
+        engine.submit(() -> engine.processCommand(command));
     }
 
     /**
-     * Select a piece by ID for a specific player
+     * Select a piece by ID for a specific player; applied at the next tick
      */
     public void selectPiece(String pieceId, Command.Player player) {
-        if (pieces.containsKey(pieceId)) {
-            Piece piece = pieces.get(pieceId);
-
-            // Check if piece belongs to the player
-            boolean isPieceValid = (player == Command.Player.WHITE && pieceId.contains("W")) ||
-                    (player == Command.Player.BLACK && pieceId.contains("B"));
-
-            if (isPieceValid) {
-                if (player == Command.Player.WHITE) {
-                    selectedPieceWhite = pieceId;
-                } else {
-                    selectedPieceBlack = pieceId;
-                }
-
-                piece.getState().setState(State.PieceState.IDLE);
-                Command selectCommand = Command.createGameControl("SELECT_PIECE:" + pieceId);
-                logger.logCommand(selectCommand);
-                System.out.println(player + " selected piece: " + pieceId);
-            } else {
-                System.out.println(player + " cannot select opponent's piece: " + pieceId);
-            }
-        }
-    }
-
-    /**
-     * Handle game control commands
-     */
-    private void handleGameControlCommand(Command command) {
-        String controlType = command.getKeyInput(); // For game control commands, we use keyInput field
-
-        if (controlType.equals("END_GAME")) {
-            stopGame();
-        }
-        // Add other game control handling...
+        engine.submit(() -> engine.selectPiece(pieceId, player));
     }
 
     public void keyReleased(KeyEvent e) {
@@ -1438,43 +711,54 @@ public class Game {
     }
 
     public GameLogger getLogger() {
-        return logger;
+        return engine.getLogger();
+    }
+
+    public GameEngine getEngine() {
+        return engine;
     }
 
     public Map<String, Piece> getPieces() {
-        return new HashMap<>(pieces);
+        return engine.getPieces();
     }
 
     public boolean isRunning() {
-        return running;
+        return engine.isRunning();
+    }
+
+    public GameClock getClock() {
+        return clock;
     }
 
     public String getSelectedPieceWhite() {
-        return selectedPieceWhite;
+        return engine.getSelectedPieceWhite();
     }
 
     public String getSelectedPieceBlack() {
-        return selectedPieceBlack;
+        return engine.getSelectedPieceBlack();
     }
 
     public String getHoveredPieceWhite() {
-        return hoveredPieceWhite;
+        return engine.getHoveredPieceWhite();
     }
 
     public String getHoveredPieceBlack() {
-        return hoveredPieceBlack;
+        return engine.getHoveredPieceBlack();
     }
 
     @Override
     public Game clone() {
-        Game cloned = new Game(board.clone(), pieceFactory, graphicsFactory, physicsFactory);
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            cloned.pieces.put(entry.getKey(), entry.getValue().clone());
+        Game cloned = new Game(board.clone(), pieceFactory, graphicsFactory, physicsFactory, clock);
+        for (Map.Entry<String, Piece> entry : engine.getPiecesView().entrySet()) {
+            cloned.engine.addPiece(entry.getKey(), entry.getValue().clone());
         }
         return cloned;
     }
 
     public static void main(String[] args) {
+        // Decode all sprites in the background while the window is being set up
+        GraphicsFactory.preloadSprites();
+
         SwingUtilities.invokeLater(() -> {
             try {
                 // Create initial board image
@@ -1483,7 +767,8 @@ public class Game {
                 // Try to load from project root first
                 String boardPath = "c:\\הנדסאים\\CTD25\\board.png";
                 try {
-                    boardImg.read(boardPath, new Dimension(800, 800), true, null);
+                    // Keep the native resolution; the board layer scales it once per board size
+                    boardImg.read(boardPath);
                 } catch (Exception e) {
                     System.out.println("Could not load board from project root, creating default board");
                     // Create a simple colored board if image loading fails
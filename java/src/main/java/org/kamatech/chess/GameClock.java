@@ -0,0 +1,33 @@
+package org.kamatech.chess;
+
+/**
+ * Time source for the simulation. The game loop, piece state machines and
+ * cooldowns read time only through this interface so they can be driven by a
+ * manual clock in tests and headless simulations.
+ */
+public interface GameClock {
+    /**
+     * Real wall-clock time
+     */
+    GameClock SYSTEM = new GameClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Monotonic time in nanoseconds, used for loop scheduling
+     */
+    long nanoTime();
+
+    /**
+     * Time in milliseconds, used for state timestamps and cooldowns
+     */
+    long millis();
+}
@@ -0,0 +1,1314 @@
+package org.kamatech.chess;
+
+import org.kamatech.chess.api.IPieceFactory;
+import org.kamatech.chess.events.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Headless game simulation: owns the pieces, both players' hover/selection
+ * and movement-mode state, piece cooldowns, move animation, collisions,
+ * captures, promotion and the event bus. It has no window or AWT dependency,
+ * so it can run on a server or in batch with one engine per thread. The
+ * Swing {@link Game} is a view that forwards input here and draws
+ * {@link #captureSnapshot()}.
+ *
+ * Not thread-safe: drive each engine from one thread, the one that calls
+ * {@link #update(long)}. Other threads (e.g. the Swing EDT) hand input over
+ * with {@link #submit(Runnable)}; queued input runs at the start of the next
+ * update, so the engine's state is only ever touched by that one thread.
+ */
+public class GameEngine {
+
+    /**
+     * Notifications for a view or runner. All methods default to doing nothing.
+     */
+    public interface Listener {
+        /**
+         * A cell's contents changed (piece added, removed or moved)
+         */
+        default void cellChanged(double x, double y) {
+        }
+
+        /**
+         * A piece left the board (captured or promoted)
+         */
+        default void pieceRemoved(Piece piece) {
+        }
+
+        /**
+         * Visible state changed outside the regular tick and should be shown now
+         */
+        default void stateChanged() {
+        }
+
+        default void gameEnded(Command.Player winner, String reason) {
+        }
+
+        default void gameStopped() {
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    static final long MOVE_ANIMATION_MS = 2000; // Duration of a regular move animation
+
+    private final int widthCells;
+    private final int heightCells;
+    private final IPieceFactory pieceFactory;
+    private final GameClock clock;
+    private final GameLogger logger;
+    private final EventBus eventBus;
+    private final Map<String, Piece> pieces;
+    private final Map<String, Piece> piecesView;
+    private final OccupancyGrid occupancy; // Cell index kept in sync with pieces
+    private final Bitboards bitboards; // Per-kind/color bit planes kept in sync with pieces
+    private final Map<Moves, MoveTables> moveTables; // Built when a piece type first joins the board
+    private final Map<String, MoveTables> codeTables; // Per piece code, for types not on the board
+    private final Map<Piece, String> pieceKeys; // Reverse index: piece -> board key
+    private final TweenScheduler tweens; // Piece move animations, advanced by update()
+    private final Piece[] reservedCells; // Per cell: piece moving there, indexed once it lands
+    private final Queue<Runnable> input; // Work submitted by other threads, run by update()
+    private Listener listener = NO_LISTENER;
+    private volatile boolean running;
+    private int moveCounter = 0;
+    private int promotionCounter = 0; // Makes promoted queens' keys unique within this engine
+
+    private String selectedPieceWhite; // Selected piece for white player
+    private String selectedPieceBlack; // Selected piece for black player
+    private String hoveredPieceWhite; // Piece currently being hovered by white player
+    private String hoveredPieceBlack; // Piece currently being hovered by black player
+    private boolean whiteInMovementMode = false; // Whether white player is in movement mode
+    private boolean blackInMovementMode = false; // Whether black player is in movement mode
+    // Accumulated movement for each player
+    private int whitePendingDx = 0;
+    private int whitePendingDy = 0;
+    private int blackPendingDx = 0;
+    private int blackPendingDy = 0;
+    // Visual position tracking for movement mode
+    private double whiteVisualX = -1, whiteVisualY = -1; // Visual position for white piece
+    private double blackVisualX = -1, blackVisualY = -1; // Visual position for black piece
+
+    public GameEngine(int widthCells, int heightCells, IPieceFactory pieceFactory, GameClock clock) {
+        this(widthCells, heightCells, pieceFactory, clock, new GameLogger());
+    }
+
+    public GameEngine(int widthCells, int heightCells, IPieceFactory pieceFactory, GameClock clock,
+            GameLogger logger) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.pieceFactory = pieceFactory;
+        this.clock = clock;
+        this.logger = logger;
+        this.eventBus = new EventBus();
+        this.pieces = new HashMap<>();
+        this.piecesView = Collections.unmodifiableMap(pieces);
+        this.occupancy = new OccupancyGrid(widthCells, heightCells);
+        this.bitboards = new Bitboards(widthCells, heightCells);
+        this.moveTables = new IdentityHashMap<>();
+        this.codeTables = new HashMap<>();
+        this.pieceKeys = new IdentityHashMap<>();
+        this.tweens = new TweenScheduler(this::animatePiece);
+        this.reservedCells = new Piece[widthCells * heightCells];
+        this.input = new ConcurrentLinkedQueue<>();
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    /* ----------- Lifecycle ----------- */
+
+    /**
+     * Start the game: publish the start event and give each player a first
+     * selection
+     */
+    public void start() {
+        running = true;
+        logger.logCommand(Command.createGameControl("GAME_STARTED"));
+
+        // Publish game started event
+        GameStartedEvent gameStartedEvent = new GameStartedEvent();
+        eventBus.publish(gameStartedEvent);
+
+        // Auto-select first piece for each player
+        autoSelectFirstPieces();
+    }
+
+    /**
+     * Stop the game
+     */
+    public void stop() {
+        running = false;
+        logger.logCommand(Command.createGameControl("GAME_STOPPED"));
+        logger.saveLogs();
+        logger.printGameStats();
+        listener.gameStopped();
+    }
+
+    /**
+     * Queue work to run on the simulation thread at the start of the next
+     * {@link #update(long)}. The only method that may be called from any
+     * thread.
+     */
+    public void submit(Runnable action) {
+        input.add(action);
+    }
+
+    /**
+     * Run every queued input action, in submission order
+     */
+    private void drainInput() {
+        Runnable action;
+        while ((action = input.poll()) != null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Update game state by one simulation step, after applying queued input
+     */
+    public void update(long deltaTimeMs) {
+        drainInput();
+
+        // Advance move animations; completions handle promotion and REST
+        tweens.update(deltaTimeMs);
+
+        // Update all piece states and animations
+        for (Piece piece : pieces.values()) {
+            State state = piece.getState();
+            if (state != null) {
+                state.update(); // Call without parameters for now
+            }
+        }
+
+        // Check for game end conditions
+        checkGameEndConditions();
+    }
+
+    /**
+     * Auto-select the first piece for each player using the same logic as hover
+     * initialization
+     */
+    private void autoSelectFirstPieces() {
+        // Use the same logic as initializeGame to ensure consistency
+        List<String> whitePieces = Command.getPlayerPieces(Command.Player.WHITE, pieces);
+        List<String> blackPieces = Command.getPlayerPieces(Command.Player.BLACK, pieces);
+
+        // Select and hover the same pieces for white player
+        if (!whitePieces.isEmpty()) {
+            String firstWhitePiece = whitePieces.get(0);
+            selectedPieceWhite = firstWhitePiece;
+            hoveredPieceWhite = firstWhitePiece;
+            pieces.get(firstWhitePiece).getState().setState(State.PieceState.IDLE);
+            logger.debug("Initialized white player: selected and hovered = " + firstWhitePiece);
+        }
+
+        // Select and hover the same pieces for black player
+        if (!blackPieces.isEmpty()) {
+            String firstBlackPiece = blackPieces.get(0);
+            selectedPieceBlack = firstBlackPiece;
+            hoveredPieceBlack = firstBlackPiece;
+            pieces.get(firstBlackPiece).getState().setState(State.PieceState.IDLE);
+            logger.debug("Initialized black player: selected and hovered = " + firstBlackPiece);
+        }
+    }
+
+    /**
+     * Check for game end conditions
+     */
+    private void checkGameEndConditions() {
+        if (!running) {
+            return;
+        }
+        // Check if any king is captured
+        boolean whiteKingExists = bitboards.isKingAlive(true);
+        boolean blackKingExists = bitboards.isKingAlive(false);
+
+        if (!whiteKingExists) {
+            endGame(Command.Player.BLACK, "Black wins - White king captured!");
+        } else if (!blackKingExists) {
+            endGame(Command.Player.WHITE, "White wins - Black king captured!");
+        }
+    }
+
+    /**
+     * End the game with a winner
+     */
+    private void endGame(Command.Player winner, String reason) {
+        running = false;
+        logger.logCommand(Command.createGameControl("GAME_ENDED: " + reason));
+        logger.saveLogs();
+
+        // Publish game ended event
+        GameEndedEvent gameEndedEvent = new GameEndedEvent(winner.toString());
+        eventBus.publish(gameEndedEvent);
+
+        listener.gameEnded(winner, reason);
+    }
+
+    /* ----------- Player input ----------- */
+
+    /**
+     * Jump the player's selected piece by its pending deltas
+     */
+    public void jump(Command.Player player) {
+        String selected = (player == Command.Player.WHITE) ? selectedPieceWhite : selectedPieceBlack;
+        if (selected != null) {
+            executeCommand(Command.createJump(selected, player));
+        }
+    }
+
+    /**
+     * Enter movement mode for the player's selected piece, or, if already in
+     * it, execute the accumulated move and leave it
+     */
+    public void toggleMovementMode(Command.Player player) {
+        boolean white = player == Command.Player.WHITE;
+        String selected = white ? selectedPieceWhite : selectedPieceBlack;
+        String name = white ? "White" : "Black";
+        if (!isInMovementMode(player) && selected != null) {
+            // Enter movement mode
+            setMovementMode(player, true);
+            setPending(player, 0, 0);
+            initializeVisualPosition(player);
+            logger.debug(name + " player entered movement mode");
+        } else if (isInMovementMode(player)) {
+            // Execute accumulated move if exists
+            int dx = white ? whitePendingDx : blackPendingDx;
+            int dy = white ? whitePendingDy : blackPendingDy;
+            if ((dx != 0 || dy != 0) && selected != null) {
+                // Create move command for validation and execution
+                Command moveCommand = Command.createKeyInput("MOVE", player);
+                executeCommand(moveCommand);
+
+                // Note: State will be managed by the animation in movePieceStepByStep
+            }
+            // Exit movement mode
+            setMovementMode(player, false);
+            setPending(player, 0, 0);
+            resetVisualPosition(player);
+            logger.debug(name + " player exited movement mode");
+        }
+    }
+
+    /**
+     * Leave movement mode for both players without moving
+     */
+    public void cancelMovementModes() {
+        whiteInMovementMode = false;
+        blackInMovementMode = false;
+        resetVisualPosition(Command.Player.WHITE);
+        resetVisualPosition(Command.Player.BLACK);
+    }
+
+    /**
+     * Add to the player's accumulated move while in movement mode
+     */
+    public void adjustPendingMove(Command.Player player, int dx, int dy) {
+        if (player == Command.Player.WHITE) {
+            whitePendingDx += dx;
+            whitePendingDy += dy;
+            logger.debug("White player pending move: dx=" + whitePendingDx + ", dy=" + whitePendingDy);
+        } else {
+            blackPendingDx += dx;
+            blackPendingDy += dy;
+            logger.debug("Black player pending move: dx=" + blackPendingDx + ", dy=" + blackPendingDy);
+        }
+        updateVisualPosition(player);
+    }
+
+    /**
+     * Convert the player's current hover to a selection
+     */
+    public void selectFromHover(Command.Player player) {
+        if (player == Command.Player.WHITE) {
+            if (hoveredPieceWhite != null && pieces.get(hoveredPieceWhite).isWhite()) {
+                selectedPieceWhite = hoveredPieceWhite;
+                logger.debug("White selected from hover: " + selectedPieceWhite);
+                Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceWhite);
+                logger.logCommand(selectCommand);
+            }
+        } else {
+            if (hoveredPieceBlack != null && !pieces.get(hoveredPieceBlack).isWhite()) {
+                selectedPieceBlack = hoveredPieceBlack;
+                logger.debug("Black selected from hover: " + selectedPieceBlack);
+                Command selectCommand = Command.createGameControl("SELECT_FROM_HOVER:" + selectedPieceBlack);
+                logger.logCommand(selectCommand);
+            }
+        }
+    }
+
+    private void setMovementMode(Command.Player player, boolean enabled) {
+        if (player == Command.Player.WHITE) {
+            whiteInMovementMode = enabled;
+        } else {
+            blackInMovementMode = enabled;
+        }
+    }
+
+    /**
+     * Set the delta that the next "MOVE" key command applies to the player's
+     * selected piece, replacing any accumulated one
+     */
+    public void setPendingMove(Command.Player player, int dx, int dy) {
+        setPending(player, dx, dy);
+    }
+
+    private void setPending(Command.Player player, int dx, int dy) {
+        if (player == Command.Player.WHITE) {
+            whitePendingDx = dx;
+            whitePendingDy = dy;
+        } else {
+            blackPendingDx = dx;
+            blackPendingDy = dy;
+        }
+    }
+
+    private void resetVisualPosition(Command.Player player) {
+        if (player == Command.Player.WHITE) {
+            whiteVisualX = -1;
+            whiteVisualY = -1;
+        } else {
+            blackVisualX = -1;
+            blackVisualY = -1;
+        }
+    }
+
+    private void updateVisualPosition(Command.Player player) {
+        try {
+            if (player == Command.Player.WHITE && selectedPieceWhite != null) {
+                Piece piece = pieces.get(selectedPieceWhite);
+                if (piece != null) {
+                    whiteVisualX = piece.getX() + whitePendingDx;
+                    whiteVisualY = piece.getY() + whitePendingDy;
+                }
+            } else if (player == Command.Player.BLACK && selectedPieceBlack != null) {
+                Piece piece = pieces.get(selectedPieceBlack);
+                if (piece != null) {
+                    blackVisualX = piece.getX() + blackPendingDx;
+                    blackVisualY = piece.getY() + blackPendingDy;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error updating visual position: " + e.getMessage());
+        }
+    }
+
+    private void initializeVisualPosition(Command.Player player) {
+        // Initialize visual position to match the current piece position
+        if (player == Command.Player.WHITE && selectedPieceWhite != null) {
+            Piece piece = pieces.get(selectedPieceWhite);
+            if (piece != null) {
+                whiteVisualX = piece.getX();
+                whiteVisualY = piece.getY();
+            }
+        } else if (player == Command.Player.BLACK && selectedPieceBlack != null) {
+            Piece piece = pieces.get(selectedPieceBlack);
+            if (piece != null) {
+                blackVisualX = piece.getX();
+                blackVisualY = piece.getY();
+            }
+        }
+    }
+
+    /* ----------- Commands ----------- */
+
+    /**
+     * Public entry to process commands from external executors
+     */
+    public void processCommand(Command command) {
+        executeCommand(command);
+    }
+
+    /**
+     * Execute a command through the command system
+     */
+    private void executeCommand(Command command) {
+        if (command == null)
+            return;
+
+        // Log the command
+        logger.logCommand(command);
+
+        // Process the command based on its type
+        switch (command.getCommandType()) {
+            case GAME_CONTROL:
+                handleGameControlCommand(command);
+                break;
+            case KEY_INPUT:
+                handleMovementCommand(command);
+                break;
+            case MOVE:
+                handleMoveCommand(command);
+                break;
+            case JUMP:
+                handleJumpCommand(command);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Handle movement commands (WASD/arrows) - Move the selected piece step by step
+     */
+    private void handleMovementCommand(Command command) {
+        // Get selected piece by player
+        Command.Player player = command.getPlayer();
+        Piece piece = (player == Command.Player.WHITE)
+                ? pieces.get(selectedPieceWhite)
+                : pieces.get(selectedPieceBlack);
+
+        if (piece == null) {
+            return;
+        }
+
+        if (!piece.getState().canPerformAction()) {
+            return;
+        }
+
+        // Use accumulated movement values
+        int dx = (player == Command.Player.WHITE) ? whitePendingDx : blackPendingDx;
+        int dy = (player == Command.Player.WHITE) ? whitePendingDy : blackPendingDy;
+
+        // Move the piece step by step
+        movePieceStepByStep(piece, dx, dy);
+
+        // Show the changed cells immediately
+        listener.stateChanged();
+    }
+
+    /**
+     * Handle move commands
+     */
+    private void handleMoveCommand(Command command) {
+        // This would handle more complex moves like chess notation
+    }
+
+    /**
+     * Handle jump commands: move piece by pending deltas, capture if landing on
+     * enemy
+     */
+    private void handleJumpCommand(Command command) {
+        String pieceId = command.getPieceId();
+        if (!pieces.containsKey(pieceId))
+            return;
+        Piece piece = pieces.get(pieceId);
+
+        // A moving piece is between cells; it must land before it can jump
+        if (tweens.isAnimating(piece)) {
+            return;
+        }
+
+        // Publish sound event for jump FIRST - always play sound regardless of outcome
+        SoundEvent jumpSound = new SoundEvent(SoundEvent.SoundType.JUMP);
+        eventBus.publish(jumpSound);
+
+        // Determine pending jump deltas and reset
+        int dx = (command.getPlayer() == Command.Player.WHITE) ? whitePendingDx : blackPendingDx;
+        int dy = (command.getPlayer() == Command.Player.WHITE) ? whitePendingDy : blackPendingDy;
+        setPending(command.getPlayer(), 0, 0);
+        // Calculate landing position
+        double currentX = piece.getX();
+        double currentY = piece.getY();
+        double nextX = currentX + dx;
+        double nextY = currentY + dy;
+
+        // A cell holds one piece: never land on a piece of the same color, or
+        // where one is about to arrive
+        Piece target = findPieceAt(nextX, nextY);
+        if (target != null && target != piece && target.isWhite() == piece.isWhite()) {
+            return;
+        }
+        Piece incoming = getReservation(nextX, nextY);
+        if (incoming != null && incoming.isWhite() == piece.isWhite()) {
+            return;
+        }
+
+        // Check for enemy at landing
+        if (target != null && target.isWhite() != piece.isWhite()) {
+            handleCollision(piece, target);
+        } else {
+            // Move piece to landing (no capture)
+            setPiecePosition(piece, nextX, nextY);
+
+            // Check for pawn promotion after jump
+            if (shouldPromotePawn(piece, nextY)) {
+                promotePawnToQueen(pieceId, piece);
+                return; // Exit early since piece was replaced
+            }
+
+            // Publish jump event without capture
+            publishMoveEvent(piece, currentX, currentY, nextX, nextY, null);
+        }
+
+        // Set jump state
+        piece.getState().setState(State.PieceState.JUMP);
+    }
+
+    /**
+     * Handle game control commands
+     */
+    private void handleGameControlCommand(Command command) {
+        String controlType = command.getKeyInput(); // For game control commands, we use keyInput field
+
+        if (controlType.equals("END_GAME")) {
+            stop();
+        }
+        // Add other game control handling...
+    }
+
+    /* ----------- Selection ----------- */
+
+    /**
+     * Select next piece for a player using direction keys
+     */
+    public void selectPieceWithDirection(Command.Player player, String direction) {
+        // Get pieces for this player only, ensuring correct color match
+        List<String> playerPieces = Command.getPlayerPieces(player, pieces);
+        if (playerPieces.isEmpty())
+            return;
+
+        String currentSelected = (player == Command.Player.WHITE) ? selectedPieceWhite : selectedPieceBlack;
+        int currentIndex = playerPieces.indexOf(currentSelected);
+
+        // If no piece selected or piece not found, start from beginning
+        if (currentIndex == -1) {
+            currentIndex = 0;
+        } else {
+            // Cycle through pieces based on direction
+            switch (direction) {
+                case "UP":
+                case "LEFT":
+                    currentIndex = (currentIndex - 1 + playerPieces.size()) % playerPieces.size();
+                    break;
+                case "DOWN":
+                case "RIGHT":
+                    currentIndex = (currentIndex + 1) % playerPieces.size();
+                    break;
+            }
+        }
+
+        String newSelectedPiece = playerPieces.get(currentIndex);
+
+        // Double-check the piece color matches the player before assigning
+        boolean pieceColorMatches = (player == Command.Player.WHITE && newSelectedPiece.contains("W")) ||
+                (player == Command.Player.BLACK && newSelectedPiece.contains("B"));
+
+        if (!pieceColorMatches) {
+            return;
+        }
+
+        if (player == Command.Player.WHITE) {
+            hoveredPieceWhite = newSelectedPiece; // Update hovered piece first
+            selectedPieceWhite = newSelectedPiece;
+        } else {
+            hoveredPieceBlack = newSelectedPiece; // Update hovered piece first
+            selectedPieceBlack = newSelectedPiece;
+        }
+
+        // Log the selection
+        Command selectCommand = Command.createGameControl("SELECT_PIECE:" + newSelectedPiece);
+        logger.logCommand(selectCommand);
+    }
+
+    /**
+     * Move hover between pieces without selecting
+     */
+    public void hoverPieceWithDirection(Command.Player player, String direction) {
+        // Ensure we only get pieces of the appropriate color
+        List<String> playerPieces = Command.getPlayerPieces(player, pieces);
+        if (playerPieces.isEmpty())
+            return;
+
+        String currentHovered = (player == Command.Player.WHITE) ? hoveredPieceWhite : hoveredPieceBlack;
+        int currentIndex = playerPieces.indexOf(currentHovered);
+
+        // If no piece hovered or piece not found, start from beginning
+        if (currentIndex == -1) {
+            currentIndex = 0;
+        } else {
+            // Cycle through pieces based on direction
+            switch (direction) {
+                case "UP":
+                case "LEFT":
+                    currentIndex = (currentIndex - 1 + playerPieces.size()) % playerPieces.size();
+                    break;
+                case "DOWN":
+                case "RIGHT":
+                    currentIndex = (currentIndex + 1) % playerPieces.size();
+                    break;
+            }
+        }
+
+        String newHoveredPiece = playerPieces.get(currentIndex);
+
+        // Double-check the piece color matches the player before hovering
+        boolean pieceColorMatches = (player == Command.Player.WHITE && newHoveredPiece.contains("W")) ||
+                (player == Command.Player.BLACK && newHoveredPiece.contains("B"));
+
+        if (!pieceColorMatches) {
+            logger.debug("ERROR: Attempted to hover over piece of wrong color: " + newHoveredPiece);
+            return;
+        }
+
+        if (player == Command.Player.WHITE) {
+            hoveredPieceWhite = newHoveredPiece;
+            logger.debug("*** WHITE HOVER CHANGED TO: " + hoveredPieceWhite + " ***");
+        } else {
+            hoveredPieceBlack = newHoveredPiece;
+            logger.debug("*** BLACK HOVER CHANGED TO: " + hoveredPieceBlack + " ***");
+        }
+    }
+
+    /**
+     * Select piece by number for a specific player (0-7 for player's pieces)
+     */
+    public void selectPieceByNumber(int index, Command.Player player) {
+        java.util.List<String> playerPieces = pieces.keySet().stream()
+                .filter(id -> {
+                    return (player == Command.Player.WHITE && id.contains("W")) ||
+                            (player == Command.Player.BLACK && id.contains("B"));
+                })
+                .sorted()
+                .collect(java.util.stream.Collectors.toList());
+
+        if (index < playerPieces.size()) {
+            selectPiece(playerPieces.get(index), player);
+        }
+    }
+
+    /**
+     * Select a piece by ID for a specific player
+     */
+    public void selectPiece(String pieceId, Command.Player player) {
+        if (pieces.containsKey(pieceId)) {
+            Piece piece = pieces.get(pieceId);
+
+            // Check if piece belongs to the player
+            boolean isPieceValid = (player == Command.Player.WHITE && pieceId.contains("W")) ||
+                    (player == Command.Player.BLACK && pieceId.contains("B"));
+
+            if (isPieceValid) {
+                if (player == Command.Player.WHITE) {
+                    selectedPieceWhite = pieceId;
+                } else {
+                    selectedPieceBlack = pieceId;
+                }
+
+                piece.getState().setState(State.PieceState.IDLE);
+                Command selectCommand = Command.createGameControl("SELECT_PIECE:" + pieceId);
+                logger.logCommand(selectCommand);
+                logger.debug(player + " selected piece: " + pieceId);
+            } else {
+                logger.debug(player + " cannot select opponent's piece: " + pieceId);
+            }
+        }
+    }
+
+    /* ----------- Rules ----------- */
+
+    /**
+     * Move a piece step by step based on user input
+     */
+    private void movePieceStepByStep(Piece piece, int dx, int dy) {
+        double currentX = piece.getX();
+        double currentY = piece.getY();
+
+        // Calculate the next position
+        double nextX = currentX + dx;
+        double nextY = currentY + dy;
+
+        // Check if this move is allowed by the piece's moves.txt file
+        if (!isValidMoveForPiece(piece, dx, dy)) {
+            return;
+        }
+
+        // Check board boundaries
+        if (nextX < 0 || nextX >= widthCells ||
+                nextY < 0 || nextY >= heightCells) {
+            return;
+        }
+
+        // Another piece is already on its way to that cell
+        if (getReservation(nextX, nextY) != null) {
+            return;
+        }
+
+        // Check for collisions with other pieces
+        Piece collidingPiece = findPieceAt(nextX, nextY);
+        if (collidingPiece != null && !collidingPiece.equals(piece)) {
+            // Check if this is a valid capture (different colors)
+            if (piece.isWhite() != collidingPiece.isWhite()) {
+                handleCollision(piece, collidingPiece);
+            } else {
+                return;
+            }
+        } else {
+            // No collision - animated move
+            // Set piece to MOVE state for animation
+            piece.getState().setState(State.PieceState.MOVE);
+
+            // Publish sound event for move
+            SoundEvent moveSound = new SoundEvent(SoundEvent.SoundType.MOVE);
+            eventBus.publish(moveSound);
+
+            // Publish move event for regular move (no capture)
+            publishMoveEvent(piece, currentX, currentY, nextX, nextY, null);
+
+            // Leave the indexes while between cells and hold the target cell;
+            // update() advances the animation each tick
+            occupancy.remove(piece);
+            bitboards.lift(piece);
+            reservedCells[cellIndex(nextX, nextY)] = piece;
+            tweens.start(piece, nextX, nextY, MOVE_ANIMATION_MS,
+                    movedPiece -> finishMove(movedPiece, nextX, nextY));
+        }
+    }
+
+    /**
+     * Tween step: show a moving piece at an intermediate position. It is not
+     * indexed until its move lands.
+     */
+    private void animatePiece(Piece piece, double x, double y) {
+        listener.cellChanged(piece.getX(), piece.getY());
+        piece.setPosition(x, y);
+        listener.cellChanged(x, y);
+    }
+
+    /**
+     * Called when a move animation reaches its target cell: resolve a piece
+     * that stepped into the cell meanwhile, then index the mover there
+     */
+    private void finishMove(Piece piece, double nextX, double nextY) {
+        reservedCells[cellIndex(nextX, nextY)] = null;
+        if (!pieceKeys.containsKey(piece)) {
+            return; // Left the board while moving
+        }
+
+        // Only an enemy can have entered a reserved cell (by jumping); capture it
+        Piece occupant = findPieceAt(nextX, nextY);
+        if (occupant != null && occupant != piece) {
+            handleCollision(piece, occupant);
+            return;
+        }
+        occupancy.place(piece);
+        bitboards.place(piece);
+
+        // Check for pawn promotion after move
+        if (shouldPromotePawn(piece, nextY)) {
+            String movingKey = getPieceIdFromPiece(piece);
+            promotePawnToQueen(movingKey, piece);
+            return; // Exit early since piece was replaced
+        }
+
+        // Set back to REST state
+        piece.getState().setState(State.PieceState.REST);
+    }
+
+    /**
+     * Piece moving to a cell, or null
+     */
+    private Piece getReservation(double x, double y) {
+        int index = cellIndex(x, y);
+        return index >= 0 ? reservedCells[index] : null;
+    }
+
+    /**
+     * Index of a whole cell, or -1 if off the board
+     */
+    private int cellIndex(double x, double y) {
+        int col = (int) Math.round(x);
+        int row = (int) Math.round(y);
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return -1;
+        }
+        return row * widthCells + col;
+    }
+
+    /**
+     * Convert board coordinates to chess notation (e.g., 0,0 -> a1, 1,0 -> b1)
+     */
+    private String coordinatesToChessNotation(double x, double y) {
+        char file = (char) ('a' + (int) x);
+        int rank = (int) (8 - y); // Chess ranks are numbered 1-8 from bottom to top
+        return "" + file + rank;
+    }
+
+    /**
+     * Get piece type character from piece ID
+     */
+    private String getPieceTypeFromId(String pieceId) {
+        if (pieceId == null || pieceId.length() == 0)
+            return "?";
+        return pieceId.substring(0, 1); // First character is piece type
+    }
+
+    /**
+     * Get player from piece ID
+     */
+    private String getPlayerFromId(String pieceId) {
+        if (pieceId == null || pieceId.length() < 2)
+            return "UNKNOWN";
+        return pieceId.contains("W") ? "WHITE" : "BLACK";
+    }
+
+    /**
+     * Publish a move event to the event bus
+     */
+    private void publishMoveEvent(Piece piece, double fromX, double fromY, double toX, double toY,
+            String capturedPiece) {
+        String pieceId = getPieceIdFromPiece(piece);
+        String fromNotation = coordinatesToChessNotation(fromX, fromY);
+        String toNotation = coordinatesToChessNotation(toX, toY);
+        String player = getPlayerFromId(pieceId);
+        String pieceType = getPieceTypeFromId(pieceId);
+
+        moveCounter++;
+
+        PieceMovedEvent event = new PieceMovedEvent(
+                fromNotation,
+                toNotation,
+                player,
+                pieceType,
+                moveCounter,
+                capturedPiece);
+
+        eventBus.publish(event);
+    }
+
+    /**
+     * Get piece ID from piece object
+     */
+    private String getPieceIdFromPiece(Piece piece) {
+        String key = pieceKeys.get(piece);
+        return key != null ? key : piece.getId(); // fallback
+    }
+
+    /**
+     * Check if a move is valid for a piece based on its moves.txt file
+     */
+    private boolean isValidMoveForPiece(Piece piece, int dx, int dy) {
+        // Get the piece's moves from its state
+        State state = piece.getState();
+        if (state == null || state.getMoves() == null) {
+            return true; // If no moves defined, allow all moves
+        }
+
+        MoveTables tables = getMoveTables(piece);
+        if (tables == null || tables.isEmpty()) {
+            return true; // If moves list is empty, allow all moves
+        }
+
+        // Check the precomputed targets (listed deltas in either direction) and
+        // that no piece stands between the cells of a sliding move
+        int fromCol = (int) Math.round(piece.getX());
+        int fromRow = (int) Math.round(piece.getY());
+        if (tables.isListed(dx, dy)) {
+            // A listed delta that is blocked or occupied is not rescued by the fallback
+            return tables.isLegal(fromCol, fromRow, fromCol + dx, fromRow + dy, bitboards, piece.isWhite(),
+                    isOnStartingRow(piece, fromRow));
+        }
+
+        // Fallback for moves.txt files that miss a piece's basic steps
+        String pieceType = piece.getId().substring(0, 1);
+
+        switch (pieceType) {
+            case "P": // Pawn
+                // Check if it's a forward move (dy = 1 for black, dy = -1 for white)
+                boolean isWhitePawn = piece.getId().contains("W");
+                int forwardDirection = isWhitePawn ? -1 : 1; // White moves up (-y), Black moves down (+y)
+
+                // Allow diagonal captures
+                if (Math.abs(dx) == 1 && dy == forwardDirection) {
+                    // Only allow diagonal moves if there's an enemy piece to capture
+                    double nextX = piece.getX() + dx;
+                    double nextY = piece.getY() + dy;
+                    Piece targetPiece = findPieceAt(nextX, nextY);
+                    if (targetPiece != null && targetPiece.isWhite() != piece.isWhite()) {
+                        return true;
+                    }
+                    return false;
+                }
+
+                // Allow forward moves onto empty cells, never as captures
+                if (dx == 0 && !bitboards.isOccupied(fromCol, fromRow + dy)) {
+                    // One square forward is always allowed
+                    if (dy == forwardDirection) {
+                        return true;
+                    }
+
+                    // Two squares forward only on the first move, and not through a piece
+                    if (isOnStartingRow(piece, fromRow) && dy == (forwardDirection * 2)
+                            && !bitboards.isOccupied(fromCol, fromRow + forwardDirection)) {
+                        return true;
+                    }
+                }
+                break;
+            case "R": // Rook
+                if ((dx == 0 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && dy == 0)) {
+                    return true;
+                }
+                break;
+            case "N": // Knight
+                if ((Math.abs(dx) == 2 && Math.abs(dy) == 1) || (Math.abs(dx) == 1 && Math.abs(dy) == 2)) {
+                    return true;
+                }
+                break;
+            case "B": // Bishop
+                if (Math.abs(dx) == 1 && Math.abs(dy) == 1) {
+                    return true;
+                }
+                break;
+            case "Q": // Queen
+            case "K": // King
+                if ((Math.abs(dx) <= 1 && Math.abs(dy) <= 1) && !(dx == 0 && dy == 0)) {
+                    return true;
+                }
+                break;
+        }
+
+        return false;
+    }
+
+    /**
+     * Get (building on first use) the move tables for a piece's moves, or null
+     * if it has none
+     */
+    public MoveTables getMoveTables(Piece piece) {
+        State state = piece.getState();
+        if (state == null || state.getMoves() == null) {
+            return null;
+        }
+        return moveTables.computeIfAbsent(state.getMoves(),
+                moves -> MoveTables.build(moves, widthCells, heightCells, true));
+    }
+
+    /**
+     * Get the move tables for a piece code such as "QW", including types not
+     * on the board (e.g. the queen a pawn can promote to), or null if the
+     * factory has no moves for it
+     */
+    public MoveTables getMoveTables(String pieceCode) {
+        MoveTables tables = codeTables.get(pieceCode);
+        if (tables == null) {
+            Piece sample = pieceFactory.createPiece(pieceCode, 0, 0);
+            tables = sample != null ? getMoveTables(sample) : null;
+            if (tables != null) {
+                codeTables.put(pieceCode, tables);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Whether a piece stands on its side's pawn row, where ":first_move"
+     * deltas apply
+     */
+    private boolean isOnStartingRow(Piece piece, int row) {
+        return piece.isWhite() ? row == heightCells - 2 : row == 1;
+    }
+
+    /**
+     * Handle collision between two pieces
+     */
+    private void handleCollision(Piece movingPiece, Piece targetPiece) {
+        // Check if it's a capture (different players)
+        if (movingPiece.isWhite() != targetPiece.isWhite()) {
+            // Store original positions for event
+            double fromX = movingPiece.getX();
+            double fromY = movingPiece.getY();
+            double toX = targetPiece.getX();
+            double toY = targetPiece.getY();
+
+            // Find map keys for moving and target pieces
+            String movingKey = pieceKeys.get(movingPiece);
+            String targetKey = pieceKeys.get(targetPiece);
+
+            // Get captured piece type for event
+            String capturedPieceType = getPieceTypeFromId(targetKey);
+
+            // Remove the captured piece
+            if (targetKey != null) {
+                removePiece(targetKey);
+            }
+
+            // Move attacking piece to target position
+            setPiecePosition(movingPiece, toX, toY);
+
+            // Check for pawn promotion after capture
+            if (shouldPromotePawn(movingPiece, targetPiece.getY())) {
+                promotePawnToQueen(movingKey, movingPiece);
+                return; // Exit early since piece was replaced
+            }
+
+            // Publish sound event for eat
+            SoundEvent eatSound = new SoundEvent(SoundEvent.SoundType.EAT);
+            eventBus.publish(eatSound);
+
+            // Publish move event with capture information
+            publishMoveEvent(movingPiece, fromX, fromY, toX, toY, capturedPieceType);
+
+            // Log capture using full keys
+            Command.Player capturer = movingPiece.isWhite() ? Command.Player.WHITE : Command.Player.BLACK;
+            String logKey = movingKey != null ? movingKey : movingPiece.getId();
+            String logCaptured = targetKey != null ? targetKey : targetPiece.getId();
+            Command captureCommand = Command.createMove(
+                    logKey,
+                    movingPiece.getX(),
+                    movingPiece.getY(),
+                    capturer);
+            logger.logCapture(capturer, logCaptured, captureCommand);
+
+            // Set piece to rest state after capture (like after regular move)
+            movingPiece.getState().setState(State.PieceState.REST);
+
+            logger.debug(String.format("%s captured %s!", logKey, logCaptured));
+
+            // Check if game ended due to king capture
+            checkGameEndConditions();
+        }
+    }
+
+    /**
+     * Check if a pawn should be promoted to queen
+     */
+    private boolean shouldPromotePawn(Piece piece, double newY) {
+        String pieceId = getPieceIdFromPiece(piece);
+        if (!pieceId.startsWith("P"))
+            return false; // Only pawns can be promoted
+
+        boolean isWhite = piece.isWhite();
+        return (isWhite && newY == 0) || (!isWhite && newY == heightCells - 1);
+    }
+
+    /**
+     * Promote a pawn to queen
+     */
+    private void promotePawnToQueen(String pawnKey, Piece pawn) {
+        try {
+            // Create new queen at pawn's position
+            String queenId = pawn.isWhite() ? "QW" : "QB";
+            Piece newQueen = pieceFactory.createPiece(queenId, (int) pawn.getX(), (int) pawn.getY());
+
+            if (newQueen != null) {
+                // Remove the pawn from pieces map
+                removePiece(pawnKey);
+
+                // Add the new queen with a unique key
+                String newQueenKey = queenId + "_promoted_" + (++promotionCounter);
+                addPiece(newQueenKey, newQueen);
+
+                // Update selected piece if this was the selected pawn
+                if (pawnKey.equals(selectedPieceWhite)) {
+                    selectedPieceWhite = newQueenKey;
+                }
+                if (pawnKey.equals(selectedPieceBlack)) {
+                    selectedPieceBlack = newQueenKey;
+                }
+
+                // Update hovered piece if this was the hovered pawn
+                if (pawnKey.equals(hoveredPieceWhite)) {
+                    hoveredPieceWhite = newQueenKey;
+                }
+                if (pawnKey.equals(hoveredPieceBlack)) {
+                    hoveredPieceBlack = newQueenKey;
+                }
+
+                logger.debug("PAWN PROMOTION: " + pawnKey + " promoted to " + newQueenKey + " at (" + pawn.getX()
+                        + "," + pawn.getY() + ")");
+
+                // Show the new queen
+                listener.stateChanged();
+            } else {
+                System.err.println("ERROR: Failed to create queen for promotion of " + pawnKey);
+            }
+        } catch (Exception e) {
+            System.err.println("ERROR: Exception during pawn promotion: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /* ----------- Piece bookkeeping ----------- */
+
+    /**
+     * Find piece at specific coordinates
+     */
+    private Piece findPieceAt(double x, double y) {
+        return occupancy.findAt(x, y);
+    }
+
+    /**
+     * Add a piece under the given key, keeping the occupancy grid and reverse
+     * key index in sync
+     */
+    public void addPiece(String key, Piece piece) {
+        piece.getState().setClock(clock);
+        Piece previous = pieces.put(key, piece);
+        if (previous != null) {
+            occupancy.remove(previous);
+            bitboards.remove(previous);
+            pieceKeys.remove(previous);
+            listener.cellChanged(previous.getX(), previous.getY());
+        }
+        pieceKeys.put(piece, key);
+        occupancy.place(piece);
+        bitboards.add(piece);
+        getMoveTables(piece);
+        listener.cellChanged(piece.getX(), piece.getY());
+    }
+
+    /**
+     * Board key of a piece, or null if it is not on the board
+     */
+    String getKeyOf(Piece piece) {
+        return pieceKeys.get(piece);
+    }
+
+    /**
+     * Add all pieces from a map, keeping the indexes in sync
+     */
+    public void addPieces(Map<String, Piece> newPieces) {
+        for (Map.Entry<String, Piece> entry : newPieces.entrySet()) {
+            addPiece(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Remove a piece by key, keeping the indexes in sync
+     */
+    private Piece removePiece(String key) {
+        Piece removed = pieces.remove(key);
+        if (removed != null) {
+            if (tweens.isAnimating(removed)) {
+                tweens.cancel(removed);
+                for (int i = 0; i < reservedCells.length; i++) {
+                    if (reservedCells[i] == removed) {
+                        reservedCells[i] = null;
+                    }
+                }
+            }
+            occupancy.remove(removed);
+            bitboards.remove(removed);
+            pieceKeys.remove(removed);
+            listener.cellChanged(removed.getX(), removed.getY());
+            listener.pieceRemoved(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Move a piece, keeping the occupancy grid in sync. Pieces that are no
+     * longer on the board (e.g. captured mid-animation) are not re-indexed.
+     */
+    private void setPiecePosition(Piece piece, double x, double y) {
+        boolean onBoard = pieceKeys.containsKey(piece);
+        occupancy.remove(piece);
+        if (onBoard) {
+            bitboards.lift(piece);
+        }
+        listener.cellChanged(piece.getX(), piece.getY());
+        piece.setPosition(x, y);
+        listener.cellChanged(x, y);
+        if (onBoard) {
+            occupancy.place(piece);
+            bitboards.place(piece);
+        }
+    }
+
+    /* ----------- State access ----------- */
+
+    /**
+     * Capture the pieces and cursors into an immutable snapshot for drawing
+     */
+    public RenderSnapshot captureSnapshot() {
+        return RenderSnapshot.capture(pieces,
+                hoveredPieceWhite, hoveredPieceBlack,
+                selectedPieceWhite, selectedPieceBlack,
+                whiteInMovementMode, blackInMovementMode,
+                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY);
+    }
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+
+    /**
+     * Bitboard view of the position, kept in sync with the pieces
+     */
+    public Bitboards getBitboards() {
+        return bitboards;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public GameLogger getLogger() {
+        return logger;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getMoveCount() {
+        return moveCounter;
+    }
+
+    /**
+     * Get a copy of the pieces by key
+     */
+    public Map<String, Piece> getPieces() {
+        return new HashMap<>(pieces);
+    }
+
+    /**
+     * Read-only live view of the pieces by key, for views that iterate them
+     * every frame without copying
+     */
+    public Map<String, Piece> getPiecesView() {
+        return piecesView;
+    }
+
+    public Piece getPiece(String key) {
+        return key != null ? pieces.get(key) : null;
+    }
+
+    public String getSelectedPieceWhite() {
+        return selectedPieceWhite;
+    }
+
+    public String getSelectedPieceBlack() {
+        return selectedPieceBlack;
+    }
+
+    public String getHoveredPieceWhite() {
+        return hoveredPieceWhite;
+    }
+
+    public String getHoveredPieceBlack() {
+        return hoveredPieceBlack;
+    }
+
+    public boolean isInMovementMode(Command.Player player) {
+        return player == Command.Player.WHITE ? whiteInMovementMode : blackInMovementMode;
+    }
+
+    public double getVisualX(Command.Player player) {
+        return player == Command.Player.WHITE ? whiteVisualX : blackVisualX;
+    }
+
+    public double getVisualY(Command.Player player) {
+        return player == Command.Player.WHITE ? whiteVisualY : blackVisualY;
+    }
+}
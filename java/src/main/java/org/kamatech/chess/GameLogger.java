@@ -14,6 +14,7 @@ public class GameLogger {
     private final Map<Command.Player, Integer> playerScores;
     private final Map<String, Integer> pieceValues;
     private final String logDirectory;
+    private volatile boolean debug = Boolean.getBoolean("kfchess.log.debug");
 
     public GameLogger() {
         this("game_logs");
@@ -52,6 +53,28 @@ public class GameLogger {
         return values;
     }
 
+    /**
+     * Enable or disable diagnostic messages. Disabled by default; can also be
+     * turned on with -Dkfchess.log.debug=true
+     */
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Print a diagnostic message (selection, hover, captures) when debug
+     * output is enabled
+     */
+    public void debug(String message) {
+        if (debug) {
+            System.out.println(message);
+        }
+    }
+
     /**
      * Log a command to the game history
      */
@@ -0,0 +1,79 @@
+package org.kamatech.chess;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered digits and decimal point in one font and color, used to draw
+ * numbers such as cooldown timers by blitting glyph images. Drawing a number
+ * creates no Strings, fonts or glyph vectors.
+ */
+public class GlyphCache {
+    private static final String GLYPHS = "0123456789.";
+
+    private final BufferedImage[] images = new BufferedImage[GLYPHS.length()];
+    private final int[] advances = new int[GLYPHS.length()];
+    private final int ascent;
+
+    public GlyphCache(Font font, Color color) {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        FontMetrics metrics = sg.getFontMetrics(font);
+        sg.dispose();
+
+        this.ascent = metrics.getAscent();
+        int height = metrics.getAscent() + metrics.getDescent();
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            char c = GLYPHS.charAt(i);
+            int advance = metrics.charWidth(c);
+            BufferedImage glyph = new BufferedImage(Math.max(1, advance), Math.max(1, height),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = glyph.createGraphics();
+            g.setFont(font);
+            g.setColor(color);
+            g.drawString(String.valueOf(c), 0, ascent);
+            g.dispose();
+            images[i] = glyph;
+            advances[i] = advance;
+        }
+    }
+
+    /**
+     * Width in pixels of a number of tenths drawn with {@link #drawTenths}
+     */
+    public int measureTenths(long tenths) {
+        long whole = Math.max(0, tenths) / 10;
+        int width = advances[10] + advances[(int) (Math.max(0, tenths) % 10)];
+        do {
+            width += advances[(int) (whole % 10)];
+            whole /= 10;
+        } while (whole > 0);
+        return width;
+    }
+
+    /**
+     * Draw a non-negative number of tenths as "W.T" (e.g. 37 as "3.7") with its
+     * baseline at y, like Graphics.drawString
+     */
+    public void drawTenths(Graphics2D g, long tenths, int x, int y) {
+        tenths = Math.max(0, tenths);
+        long whole = tenths / 10;
+
+        // Find the highest power of ten to print the whole part left to right
+        long divisor = 1;
+        while (whole / divisor >= 10) {
+            divisor *= 10;
+        }
+        int top = y - ascent;
+        for (; divisor > 0; divisor /= 10) {
+            x = drawGlyph(g, (int) ((whole / divisor) % 10), x, top);
+        }
+        x = drawGlyph(g, 10, x, top);
+        drawGlyph(g, (int) (tenths % 10), x, top);
+    }
+
+    private int drawGlyph(Graphics2D g, int index, int x, int top) {
+        g.drawImage(images[index], x, top, null);
+        return x + advances[index];
+    }
+}
@@ -6,14 +6,60 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.imageio.ImageIO;
 
 import org.kamatech.chess.api.IGraphicsFactory;
 
 public class GraphicsFactory implements IGraphicsFactory {
-    // Sprite cache and timing for animations
-    private static final Map<String, List<BufferedImage>> spriteCache = new HashMap<>();
-    private static final Map<String, Long> stateEnterTime = new HashMap<>();
+    private static final String PIECES_ROOT = "c:\\הנדסאים\\CTD25\\pieces";
+
+    private static final State.PieceState[] STATES = State.PieceState.values();
+
+    // Shared drawing resources, created once so painting allocates nothing
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font COOLDOWN_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Color COOLDOWN_COLOR = new Color(0, 0, 255, 200);
+    private static final Color HOVER_OUTER_COLOR = new Color(255, 140, 0); // Orange color
+    private static final Color HOVER_INNER_COLOR = new Color(255, 200, 0); // Bright yellow-orange
+    private static final Color BLACK_SELECTION_COLOR = new Color(255, 100, 0); // Different orange for selection
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1.0f);
+    private static final BasicStroke HOVER_INNER_STROKE = new BasicStroke(4.0f);
+    private static final BasicStroke SELECTION_STROKE = new BasicStroke(6.0f);
+    private static final BasicStroke HOVER_OUTER_STROKE = new BasicStroke(8.0f); // Very thick border
+    // Pre-rendered cooldown digits
+    private static final GlyphCache COOLDOWN_GLYPHS = new GlyphCache(COOLDOWN_FONT, COOLDOWN_COLOR);
+    // Two-letter fallback labels for piece ids longer than two characters
+    private static final Map<String, String> fallbackLabels = new ConcurrentHashMap<>();
+
+    /**
+     * Decoded frames of one piece code, indexed by state ordinal
+     */
+    private static final class SpriteSet {
+        final AtomicReferenceArray<List<BufferedImage>> frames = new AtomicReferenceArray<>(STATES.length);
+        // 1 while a state's frames are being decoded in the background
+        final AtomicIntegerArray loading = new AtomicIntegerArray(STATES.length);
+    }
+
+    // Sprite cache by piece code
+    private static final Map<String, SpriteSet> spriteSets = new ConcurrentHashMap<>();
+    private static volatile CompletableFuture<PreloadStats> preload;
+    // Pre-scaled frames for the current cell size; replaced when the board is resized
+    private static volatile SpriteAtlas spriteAtlas;
+    // Atlas being built in the background for a new cell size, guarded by GraphicsFactory.class
+    private static SpriteAtlas pendingAtlas;
+    // Board image scaled once to the drawn board size
+    private static BufferedImage boardLayerSource;
+    private static final CachedLayer boardLayer = new CachedLayer((g, width, height) -> {
+        if (boardLayerSource != null) {
+            g.drawImage(boardLayerSource, 0, 0, width, height, null);
+        }
+    });
 
     /**
      * Create a Graphics handler for a Piece instance.
@@ -33,102 +79,317 @@ public class GraphicsFactory implements IGraphicsFactory {
 
     /**
      * Get current sprite frame for a piece based on its state and elapsed time
-     * This method was moved from Game.java to separate graphics concerns
+     * This method was moved from Game.java to separate graphics concerns.
+     * The frame is chosen from the time this piece entered its current state
+     * and the state's frames_per_sec/is_loop config, so every piece animates
+     * on its own clock.
+     * This is the paint path, on the EDT or the active renderer thread alike,
+     * so it never touches the disk: frames that are not decoded yet are loaded
+     * in the background and null is returned until they are ready.
      */
     public static BufferedImage getSpriteForPiece(Piece piece) {
-        String pieceId = piece.getId();
-        // Determine folder name based on state
-        State.PieceState ps = piece.getState().getCurrentState();
-        String stateName = mapStateToSpriteName(ps);
-        String cacheKey = pieceId + "_" + stateName;
+        State state = piece.getState();
+        return getSprite(piece.getId(), piece.getType(), state.getCurrentState(), state.getTimeInState());
+    }
+
+    /**
+     * Get the sprite frame for a piece given its state and the time it has
+     * spent in that state, with the same loading rules as
+     * {@link #getSpriteForPiece}
+     */
+    static BufferedImage getSprite(String pieceId, PieceType type, State.PieceState ps, long timeInState) {
+        SpriteSet set = spriteSetFor(pieceId);
+        List<BufferedImage> frames = set.frames.get(ps.ordinal());
+        if (frames == null) {
+            loadSpritesAsync(set, pieceId, ps);
+            return null;
+        }
+        return pickFrame(frames, type, ps, timeInState);
+    }
 
-        List<BufferedImage> frames = spriteCache.get(cacheKey);
+    /**
+     * Like {@link #getSpriteForPiece}, but decodes missing frames on the
+     * calling thread first. Only for preloading and tests, never for painting.
+     */
+    static BufferedImage loadSpriteForPiece(Piece piece) {
+        State state = piece.getState();
+        State.PieceState ps = state.getCurrentState();
+        SpriteSet set = spriteSetFor(piece.getId());
+        List<BufferedImage> frames = set.frames.get(ps.ordinal());
         if (frames == null) {
-            frames = loadSprites(pieceId, stateName);
-            spriteCache.put(cacheKey, frames);
-            stateEnterTime.put(cacheKey, System.currentTimeMillis());
+            set.frames.compareAndSet(ps.ordinal(), null, loadSprites(piece.getId(), StateConfig.folderNameFor(ps)));
+            frames = set.frames.get(ps.ordinal());
         }
+        return pickFrame(frames, piece.getType(), ps, state.getTimeInState());
+    }
 
+    /**
+     * Whether a piece's frames for a state have been decoded, even if none
+     * were found
+     */
+    static boolean isSpriteCached(String pieceId, State.PieceState ps) {
+        SpriteSet set = spriteSets.get(pieceId);
+        return set != null && set.frames.get(ps.ordinal()) != null;
+    }
+
+    private static BufferedImage pickFrame(List<BufferedImage> frames, PieceType type, State.PieceState ps,
+            long timeInState) {
         if (frames.isEmpty()) {
             return null;
         }
+        StateConfig config = type != null ? type.getStateConfig(ps) : StateConfig.DEFAULT;
+        return frames.get(frameIndex(config, timeInState, frames.size()));
+    }
 
-        long elapsed = System.currentTimeMillis() - stateEnterTime.get(cacheKey);
-        long stateDuration;
-        if (piece.getState().getCurrentState() == State.PieceState.REST) {
-            stateDuration = 10000; // STANDARD_COOLDOWN_MS
-        } else {
-            stateDuration = 16; // UPDATE_INTERVAL_MS
+    /**
+     * Get the index of the frame {@link #getSpriteForPiece} would return right
+     * now, or -1 if the piece's frames are not loaded. Never loads anything.
+     */
+    public static int getFrameIndex(Piece piece) {
+        SpriteSet set = spriteSets.get(piece.getId());
+        if (set == null) {
+            return -1;
+        }
+        State state = piece.getState();
+        State.PieceState ps = state.getCurrentState();
+        List<BufferedImage> frames = set.frames.get(ps.ordinal());
+        if (frames == null || frames.isEmpty()) {
+            return -1;
+        }
+        StateConfig config = piece.getType() != null ? piece.getType().getStateConfig(ps) : StateConfig.DEFAULT;
+        return frameIndex(config, state.getTimeInState(), frames.size());
+    }
+
+    /**
+     * Pick the frame to show after a piece has been in a state for elapsedMs:
+     * advance at frames_per_sec, then wrap around for looping states or hold
+     * the last frame otherwise
+     */
+    static int frameIndex(StateConfig config, long elapsedMs, int frameCount) {
+        if (frameCount <= 1 || elapsedMs <= 0 || config.getFramesPerSec() <= 0) {
+            return 0;
+        }
+        long frame = (long) (elapsedMs * config.getFramesPerSec() / 1000.0);
+        if (config.isLoop()) {
+            return (int) (frame % frameCount);
+        }
+        return (int) Math.min(frame, frameCount - 1);
+    }
+
+    private static SpriteSet spriteSetFor(String pieceId) {
+        SpriteSet set = spriteSets.get(pieceId);
+        return set != null ? set : spriteSets.computeIfAbsent(pieceId, k -> new SpriteSet());
+    }
+
+    /**
+     * Decode one sprite sequence on the loader pool unless it is already being
+     * loaded, either on its own or by the startup preload
+     */
+    private static void loadSpritesAsync(SpriteSet set, String pieceId, State.PieceState ps) {
+        CompletableFuture<PreloadStats> running = preload;
+        if (running != null && !running.isDone()) {
+            return;
         }
-        double frameDuration = (double) stateDuration / frames.size();
-        int index = (int) ((elapsed / frameDuration) % frames.size());
-        return frames.get(index);
+        int slot = ps.ordinal();
+        if (!set.loading.compareAndSet(slot, 0, 1)) {
+            return;
+        }
+        CompletableFuture
+                .supplyAsync(() -> loadSprites(pieceId, StateConfig.folderNameFor(ps)), ForkJoinPool.commonPool())
+                .whenComplete((frames, error) -> {
+                    set.frames.compareAndSet(slot, null, frames != null ? frames : Collections.emptyList());
+                    set.loading.set(slot, 0);
+                });
     }
 
     /**
-     * Map piece state to sprite folder name
+     * Timings of a sprite preload
      */
-    private static String mapStateToSpriteName(State.PieceState state) {
-        switch (state) {
-            case REST:
-                return "long_rest";
-            case SHORT_REST:
-                return "short_rest";
-            case EXHAUST:
-                return "exhaust";
-            default:
-                return state.name().toLowerCase();
+    public static final class PreloadStats {
+        private final int sequences;
+        private final int frames;
+        private final long wallMillis;
+        private final long decodeMillis;
+
+        PreloadStats(int sequences, int frames, long wallMillis, long decodeMillis) {
+            this.sequences = sequences;
+            this.frames = frames;
+            this.wallMillis = wallMillis;
+            this.decodeMillis = decodeMillis;
+        }
+
+        public int getSequences() {
+            return sequences;
+        }
+
+        public int getFrames() {
+            return frames;
+        }
+
+        /**
+         * Elapsed time from start to finish of the preload
+         */
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        /**
+         * Sum of the decode times of all frames, across all threads
+         */
+        public long getDecodeMillis() {
+            return decodeMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Preloaded " + frames + " sprite frames in " + sequences + " states in " + wallMillis
+                    + " ms (" + decodeMillis + " ms decoding across threads)";
         }
     }
 
+    /**
+     * Start decoding every sprite of every piece in the background. Safe to call
+     * more than once; later calls return the running or finished preload.
+     */
+    public static synchronized CompletableFuture<PreloadStats> preloadSprites() {
+        if (preload == null) {
+            preload = CompletableFuture.supplyAsync(() -> preloadSprites(new File(PIECES_ROOT)),
+                    ForkJoinPool.commonPool());
+            preload.thenAccept(stats -> System.out.println(stats));
+        }
+        return preload;
+    }
+
+    /**
+     * Scan piecesRoot/&lt;piece&gt;/states/&lt;state&gt;/sprites and decode all
+     * frames in parallel on the fork-join pool, filling the sprite cache
+     */
+    public static PreloadStats preloadSprites(File piecesRoot) {
+        long start = System.nanoTime();
+        List<SpriteSet> sets = new ArrayList<>();
+        List<State.PieceState> states = new ArrayList<>();
+        List<File[]> sequences = new ArrayList<>();
+        File[] pieceDirs = piecesRoot.listFiles(File::isDirectory);
+        if (pieceDirs != null) {
+            for (File pieceDir : pieceDirs) {
+                File[] stateDirs = new File(pieceDir, "states").listFiles(File::isDirectory);
+                if (stateDirs == null) {
+                    continue;
+                }
+                for (File stateDir : stateDirs) {
+                    State.PieceState state = StateConfig.stateForFolder(stateDir.getName());
+                    File[] files = listFrames(new File(stateDir, "sprites"));
+                    if (state != null && files != null) {
+                        sets.add(spriteSetFor(pieceDir.getName()));
+                        states.add(state);
+                        sequences.add(files);
+                    }
+                }
+            }
+        }
+
+        // One task per frame so large sequences are split across threads
+        List<int[]> jobs = new ArrayList<>();
+        BufferedImage[][] decoded = new BufferedImage[sequences.size()][];
+        for (int s = 0; s < sequences.size(); s++) {
+            decoded[s] = new BufferedImage[sequences.get(s).length];
+            for (int f = 0; f < decoded[s].length; f++) {
+                jobs.add(new int[] { s, f });
+            }
+        }
+        AtomicLong decodeNanos = new AtomicLong();
+        jobs.parallelStream().forEach(job -> {
+            long t0 = System.nanoTime();
+            decoded[job[0]][job[1]] = readFrame(sequences.get(job[0])[job[1]]);
+            decodeNanos.addAndGet(System.nanoTime() - t0);
+        });
+
+        int frameCount = 0;
+        for (int s = 0; s < decoded.length; s++) {
+            List<BufferedImage> frames = new ArrayList<>(decoded[s].length);
+            for (BufferedImage frame : decoded[s]) {
+                if (frame != null) {
+                    frames.add(frame);
+                }
+            }
+            frameCount += frames.size();
+            sets.get(s).frames.compareAndSet(states.get(s).ordinal(), null, frames);
+        }
+        return new PreloadStats(sequences.size(), frameCount, (System.nanoTime() - start) / 1_000_000,
+                decodeNanos.get() / 1_000_000);
+    }
+
     /**
      * Load all sprite frames for a given piece state
      * This method was moved from Game.java to separate graphics concerns
      */
     private static List<BufferedImage> loadSprites(String pieceId, String stateFolder) {
         List<BufferedImage> frames = new ArrayList<>();
-        String basePath = "c:\\הנדסאים\\CTD25\\pieces"
+        String basePath = PIECES_ROOT
                 + File.separator + pieceId
                 + File.separator + "states"
                 + File.separator + stateFolder
                 + File.separator + "sprites";
-        File dir = new File(basePath);
-        if (dir.exists() && dir.isDirectory()) {
-            File[] files = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".png"));
-            if (files != null) {
-                Arrays.sort(files);
-                for (File f : files) {
-                    try {
-                        frames.add(ImageIO.read(f));
-                    } catch (IOException e) {
-                        // skip invalid frame
-                    }
+        File[] files = listFrames(new File(basePath));
+        if (files != null) {
+            for (File f : files) {
+                BufferedImage frame = readFrame(f);
+                if (frame != null) {
+                    frames.add(frame);
                 }
             }
         }
         return frames;
     }
 
+    /**
+     * List the PNG frames of a sprites folder in order, or null if there is no
+     * such folder
+     */
+    private static File[] listFrames(File dir) {
+        if (!dir.isDirectory()) {
+            return null;
+        }
+        File[] files = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".png"));
+        if (files != null) {
+            Arrays.sort(files);
+        }
+        return files;
+    }
+
+    private static BufferedImage readFrame(File file) {
+        try {
+            return ImageIO.read(file);
+        } catch (IOException e) {
+            // skip invalid frame
+            return null;
+        }
+    }
+
     /**
      * Draw a piece with fallback graphics if sprite loading fails
      */
     public static void drawPieceFallback(Graphics2D g2d, Piece piece, int x, int y, int cellWidth, int cellHeight) {
-        String pieceId = piece.getId();
-        Color pieceColor = piece.isWhite() ? Color.WHITE : Color.BLACK;
+        drawPieceFallback(g2d, piece.getId(), piece.isWhite(), x, y, cellWidth, cellHeight);
+    }
+
+    private static void drawPieceFallback(Graphics2D g2d, String pieceId, boolean isWhite, int x, int y,
+            int cellWidth, int cellHeight) {
+        Color pieceColor = isWhite ? Color.WHITE : Color.BLACK;
 
         // Set piece color based on type
         if (pieceId.startsWith("K"))
-            pieceColor = piece.isWhite() ? Color.YELLOW : Color.ORANGE;
+            pieceColor = isWhite ? Color.YELLOW : Color.ORANGE;
         else if (pieceId.startsWith("Q"))
-            pieceColor = piece.isWhite() ? Color.PINK : Color.MAGENTA;
+            pieceColor = isWhite ? Color.PINK : Color.MAGENTA;
         else if (pieceId.startsWith("R"))
-            pieceColor = piece.isWhite() ? Color.CYAN : Color.BLUE;
+            pieceColor = isWhite ? Color.CYAN : Color.BLUE;
         else if (pieceId.startsWith("B"))
-            pieceColor = piece.isWhite() ? Color.GREEN : Color.DARK_GRAY;
+            pieceColor = isWhite ? Color.GREEN : Color.DARK_GRAY;
         else if (pieceId.startsWith("N"))
-            pieceColor = piece.isWhite() ? Color.LIGHT_GRAY : Color.GRAY;
+            pieceColor = isWhite ? Color.LIGHT_GRAY : Color.GRAY;
         else if (pieceId.startsWith("P"))
-            pieceColor = piece.isWhite() ? Color.WHITE : Color.BLACK;
+            pieceColor = isWhite ? Color.WHITE : Color.BLACK;
 
         g2d.setColor(pieceColor);
         g2d.fillOval(x + 10, y + 10, cellWidth - 20, cellHeight - 20);
@@ -139,8 +400,9 @@ public class GraphicsFactory implements IGraphicsFactory {
 
         // Draw piece ID
         g2d.setColor(Color.RED);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String displayId = pieceId.length() > 2 ? pieceId.substring(0, 2) : pieceId;
+        g2d.setFont(LABEL_FONT);
+        String displayId = pieceId.length() > 2 ? fallbackLabels.computeIfAbsent(pieceId, id -> id.substring(0, 2))
+                : pieceId;
         g2d.drawString(displayId, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
     }
 
@@ -150,17 +412,17 @@ public class GraphicsFactory implements IGraphicsFactory {
      */
     public static void drawHoverEffect(Graphics2D g2d, int x, int y, int cellWidth, int cellHeight) {
         // Draw THICK ORANGE BORDER around the piece (over the sprite)
-        g2d.setColor(new Color(255, 140, 0)); // Orange color
-        g2d.setStroke(new BasicStroke(8.0f)); // Very thick border
+        g2d.setColor(HOVER_OUTER_COLOR);
+        g2d.setStroke(HOVER_OUTER_STROKE);
         g2d.drawRect(x + 2, y + 2, cellWidth - 4, cellHeight - 4);
 
         // Draw SECOND border for even more visibility
-        g2d.setColor(new Color(255, 200, 0)); // Bright yellow-orange
-        g2d.setStroke(new BasicStroke(4.0f));
+        g2d.setColor(HOVER_INNER_COLOR);
+        g2d.setStroke(HOVER_INNER_STROKE);
         g2d.drawRect(x + 6, y + 6, cellWidth - 12, cellHeight - 12);
 
         // Reset stroke
-        g2d.setStroke(new BasicStroke(1.0f));
+        g2d.setStroke(THIN_STROKE);
     }
 
     /**
@@ -169,16 +431,15 @@ public class GraphicsFactory implements IGraphicsFactory {
      */
     public static void drawSelectionBorder(Graphics2D g2d, int x, int y, int cellWidth, int cellHeight,
             boolean isWhite) {
+        g2d.setStroke(SELECTION_STROKE);
         if (isWhite) {
             g2d.setColor(Color.CYAN);
-            g2d.setStroke(new BasicStroke(6));
             g2d.drawRect(x + 1, y + 1, cellWidth - 2, cellHeight - 2);
         } else {
-            g2d.setColor(new Color(255, 100, 0)); // Different orange for selection
-            g2d.setStroke(new BasicStroke(6));
+            g2d.setColor(BLACK_SELECTION_COLOR);
             g2d.drawRect(x + 3, y + 3, cellWidth - 6, cellHeight - 6);
         }
-        g2d.setStroke(new BasicStroke(1)); // Reset stroke
+        g2d.setStroke(THIN_STROKE); // Reset stroke
     }
 
     /**
@@ -191,47 +452,84 @@ public class GraphicsFactory implements IGraphicsFactory {
             boolean whiteInMovementMode, boolean blackInMovementMode,
             double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY,
             int panelWidth, int panelHeight) {
-        // Draw board background
-        g2d.drawImage(board.getImage().getImage(), 0, 0, panelWidth, panelHeight, null);
-
-        // Calculate cell dimensions
-        int cellWidth = panelWidth / board.getWidthCells();
-        int cellHeight = panelHeight / board.getHeightCells();
-
-        // Draw all pieces
-        drawAllPieces(g2d, pieces, cellWidth, cellHeight,
+        drawGameBoard(g2d, board, RenderSnapshot.capture(pieces,
                 hoveredPieceWhite, hoveredPieceBlack,
                 selectedPieceWhite, selectedPieceBlack,
                 whiteInMovementMode, blackInMovementMode,
-                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY);
+                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY),
+                panelWidth, panelHeight);
+    }
+
+    /**
+     * Draw the complete board from a render snapshot. Reads nothing but the
+     * snapshot, so it is safe to call while the simulation keeps running.
+     */
+    public static void drawGameBoard(Graphics2D g2d, Board board, RenderSnapshot snapshot,
+            int panelWidth, int panelHeight) {
+        drawGameBoard(g2d, board, snapshot, BoardGeometry.ofCells(board.getWidthCells(), board.getHeightCells(),
+                panelWidth / board.getWidthCells(), panelHeight / board.getHeightCells()));
+    }
+
+    /**
+     * Draw the complete board from a render snapshot with its top-left corner
+     * at the current origin, using the cell sizes of the given geometry
+     */
+    public static void drawGameBoard(Graphics2D g2d, Board board, RenderSnapshot snapshot, BoardGeometry geometry) {
+        // Draw board background from the cached layer
+        drawBoardLayer(g2d, board.getImage().getImage(), geometry.getBoardWidth(), geometry.getBoardHeight());
+
+        // Draw all pieces
+        drawAllPieces(g2d, snapshot, geometry);
+    }
+
+    /**
+     * Draw the board image at the given size through a cached layer, scaling it
+     * only when the size or the image changes
+     */
+    static void drawBoardLayer(Graphics2D g2d, BufferedImage boardImage, int width, int height) {
+        synchronized (boardLayer) {
+            if (boardImage != boardLayerSource) {
+                boardLayerSource = boardImage;
+                boardLayer.invalidate();
+            }
+            boardLayer.draw(g2d, 0, 0, width, height);
+        }
     }
 
     /**
      * Draw all pieces with their sprites, hover effects, and selection borders
      */
-    private static void drawAllPieces(Graphics2D g2d, Map<String, Piece> pieces, int cellWidth, int cellHeight,
-            String hoveredPieceWhite, String hoveredPieceBlack,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY) {
-        // FIRST: Draw all pieces with sprites and hover effects
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            String key = entry.getKey();
-            Piece piece = entry.getValue();
+    private static void drawAllPieces(Graphics2D g2d, RenderSnapshot snapshot, BoardGeometry geometry) {
+        int cellWidth = geometry.getCellWidth();
+        int cellHeight = geometry.getCellHeight();
+        SpriteAtlas atlas = getSpriteAtlas(cellWidth - 10, cellHeight - 10);
+
+        // Only the damaged area is repainted; skip pieces outside it
+        Rectangle clip = g2d.getClipBounds();
 
+        // FIRST: Draw all pieces with sprites and hover effects
+        for (int i = 0; i < snapshot.getPieceCount(); i++) {
             // Calculate piece position in pixels
-            int x = (int) (piece.getX() * cellWidth);
-            int y = (int) (piece.getY() * cellHeight);
+            int x = geometry.toPixelX(snapshot.getX(i));
+            int y = geometry.toPixelY(snapshot.getY(i));
+            if (clip != null && !clip.intersects(x, y, cellWidth, cellHeight)) {
+                continue;
+            }
 
             // Check if this piece is hovered (but not if it's already selected)
-            boolean isHovered = (key.equals(hoveredPieceWhite) && !key.equals(selectedPieceWhite))
-                    || (key.equals(hoveredPieceBlack) && !key.equals(selectedPieceBlack));
+            boolean isHovered = (i == snapshot.getHoveredWhite() && i != snapshot.getSelectedWhite())
+                    || (i == snapshot.getHoveredBlack() && i != snapshot.getSelectedBlack());
 
             // Draw sprite
-            BufferedImage spriteImage = getSpriteForPiece(piece);
+            BufferedImage spriteImage = getSprite(snapshot.getId(i), snapshot.getType(i), snapshot.getState(i),
+                    snapshot.getTimeInState(i));
             if (spriteImage != null) {
-                // Draw real sprite image first
-                g2d.drawImage(spriteImage, x + 5, y + 5, cellWidth - 10, cellHeight - 10, null);
+                // Draw real sprite image first, scaling it only until the atlas for this size is ready
+                if (atlas != null) {
+                    atlas.draw(g2d, spriteImage, x + 5, y + 5);
+                } else {
+                    g2d.drawImage(spriteImage, x + 5, y + 5, cellWidth - 10, cellHeight - 10, null);
+                }
 
                 // THEN draw hover border OVER the sprite for maximum visibility
                 if (isHovered) {
@@ -239,67 +537,103 @@ public class GraphicsFactory implements IGraphicsFactory {
                 }
             } else {
                 // Fallback to colored circles if sprite loading fails
-                drawPieceFallback(g2d, piece, x, y, cellWidth, cellHeight);
+                drawPieceFallback(g2d, snapshot.getId(i), snapshot.isWhite(i), x, y, cellWidth, cellHeight);
             }
 
             // Draw remaining rest time for any state with non-zero cooldown
-            drawRemainingTime(g2d, piece, x, y, cellWidth, cellHeight);
+            drawRemainingTime(g2d, snapshot.getRemainingStateTime(i), x, y, cellWidth, cellHeight);
         }
 
         // SECOND: Draw selection borders
-        drawSelectionBorders(g2d, pieces, cellWidth, cellHeight, selectedPieceWhite, selectedPieceBlack,
-                whiteInMovementMode, blackInMovementMode,
-                whiteVisualX, whiteVisualY, blackVisualX, blackVisualY);
+        drawSelectionBorders(g2d, snapshot, geometry);
+    }
+
+    /**
+     * Get the sprite atlas for a sprite size. When the size changes (the board
+     * was resized) the new atlas is built in the background and null is
+     * returned until it is ready, so the paint thread never rescales the whole
+     * sprite set. Also returns null for sizes too small to draw.
+     */
+    static SpriteAtlas getSpriteAtlas(int spriteWidth, int spriteHeight) {
+        if (spriteWidth <= 0 || spriteHeight <= 0) {
+            return null;
+        }
+        SpriteAtlas atlas = spriteAtlas;
+        if (atlas != null && atlas.matches(spriteWidth, spriteHeight)) {
+            return atlas;
+        }
+        requestSpriteAtlas(spriteWidth, spriteHeight);
+        return null;
+    }
+
+    private static synchronized void requestSpriteAtlas(int spriteWidth, int spriteHeight) {
+        if (pendingAtlas != null && pendingAtlas.matches(spriteWidth, spriteHeight)) {
+            return; // Already being built
+        }
+        SpriteAtlas next = new SpriteAtlas(spriteWidth, spriteHeight);
+        pendingAtlas = next;
+        CompletableFuture.runAsync(() -> {
+            // Pack every frame loaded so far so the first frame at the new size needs no work
+            for (SpriteSet set : spriteSets.values()) {
+                for (int i = 0; i < STATES.length; i++) {
+                    List<BufferedImage> frames = set.frames.get(i);
+                    if (frames != null) {
+                        next.addFrames(frames);
+                    }
+                }
+            }
+            synchronized (GraphicsFactory.class) {
+                // A later resize may have superseded this atlas
+                if (pendingAtlas == next) {
+                    spriteAtlas = next;
+                    pendingAtlas = null;
+                }
+            }
+        }, ForkJoinPool.commonPool());
     }
 
     /**
      * Draw remaining time for pieces in cooldown states
      */
-    private static void drawRemainingTime(Graphics2D g2d, Piece piece, int x, int y, int cellWidth, int cellHeight) {
-        long remMs = piece.getState().getRemainingStateTime();
+    private static void drawRemainingTime(Graphics2D g2d, long remMs, int x, int y, int cellWidth, int cellHeight) {
         if (remMs > 0) {
-            String remText = String.format("%.1f", remMs / 1000.0);
-            g2d.setColor(new Color(0, 0, 255, 200));
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
-            g2d.drawString(remText, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
+            // Seconds with one decimal, drawn from pre-rendered glyphs
+            long tenths = (remMs + 50) / 100;
+            COOLDOWN_GLYPHS.drawTenths(g2d, tenths, x + cellWidth / 2 - 10, y + cellHeight / 2 + 5);
         }
     }
 
     /**
      * Draw selection borders for selected pieces
      */
-    private static void drawSelectionBorders(Graphics2D g2d, Map<String, Piece> pieces, int cellWidth, int cellHeight,
-            String selectedPieceWhite, String selectedPieceBlack,
-            boolean whiteInMovementMode, boolean blackInMovementMode,
-            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY) {
-        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
-            String key = entry.getKey();
-            Piece piece = entry.getValue();
-
-            // Calculate piece position - use visual position if in movement mode, otherwise
-            // real position
-            int x, y;
-            if (key.equals(selectedPieceWhite) && whiteInMovementMode && whiteVisualX >= 0) {
-                x = (int) (whiteVisualX * cellWidth);
-                y = (int) (whiteVisualY * cellHeight);
-            } else if (key.equals(selectedPieceBlack) && blackInMovementMode && blackVisualX >= 0) {
-                x = (int) (blackVisualX * cellWidth);
-                y = (int) (blackVisualY * cellHeight);
-            } else {
-                x = (int) (piece.getX() * cellWidth);
-                y = (int) (piece.getY() * cellHeight);
-            }
+    private static void drawSelectionBorders(Graphics2D g2d, RenderSnapshot snapshot, BoardGeometry geometry) {
+        // Draw selection borders based on the actual piece color property, not its ID
+        // White player can only highlight white pieces
+        int white = snapshot.getSelectedWhite();
+        if (white >= 0 && snapshot.isWhite(white)) {
+            drawSelectionBorderAt(g2d, snapshot, white, snapshot.isWhiteInMovementMode(),
+                    snapshot.getWhiteVisualX(), snapshot.getWhiteVisualY(), geometry, true);
+        }
 
-            // Draw selection borders based on the actual piece color property, not its ID
-            // White player can only highlight white pieces
-            if (key.equals(selectedPieceWhite) && piece.isWhite()) {
-                drawSelectionBorder(g2d, x, y, cellWidth, cellHeight, true);
-            }
+        // Black player can only highlight black pieces
+        int black = snapshot.getSelectedBlack();
+        if (black >= 0 && !snapshot.isWhite(black)) {
+            drawSelectionBorderAt(g2d, snapshot, black, snapshot.isBlackInMovementMode(),
+                    snapshot.getBlackVisualX(), snapshot.getBlackVisualY(), geometry, false);
+        }
+    }
 
-            // Black player can only highlight black pieces
-            if (key.equals(selectedPieceBlack) && !piece.isWhite()) {
-                drawSelectionBorder(g2d, x, y, cellWidth, cellHeight, false);
-            }
+    private static void drawSelectionBorderAt(Graphics2D g2d, RenderSnapshot snapshot, int index,
+            boolean inMovementMode, double visualX, double visualY, BoardGeometry geometry, boolean isWhite) {
+        // Use visual position if in movement mode, otherwise real position
+        int x, y;
+        if (inMovementMode && visualX >= 0) {
+            x = geometry.toPixelX(visualX);
+            y = geometry.toPixelY(visualY);
+        } else {
+            x = geometry.toPixelX(snapshot.getX(index));
+            y = geometry.toPixelY(snapshot.getY(index));
         }
+        drawSelectionBorder(g2d, x, y, geometry.getCellWidth(), geometry.getCellHeight(), isWhite);
     }
 }
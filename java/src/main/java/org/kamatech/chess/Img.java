@@ -14,12 +14,16 @@ import java.util.List;
 /**
  * Lightweight image‑utility class using only standard JDK APIs.
  * Supports animations and mock mode for testing.
+ * Clones share pixel data; an image is copied only when drawOn or putText is
+ * about to modify one that another Img may still be using.
  */
 public class Img implements Cloneable {
     private BufferedImage img;
+    private boolean imgShared = false; // img may be referenced by a clone, copy before writing
 
     // Animation support
     private List<BufferedImage> frames;
+    private boolean framesShared = false; // Frame images are shared with a clone
     private int currentFrame = 0;
     private long lastFrameTime = 0;
     private long frameDuration = 100; // milliseconds per frame
@@ -50,6 +54,7 @@ public class Img implements Cloneable {
      */
     public void setImage(BufferedImage image) {
         this.img = image;
+        this.imgShared = false;
         if (mockMode) {
             operations.add("SET_IMAGE: " + (image != null ? image.getWidth() + "x" + image.getHeight() : "null"));
         }
@@ -60,6 +65,7 @@ public class Img implements Cloneable {
         frames.add(frame);
         if (img == null) {
             img = frame; // Set first frame as current
+            imgShared = false;
         }
     }
 
@@ -88,6 +94,7 @@ public class Img implements Cloneable {
             if (currentTime - lastFrameTime > frameDuration) {
                 currentFrame = (currentFrame + 1) % frames.size();
                 img = frames.get(currentFrame);
+                imgShared = framesShared;
                 lastFrameTime = currentTime;
             }
         }
@@ -116,9 +123,11 @@ public class Img implements Cloneable {
             lastLoadedPath = path;
             // Create a dummy image for mock mode
             img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+            imgShared = false;
             return this;
         }
 
+        imgShared = false;
         try {
             img = ImageIO.read(new File(path));
         } catch (IOException e) {
@@ -180,6 +189,7 @@ public class Img implements Cloneable {
                 || y + img.getHeight() > other.img.getHeight())
             throw new IllegalArgumentException("Patch exceeds destination bounds.");
 
+        other.ensureWritable();
         Graphics2D g = other.img.createGraphics();
         g.setComposite(AlphaComposite.SrcOver);
         g.drawImage(img, x, y, null);
@@ -197,6 +207,7 @@ public class Img implements Cloneable {
         if (img == null)
             throw new IllegalStateException("Image not loaded.");
 
+        ensureWritable();
         Graphics2D g = img.createGraphics();
         g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
                 RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -226,28 +237,46 @@ public class Img implements Cloneable {
         });
     }
 
+    /**
+     * Whether the current image may be shared with another Img, so the next
+     * drawOn or putText onto this one has to copy it first
+     */
+    public boolean isImageShared() {
+        return imgShared;
+    }
+
+    /**
+     * Give this Img its own copy of the current image if it may be shared
+     */
+    private void ensureWritable() {
+        if (imgShared && img != null) {
+            ColorModel cm = img.getColorModel();
+            WritableRaster raster = img.copyData(null);
+            img = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+            imgShared = false;
+        }
+    }
+
+    /**
+     * Clone without copying pixels: both images share the current image and
+     * animation frames until one of them is drawn on
+     */
     @Override
     public Img clone() {
         try {
             Img cloned = (Img) super.clone();
 
-            // Clone the main image
+            // Share the main image; whichever side writes first copies it
             if (this.img != null) {
-                ColorModel cm = this.img.getColorModel();
-                boolean isAlphaPremultiplied = cm.isAlphaPremultiplied();
-                WritableRaster raster = this.img.copyData(null);
-                cloned.img = new BufferedImage(cm, raster, isAlphaPremultiplied, null);
+                this.imgShared = true;
+                cloned.imgShared = true;
             }
 
-            // Clone animation frames
-            cloned.frames = new ArrayList<>();
-            for (BufferedImage frame : this.frames) {
-                if (frame != null) {
-                    ColorModel cm = frame.getColorModel();
-                    boolean isAlphaPremultiplied = cm.isAlphaPremultiplied();
-                    WritableRaster raster = frame.copyData(null);
-                    cloned.frames.add(new BufferedImage(cm, raster, isAlphaPremultiplied, null));
-                }
+            // Share frame images; only the list is copied so adding frames stays independent
+            cloned.frames = new ArrayList<>(this.frames);
+            if (!this.frames.isEmpty()) {
+                this.framesShared = true;
+                cloned.framesShared = true;
             }
 
             // Clone operations list for mock mode
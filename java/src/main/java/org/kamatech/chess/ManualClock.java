@@ -0,0 +1,41 @@
+package org.kamatech.chess;
+
+/**
+ * Clock that only moves when told to. Lets tests and headless simulations run
+ * the game faster than real time and fully deterministically.
+ */
+public class ManualClock implements GameClock {
+    private volatile long nanos;
+
+    public ManualClock() {
+        this(0);
+    }
+
+    public ManualClock(long startMillis) {
+        this.nanos = startMillis * 1_000_000L;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    @Override
+    public long millis() {
+        return nanos / 1_000_000L;
+    }
+
+    /**
+     * Move time forward by the given number of milliseconds
+     */
+    public void advanceMillis(long millis) {
+        advanceNanos(millis * 1_000_000L);
+    }
+
+    /**
+     * Move time forward by the given number of nanoseconds
+     */
+    public synchronized void advanceNanos(long delta) {
+        nanos += delta;
+    }
+}
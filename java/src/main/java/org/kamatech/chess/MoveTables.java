@@ -0,0 +1,318 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Move generation tables for one {@link Moves} definition on one board size,
+ * built once at load time. The deltas are classified into slider rays (a
+ * direction whose 1, 2, ... n multiples are all listed, e.g. a rook's 1,0 ..
+ * 7,0) and leapers (everything else, e.g. a knight's 2,1). For every cell it
+ * stores the reachable targets as bitboard masks, split by qualifier, and for
+ * every delta whether it runs along a ray. Ray moves walk the few cells in
+ * between against occupancy, so memory grows with the cell count rather than
+ * its cube and large custom boards stay cheap.
+ *
+ * Checking or generating moves is then a handful of mask operations against
+ * {@link Bitboards} occupancy; cells use the same row * width + col layout.
+ */
+public final class MoveTables {
+    private final int widthCells;
+    private final int heightCells;
+    private final int cellCount;
+    private final int words;
+
+    // Targets per cell ignoring blockers: [cell * words + word]
+    private final long[] plainTargets; // Unqualified "dx,dy" moves
+    private final long[] captureTargets; // ":capture" moves, only onto an enemy
+    private final long[] quietTargets; // ":non_capture" moves, only onto an empty cell
+    private final long[] firstTargets; // ":first_move" moves, only onto an empty cell
+    // Per delta: whether the cells between from and to must be empty,
+    // [(dy + heightCells - 1) * (2 * widthCells - 1) + dx + widthCells - 1]
+    private final boolean[] rayDeltas;
+    private final boolean[] listedDeltas; // Per delta, same layout: listed with any qualifier
+
+    private final int[] sliderRays; // Packed (dx, dy, length) per ray
+    private final int[] leapers; // Packed (dx, dy, flags) per leaper delta
+
+    private MoveTables(int widthCells, int heightCells, int[] vectors) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.cellCount = widthCells * heightCells;
+        this.words = (cellCount + 63) / 64;
+        this.plainTargets = new long[cellCount * words];
+        this.captureTargets = new long[cellCount * words];
+        this.quietTargets = new long[cellCount * words];
+        this.firstTargets = new long[cellCount * words];
+        this.rayDeltas = new boolean[(2 * widthCells - 1) * (2 * heightCells - 1)];
+        this.listedDeltas = new boolean[rayDeltas.length];
+
+        // Classify: a vector k * (ux, uy) with k > 1 is on a ray when every
+        // shorter multiple in the same direction is listed too
+        List<int[]> rays = new ArrayList<>();
+        List<int[]> jumps = new ArrayList<>();
+        for (int i = 0; i < vectors.length; i += 3) {
+            int dx = vectors[i];
+            int dy = vectors[i + 1];
+            int steps = gcd(Math.abs(dx), Math.abs(dy));
+            if (steps == 0) {
+                continue; // Null move
+            }
+            int ux = dx / steps;
+            int uy = dy / steps;
+            boolean onRay = steps > 1;
+            for (int k = 1; k < steps && onRay; k++) {
+                onRay = contains(vectors, ux * k, uy * k);
+            }
+            if (onRay) {
+                addRay(rays, ux, uy, steps);
+            } else if (!(steps == 1 && isRayStart(vectors, ux, uy))) {
+                jumps.add(new int[] { dx, dy, vectors[i + 2] });
+            }
+            if (Math.abs(dx) < widthCells && Math.abs(dy) < heightCells) {
+                listedDeltas[deltaIndex(dx, dy)] = true;
+                rayDeltas[deltaIndex(dx, dy)] |= onRay;
+            }
+            buildTargets(dx, dy, vectors[i + 2]);
+        }
+        this.sliderRays = pack(rays);
+        this.leapers = pack(jumps);
+    }
+
+    /**
+     * Build the tables for a moves definition on a board. With
+     * {@code mirrored}, every unqualified delta is also allowed in reverse, as
+     * the engine has always matched them.
+     */
+    public static MoveTables build(Moves moves, int widthCells, int heightCells, boolean mirrored) {
+        int count = moves != null ? moves.getVectorCount() : 0;
+        int[] vectors = new int[count * 3 * (mirrored ? 2 : 1)];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            vectors[n++] = moves.getVectorDx(i);
+            vectors[n++] = moves.getVectorDy(i);
+            vectors[n++] = moves.getVectorFlags(i);
+        }
+        if (mirrored) {
+            for (int i = 0; i < count; i++) {
+                if (moves.getVectorFlags(i) == Moves.PLAIN && !contains(vectors, -moves.getVectorDx(i),
+                        -moves.getVectorDy(i))) {
+                    vectors[n++] = -moves.getVectorDx(i);
+                    vectors[n++] = -moves.getVectorDy(i);
+                    vectors[n++] = Moves.PLAIN;
+                }
+            }
+        }
+        return new MoveTables(widthCells, heightCells, java.util.Arrays.copyOf(vectors, n));
+    }
+
+    private void buildTargets(int dx, int dy, int flags) {
+        for (int row = 0; row < heightCells; row++) {
+            for (int col = 0; col < widthCells; col++) {
+                int toCol = col + dx;
+                int toRow = row + dy;
+                if (toCol < 0 || toCol >= widthCells || toRow < 0 || toRow >= heightCells) {
+                    continue;
+                }
+                int from = row * widthCells + col;
+                int to = toRow * widthCells + toCol;
+                if ((flags & Moves.PLAIN) != 0) {
+                    setBit(plainTargets, from * words, to);
+                }
+                if ((flags & Moves.CAPTURE) != 0) {
+                    setBit(captureTargets, from * words, to);
+                }
+                if ((flags & Moves.NON_CAPTURE) != 0) {
+                    setBit(quietTargets, from * words, to);
+                }
+                if ((flags & Moves.FIRST_MOVE) != 0) {
+                    setBit(firstTargets, from * words, to);
+                }
+            }
+        }
+    }
+
+    private int deltaIndex(int dx, int dy) {
+        return (dy + heightCells - 1) * (2 * widthCells - 1) + dx + widthCells - 1;
+    }
+
+    private static void setBit(long[] masks, int base, int cell) {
+        masks[base + (cell >>> 6)] |= 1L << (cell & 63);
+    }
+
+    private static boolean contains(int[] vectors, int dx, int dy) {
+        for (int i = 0; i < vectors.length; i += 3) {
+            if (vectors[i] == dx && vectors[i + 1] == dy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRayStart(int[] vectors, int ux, int uy) {
+        return contains(vectors, ux * 2, uy * 2);
+    }
+
+    private static void addRay(List<int[]> rays, int ux, int uy, int length) {
+        for (int[] ray : rays) {
+            if (ray[0] == ux && ray[1] == uy) {
+                ray[2] = Math.max(ray[2], length);
+                return;
+            }
+        }
+        rays.add(new int[] { ux, uy, length });
+    }
+
+    private static int[] pack(List<int[]> entries) {
+        int[] packed = new int[entries.size() * 3];
+        for (int i = 0; i < entries.size(); i++) {
+            System.arraycopy(entries.get(i), 0, packed, i * 3, 3);
+        }
+        return packed;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /* ----------- Queries ----------- */
+
+    public int getSliderCount() {
+        return sliderRays.length / 3;
+    }
+
+    public int getSliderDx(int index) {
+        return sliderRays[index * 3];
+    }
+
+    public int getSliderDy(int index) {
+        return sliderRays[index * 3 + 1];
+    }
+
+    /**
+     * Longest listed multiple along a slider ray
+     */
+    public int getSliderLength(int index) {
+        return sliderRays[index * 3 + 2];
+    }
+
+    public int getLeaperCount() {
+        return leapers.length / 3;
+    }
+
+    /**
+     * Whether a delta is listed at all (with any qualifier, or mirrored), so
+     * the tables rather than a caller's defaults decide whether it is legal
+     */
+    public boolean isListed(int dx, int dy) {
+        if (Math.abs(dx) >= widthCells || Math.abs(dy) >= heightCells) {
+            return false;
+        }
+        return listedDeltas[deltaIndex(dx, dy)];
+    }
+
+    /**
+     * Whether no move is listed at all
+     */
+    public boolean isEmpty() {
+        return sliderRays.length == 0 && leapers.length == 0;
+    }
+
+    /**
+     * Whether a piece of the given color may move between two cells: the
+     * target must be listed for the current occupancy and every cell in
+     * between must be empty. {@code firstMove} enables ":first_move" deltas.
+     */
+    public boolean isLegal(int fromCol, int fromRow, int toCol, int toRow, Bitboards boards, boolean white,
+            boolean firstMove) {
+        if (!inBounds(fromCol, fromRow) || !inBounds(toCol, toRow) || boards.isOccupied(toCol, toRow, white)) {
+            return false;
+        }
+        int from = fromRow * widthCells + fromCol;
+        int to = toRow * widthCells + toCol;
+        int base = from * words + (to >>> 6);
+        long bit = 1L << (to & 63);
+        boolean enemy = boards.isOccupied(toCol, toRow, !white);
+        boolean listed = (plainTargets[base] & bit) != 0
+                || (enemy && (captureTargets[base] & bit) != 0)
+                || (!enemy && (quietTargets[base] & bit) != 0)
+                || (!enemy && firstMove && (firstTargets[base] & bit) != 0);
+        return listed && isPathClear(from, to, boards.occupancyWords());
+    }
+
+    /**
+     * Fill {@code out} (at least {@link Bitboards#getWords()} long) with every
+     * cell a piece of the given color can move to from a cell, and return how
+     * many there are
+     */
+    public int legalTargets(int col, int row, Bitboards boards, boolean white, boolean firstMove, long[] out) {
+        return legalTargets(col, row, boards.occupancyWords(), white, firstMove, out);
+    }
+
+    /**
+     * Same as {@link #legalTargets(int, int, Bitboards, boolean, boolean, long[])}
+     * for a raw occupancy array laid out as [color * words + word], color 0 =
+     * white, such as a search position's. Both overloads share this code.
+     */
+    public int legalTargets(int col, int row, long[] occupancy, boolean white, boolean firstMove, long[] out) {
+        java.util.Arrays.fill(out, 0, words, 0);
+        if (!inBounds(col, row)) {
+            return 0;
+        }
+        int from = row * widthCells + col;
+        int ownBase = white ? 0 : words;
+        int enemyBase = white ? words : 0;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long own = occupancy[ownBase + w];
+            long enemy = occupancy[enemyBase + w];
+            long empty = ~(own | enemy);
+            int base = from * words + w;
+            long candidates = plainTargets[base]
+                    | (captureTargets[base] & enemy)
+                    | (quietTargets[base] & empty)
+                    | (firstMove ? firstTargets[base] & empty : 0);
+            candidates &= ~own;
+            long legal = 0;
+            while (candidates != 0) {
+                long bit = candidates & -candidates;
+                candidates ^= bit;
+                int to = w * 64 + Long.numberOfTrailingZeros(bit);
+                if (isPathClear(from, to, occupancy)) {
+                    legal |= bit;
+                }
+            }
+            out[w] = legal;
+            count += Long.bitCount(legal);
+        }
+        return count;
+    }
+
+    /**
+     * Whether every cell strictly between two cells of a ray move is empty;
+     * always true for leaper moves
+     */
+    private boolean isPathClear(int from, int to, long[] occupancy) {
+        int fromCol = from % widthCells;
+        int fromRow = from / widthCells;
+        int dx = to % widthCells - fromCol;
+        int dy = to / widthCells - fromRow;
+        if (!rayDeltas[deltaIndex(dx, dy)]) {
+            return true;
+        }
+        int steps = gcd(Math.abs(dx), Math.abs(dy));
+        int step = (dy / steps) * widthCells + dx / steps;
+        for (int cell = from + step, k = 1; k < steps; k++, cell += step) {
+            int word = cell >>> 6;
+            long bit = 1L << (cell & 63);
+            if (((occupancy[word] | occupancy[words + word]) & bit) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean inBounds(int col, int row) {
+        return col >= 0 && col < widthCells && row >= 0 && row < heightCells;
+    }
+}
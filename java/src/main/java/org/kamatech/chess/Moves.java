@@ -3,12 +3,38 @@ package org.kamatech.chess;
 import java.util.List;
 
 public class Moves implements Cloneable {
+    // Qualifier flags attached to each compiled move vector
+    public static final int PLAIN = 1; // "dx,dy" without qualifier
+    public static final int FIRST_MOVE = 2; // "dx,dy:first_move" or "dx,dy:1st"
+    public static final int CAPTURE = 4; // "dx,dy:capture"
+    public static final int NON_CAPTURE = 8; // "dx,dy:non_capture"
+    public static final int OTHER_QUALIFIER = 16; // Any other ":qualifier"
+
     private final List<String> allowedMoves;
     private final long cooldown;
 
+    // Compiled form of allowedMoves, built once at load time
+    private final int radius; // Largest |dx| or |dy| of any move
+    private final int span; // Side of the delta grid: 2 * radius + 1
+    private final byte[] deltaFlags; // Qualifier flags per (dx, dy) cell of the delta grid
+    private final int[] vectors; // Packed (dx, dy, flags) triples in file order
+
     public Moves(List<String> allowedMoves, long cooldown) {
         this.allowedMoves = allowedMoves;
         this.cooldown = cooldown;
+
+        int[] parsed = compile(allowedMoves);
+        int maxDelta = 0;
+        for (int i = 0; i < parsed.length; i += 3) {
+            maxDelta = Math.max(maxDelta, Math.max(Math.abs(parsed[i]), Math.abs(parsed[i + 1])));
+        }
+        this.radius = maxDelta;
+        this.span = 2 * maxDelta + 1;
+        this.deltaFlags = new byte[span * span];
+        for (int i = 0; i < parsed.length; i += 3) {
+            deltaFlags[deltaIndex(parsed[i], parsed[i + 1])] |= (byte) parsed[i + 2];
+        }
+        this.vectors = parsed;
     }
 
     public List<String> getAllowedMoves() {
@@ -19,9 +45,103 @@ public class Moves implements Cloneable {
         return cooldown;
     }
 
+    /**
+     * Check whether an unqualified "dx,dy" entry exists for this delta
+     */
+    public boolean allows(int dx, int dy) {
+        return (getFlags(dx, dy) & PLAIN) != 0;
+    }
+
+    /**
+     * Get all qualifier flags declared for a delta, or 0 if the delta is not
+     * listed
+     */
+    public int getFlags(int dx, int dy) {
+        if (dx < -radius || dx > radius || dy < -radius || dy > radius) {
+            return 0;
+        }
+        return deltaFlags[deltaIndex(dx, dy)];
+    }
+
+    /**
+     * Number of compiled move vectors, including qualified ones
+     */
+    public int getVectorCount() {
+        return vectors.length / 3;
+    }
+
+    public int getVectorDx(int index) {
+        return vectors[index * 3];
+    }
+
+    public int getVectorDy(int index) {
+        return vectors[index * 3 + 1];
+    }
+
+    public int getVectorFlags(int index) {
+        return vectors[index * 3 + 2];
+    }
+
+    private int deltaIndex(int dx, int dy) {
+        return (dy + radius) * span + (dx + radius);
+    }
+
+    /**
+     * Parse move strings of the form "dx,dy" or "dx,dy:qualifier" into packed
+     * (dx, dy, flags) triples. Every moves.txt uses this order: column delta
+     * first, then row delta, with negative dy towards row 0 (white's forward).
+     * Malformed entries are skipped.
+     */
+    private static int[] compile(List<String> moveStrings) {
+        if (moveStrings == null) {
+            return new int[0];
+        }
+        int[] packed = new int[moveStrings.size() * 3];
+        int count = 0;
+        for (String moveStr : moveStrings) {
+            if (moveStr == null || moveStr.trim().isEmpty())
+                continue;
+
+            String vector = moveStr;
+            int flags = PLAIN;
+            int colon = moveStr.indexOf(':');
+            if (colon >= 0) {
+                vector = moveStr.substring(0, colon);
+                flags = qualifierFlag(moveStr.substring(colon + 1).trim());
+            }
+
+            try {
+                String[] parts = vector.split(",");
+                if (parts.length >= 2) {
+                    packed[count++] = Integer.parseInt(parts[0].trim());
+                    packed[count++] = Integer.parseInt(parts[1].trim());
+                    packed[count++] = flags;
+                }
+            } catch (NumberFormatException e) {
+                // Invalid move format, skip
+            }
+        }
+        return java.util.Arrays.copyOf(packed, count);
+    }
+
+    private static int qualifierFlag(String qualifier) {
+        switch (qualifier.toLowerCase()) {
+            case "first_move":
+            case "1st":
+                return FIRST_MOVE;
+            case "capture":
+                return CAPTURE;
+            case "non_capture":
+                return NON_CAPTURE;
+            default:
+                return OTHER_QUALIFIER;
+        }
+    }
+
     @Override
     public Moves clone() {
         try {
+            // Compiled tables are immutable and can be shared between clones
             return (Moves) super.clone();
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Clone not supported", e);
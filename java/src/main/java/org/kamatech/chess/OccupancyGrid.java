@@ -0,0 +1,104 @@
+package org.kamatech.chess;
+
+/**
+ * Dense cell-indexed view of which piece rests on which board cell.
+ * Replaces linear scans over the piece map with a single array lookup.
+ * A piece is only indexed while it sits on a cell (within a small tolerance),
+ * so pieces in the middle of an animation are not reported as occupying a
+ * cell, matching the old distance-based lookup.
+ */
+public class OccupancyGrid {
+    private static final double CELL_TOLERANCE = 0.1;
+
+    private final int widthCells;
+    private final int heightCells;
+    private final Piece[] cells;
+
+    public OccupancyGrid(int widthCells, int heightCells) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.cells = new Piece[widthCells * heightCells];
+    }
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+
+    /**
+     * Get the piece resting on a cell, or null if the cell is empty or off the
+     * board
+     */
+    public Piece get(int col, int row) {
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return null;
+        }
+        return cells[row * widthCells + col];
+    }
+
+    /**
+     * Find the piece at board coordinates, accepting positions that are within
+     * the cell tolerance of a cell origin
+     */
+    public Piece findAt(double x, double y) {
+        int index = cellIndexOf(x, y);
+        return index < 0 ? null : cells[index];
+    }
+
+    /**
+     * Index a piece at its current position. Pieces that are between cells or
+     * off the board are not indexed. A cell holds one piece, so callers must
+     * capture or refuse before landing on an occupied cell.
+     *
+     * @throws IllegalStateException if another piece already holds the cell
+     */
+    public void place(Piece piece) {
+        int index = cellIndexOf(piece.getX(), piece.getY());
+        if (index < 0) {
+            return;
+        }
+        Piece current = cells[index];
+        if (current != null && current != piece) {
+            throw new IllegalStateException("Cell (" + index % widthCells + "," + index / widthCells
+                    + ") already holds " + current.getId() + "; cannot place " + piece.getId());
+        }
+        cells[index] = piece;
+    }
+
+    /**
+     * Remove a piece from the cell matching its current position. Must be called
+     * before the piece position changes.
+     */
+    public void remove(Piece piece) {
+        int index = cellIndexOf(piece.getX(), piece.getY());
+        if (index >= 0 && cells[index] == piece) {
+            cells[index] = null;
+        }
+    }
+
+    /**
+     * Remove all pieces from the grid
+     */
+    public void clear() {
+        java.util.Arrays.fill(cells, null);
+    }
+
+    /**
+     * Convert board coordinates to a cell index, or -1 if the position is not on
+     * a cell
+     */
+    private int cellIndexOf(double x, double y) {
+        long col = Math.round(x);
+        long row = Math.round(y);
+        if (Math.abs(x - col) > CELL_TOLERANCE || Math.abs(y - row) > CELL_TOLERANCE) {
+            return -1;
+        }
+        if (col < 0 || col >= widthCells || row < 0 || row >= heightCells) {
+            return -1;
+        }
+        return (int) row * widthCells + (int) col;
+    }
+}
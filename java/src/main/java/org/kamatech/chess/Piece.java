@@ -5,6 +5,7 @@ package org.kamatech.chess;
  */
 public class Piece implements Cloneable {
     private final String id;
+    private final PieceType type; // Shared type definition, null for ad-hoc pieces
     private State state;
     private double positionX; // Position in meters
     private double positionY; // Position in meters
@@ -13,6 +14,7 @@ public class Piece implements Cloneable {
 
     public Piece(String id, State state) {
         this.id = id;
+        this.type = null;
         this.state = state;
         this.positionX = 0.0;
         this.positionY = 0.0;
@@ -22,6 +24,7 @@ public class Piece implements Cloneable {
 
     public Piece(String id, State state, double x, double y, boolean isWhite) {
         this.id = id;
+        this.type = null;
         this.state = state;
         this.positionX = x;
         this.positionY = y;
@@ -29,10 +32,28 @@ public class Piece implements Cloneable {
         this.isWhite = isWhite;
     }
 
+    public Piece(PieceType type, State state, double x, double y) {
+        this.id = type.getCode();
+        this.type = type;
+        this.state = state;
+        this.positionX = x;
+        this.positionY = y;
+        this.lastMoveTime = 0;
+        this.isWhite = type.isWhite();
+    }
+
     public String getId() {
         return id;
     }
 
+    /**
+     * Get the shared type definition, or null if the piece was not created from
+     * one
+     */
+    public PieceType getType() {
+        return type;
+    }
+
     public State getState() {
         return state;
     }
@@ -86,7 +107,7 @@ public class Piece implements Cloneable {
         // This would be expanded based on piece type logic
         setPosition(newX, newY);
         state.setState(State.PieceState.MOVE);
-        lastMoveTime = System.currentTimeMillis();
+        lastMoveTime = state.getClock().millis();
         return true;
     }
 
@@ -97,7 +118,7 @@ public class Piece implements Cloneable {
 
         setPosition(newX, newY);
         state.setState(State.PieceState.JUMP);
-        lastMoveTime = System.currentTimeMillis();
+        lastMoveTime = state.getClock().millis();
         return true;
     }
 
@@ -6,18 +6,23 @@ import org.kamatech.chess.api.IPhysicsFactory;
 
 import java.util.Map;
 import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.ArrayList;
 
 public class PieceFactory implements IPieceFactory {
     private final IGraphicsFactory graphicsFactory;
     private final IPhysicsFactory physicsFactory;
-    private Map<String, Piece> pieceTemplates;
+    // Shared immutable definitions, one per piece code
+    private final Map<String, PieceType> pieceTypes;
+    // Definitions with overridden cooldowns, keyed by "<code>@<cooldownMs>"
+    private final Map<String, PieceType> cooldownPieceTypes;
 
     public PieceFactory(IGraphicsFactory graphicsFactory, IPhysicsFactory physicsFactory) {
         this.graphicsFactory = graphicsFactory;
         this.physicsFactory = physicsFactory;
-        this.pieceTemplates = new HashMap<>();
+        this.pieceTypes = new HashMap<>();
+        this.cooldownPieceTypes = new HashMap<>();
 
         // Initialize basic piece templates
         initializePieceTemplates();
@@ -44,15 +49,15 @@ public class PieceFactory implements IPieceFactory {
                 String configPath = basePath + pieceCode + "\\states\\idle\\config.json";
                 Graphics graphics = graphicsFactory.createGraphics(pieceCode, configPath);
 
-                // Create state with moves
-                State state = new State(moves, graphics, physics);
+                // Load per-state configs (animation speed, looping, transitions)
+                Map<State.PieceState, StateConfig> stateConfigs = loadStateConfigs(basePath + pieceCode);
 
                 // Determine if piece is white or black
                 boolean isWhite = pieceCode.endsWith("W");
 
-                // Create piece template
-                Piece piece = new Piece(pieceCode, state, 0, 0, isWhite);
-                pieceTemplates.put(pieceCode, piece);
+                // Create shared piece type
+                pieceTypes.put(pieceCode,
+                        new PieceType(pieceCode, isWhite, moves, graphics, physics, stateConfigs));
 
                 System.out.println("Loaded real piece template: " + pieceCode);
 
@@ -63,7 +68,19 @@ public class PieceFactory implements IPieceFactory {
             }
         }
 
-        System.out.println("Initialized " + pieceTemplates.size() + " piece templates from real data");
+        System.out.println("Initialized " + pieceTypes.size() + " piece templates from real data");
+    }
+
+    /**
+     * Load config.json for every state folder of a piece directory
+     */
+    private Map<State.PieceState, StateConfig> loadStateConfigs(String pieceDirectory) {
+        Map<State.PieceState, StateConfig> configs = new EnumMap<>(State.PieceState.class);
+        for (State.PieceState state : State.PieceState.values()) {
+            String configPath = pieceDirectory + "\\states\\" + StateConfig.folderNameFor(state) + "\\config.json";
+            configs.put(state, StateConfig.load(java.nio.file.Paths.get(configPath)));
+        }
+        return configs;
     }
 
     /**
@@ -113,12 +130,9 @@ public class PieceFactory implements IPieceFactory {
 
         Physics physics = physicsFactory.createPhysics(pieceCode, movesObj);
         Graphics graphics = graphicsFactory.createGraphics(pieceCode, "");
-        State state = new State(movesObj, graphics, physics);
 
         boolean isWhite = pieceCode.endsWith("W");
-        Piece piece = new Piece(pieceCode, state, 0, 0, isWhite);
-
-        pieceTemplates.put(pieceCode, piece);
+        pieceTypes.put(pieceCode, new PieceType(pieceCode, isWhite, movesObj, graphics, physics, null));
         System.out.println("Created fallback piece: " + pieceCode);
     }
 
@@ -189,29 +203,26 @@ public class PieceFactory implements IPieceFactory {
     }
 
     public Piece createPiece(String pieceType, int x, int y) {
-        // Try to get template
-        Piece template = pieceTemplates.get(pieceType);
-        if (template != null) {
-            // Clone the template and set position
-            try {
-                Piece piece = new Piece(template.getId(), template.getState().clone(), x, y, template.isWhite());
-                return piece;
-            } catch (Exception e) {
-                System.err.println("Error cloning piece template: " + e.getMessage());
-            }
-        }
-
-        // Create basic piece if no template found
-        List<String> defaultMoves = new ArrayList<>();
-        defaultMoves.add("1,0");
-        Moves moves = new Moves(defaultMoves, 1000);
-
-        Physics physics = physicsFactory.createPhysics(pieceType, moves);
-        Graphics graphics = graphicsFactory.createGraphics(pieceType, "");
-        State state = new State(moves, graphics, physics);
+        // Spawn from the shared type; only position and state are per piece
+        return getPieceType(pieceType).createPiece(x, y);
+    }
 
-        boolean isWhite = pieceType.endsWith("W");
-        return new Piece(pieceType, state, x, y, isWhite);
+    /**
+     * Get the shared definition for a piece code, creating a basic one for
+     * unknown codes
+     */
+    public PieceType getPieceType(String pieceCode) {
+        return pieceTypes.computeIfAbsent(pieceCode, code -> {
+            List<String> defaultMoves = new ArrayList<>();
+            defaultMoves.add("1,0");
+            Moves moves = new Moves(defaultMoves, 1000);
+
+            Physics physics = physicsFactory.createPhysics(code, moves);
+            Graphics graphics = graphicsFactory.createGraphics(code, "");
+
+            boolean isWhite = code.endsWith("W");
+            return new PieceType(code, isWhite, moves, graphics, physics, null);
+        });
     }
 
     /**
@@ -219,25 +230,34 @@ public class PieceFactory implements IPieceFactory {
      */
     public Piece createPieceWithCooldown(String pieceCode, int x, int y, long cooldownMs) {
         try {
-            // Load moves for this piece type if available
-            Moves moves = loadMovesWithCooldown(pieceCode, cooldownMs);
+            PieceType type = cooldownPieceTypes.get(pieceCode + "@" + cooldownMs);
+            if (type == null) {
+                // Load moves for this piece type if available
+                Moves moves = loadMovesWithCooldown(pieceCode, cooldownMs);
 
-            // Create physics using PhysicsFactory
-            Physics physics = physicsFactory.createPhysics(pieceCode, moves);
+                // Create physics using PhysicsFactory
+                Physics physics = physicsFactory.createPhysics(pieceCode, moves);
 
-            // Create graphics using GraphicsFactory
-            Graphics graphics = graphicsFactory.createGraphics(pieceCode, "");
+                // Create graphics using GraphicsFactory
+                Graphics graphics = graphicsFactory.createGraphics(pieceCode, "");
 
-            // Create state with piece-specific moves
-            State state = new State(moves, graphics, physics);
+                // Determine if piece is white or black
+                boolean isWhite = pieceCode.endsWith("W");
 
-            // Determine if piece is white or black
-            boolean isWhite = pieceCode.endsWith("W");
+                // Reuse the state configs of the regular definition
+                PieceType base = pieceTypes.get(pieceCode);
+                Map<State.PieceState, StateConfig> stateConfigs = new EnumMap<>(State.PieceState.class);
+                if (base != null) {
+                    for (State.PieceState state : State.PieceState.values()) {
+                        stateConfigs.put(state, base.getStateConfig(state));
+                    }
+                }
 
-            // Create piece
-            Piece piece = new Piece(pieceCode, state, x, y, isWhite);
+                type = new PieceType(pieceCode, isWhite, moves, graphics, physics, stateConfigs);
+                cooldownPieceTypes.put(pieceCode + "@" + cooldownMs, type);
+            }
 
-            return piece;
+            return type.createPiece(x, y);
 
         } catch (Exception e) {
             System.err.println("Error creating piece " + pieceCode + ": " + e.getMessage());
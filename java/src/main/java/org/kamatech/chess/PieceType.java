@@ -0,0 +1,80 @@
+package org.kamatech.chess;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable definition shared by every piece of the same type (e.g. all "PW"
+ * pawns): moves table, cooldown, graphics, physics and per-state configs.
+ * Pieces only carry their own position and state machine on top of it.
+ */
+public final class PieceType {
+    private final String code;
+    private final boolean white;
+    private final Moves moves;
+    private final Graphics graphics;
+    private final Physics physics;
+    private final Map<State.PieceState, StateConfig> stateConfigs;
+
+    public PieceType(String code, boolean white, Moves moves, Graphics graphics, Physics physics,
+            Map<State.PieceState, StateConfig> stateConfigs) {
+        this.code = code;
+        this.white = white;
+        this.moves = moves;
+        this.graphics = graphics;
+        this.physics = physics;
+        Map<State.PieceState, StateConfig> configs = new EnumMap<>(State.PieceState.class);
+        if (stateConfigs != null) {
+            configs.putAll(stateConfigs);
+        }
+        this.stateConfigs = Collections.unmodifiableMap(configs);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isWhite() {
+        return white;
+    }
+
+    public Moves getMoves() {
+        return moves;
+    }
+
+    public long getCooldown() {
+        return moves != null ? moves.getCooldown() : 0;
+    }
+
+    public Graphics getGraphics() {
+        return graphics;
+    }
+
+    public Physics getPhysics() {
+        return physics;
+    }
+
+    /**
+     * Get the config for a state, or {@link StateConfig#DEFAULT} if none was
+     * loaded
+     */
+    public StateConfig getStateConfig(State.PieceState state) {
+        return stateConfigs.getOrDefault(state, StateConfig.DEFAULT);
+    }
+
+    /**
+     * Create a fresh state machine that shares this type's moves, graphics and
+     * physics
+     */
+    public State createState() {
+        return new State(moves, graphics, physics);
+    }
+
+    /**
+     * Spawn a new piece of this type at a cell
+     */
+    public Piece createPiece(double x, double y) {
+        return new Piece(this, createState(), x, y);
+    }
+}
@@ -0,0 +1,392 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel iterative-deepening alpha-beta search over {@link SearchPosition}s.
+ * Each depth forks one task per root move onto a fork-join pool; the tasks
+ * share the best score found so far as their lower bound, and a
+ * {@link TranspositionTable} that keeps results and best moves across depths
+ * and decisions. A line that returns to a position already on it is scored as
+ * a draw, so the search does not shuffle pieces back and forth. The search
+ * stops at
+ * the per-decision time budget and returns the best move of the deepest
+ * completed depth.
+ *
+ * Real time is modelled by alternating the sides every {@link #PLY_MILLIS} of
+ * game time: a side only moves pieces whose cooldown has passed, and passes
+ * when it has none ready.
+ */
+public class RealTimeSearch implements AutoCloseable {
+    public static final int WIN_SCORE = 1_000_000;
+    /** Game time assumed between two decisions of alternating sides */
+    public static final long PLY_MILLIS = 500;
+
+    private static final int MAX_MOVES = 512;
+    private static final int DEFAULT_MAX_DEPTH = 32;
+    private static final int TIME_CHECK_MASK = 255; // Check the clock every 256 nodes
+    private static final int DEFAULT_TABLE_ENTRIES = 1 << 18;
+    private static final int MATE_BOUND = WIN_SCORE - 1000; // Scores beyond this are king captures
+
+    private final ForkJoinPool pool;
+    private final int maxDepth;
+    private final TranspositionTable table;
+
+    public RealTimeSearch(int threads) {
+        this(threads, DEFAULT_MAX_DEPTH);
+    }
+
+    public RealTimeSearch(int threads, int maxDepth) {
+        this(threads, maxDepth, new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+    }
+
+    public RealTimeSearch(int threads, int maxDepth, TranspositionTable table) {
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+        this.maxDepth = Math.max(1, maxDepth);
+        this.table = table;
+    }
+
+    /**
+     * Table shared by every search thread, kept between decisions
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Pool the search runs on; callers may also submit the search itself here
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Outcome of one decision
+     */
+    public static final class Result {
+        private final String pieceKey; // Null if there was no move
+        private final int fromCell;
+        private final int toCell;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final long elapsedNanos;
+
+        Result(String pieceKey, int fromCell, int toCell, int score, int depth, long nodes, long elapsedNanos) {
+            this.pieceKey = pieceKey;
+            this.fromCell = fromCell;
+            this.toCell = toCell;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean hasMove() {
+            return pieceKey != null;
+        }
+
+        public String getPieceKey() {
+            return pieceKey;
+        }
+
+        public int getFromCell() {
+            return fromCell;
+        }
+
+        public int getToCell() {
+            return toCell;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Deepest fully searched depth
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getNodesPerSecond() {
+            return elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d->%d score=%d depth=%d nodes=%d (%d nodes/s)", pieceKey, fromCell, toCell,
+                    score, depth, nodes, getNodesPerSecond());
+        }
+    }
+
+    /**
+     * Find the best move for a color within a time budget. Blocks the calling
+     * thread; the position is not modified.
+     */
+    public Result search(SearchPosition root, boolean white, long budgetMillis) {
+        long start = System.nanoTime();
+        Search search = new Search(start + TimeUnit.MILLISECONDS.toNanos(Math.max(1, budgetMillis)));
+        table.newSearch();
+
+        int[] moves = new int[MAX_MOVES];
+        int moveCount = root.generateMoves(white, moves);
+        if (moveCount == 0) {
+            return new Result(null, -1, -1, root.evaluate(white), 0, 0, System.nanoTime() - start);
+        }
+
+        int bestMove = moves[0];
+        int bestScore = -WIN_SCORE;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            AtomicInteger alpha = new AtomicInteger(-WIN_SCORE - 1);
+            List<RootTask> tasks = new ArrayList<>(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                tasks.add(new RootTask(search, table, root, white, moves[i], depth, alpha));
+            }
+            if (ForkJoinTask.getPool() == pool) {
+                ForkJoinTask.invokeAll(tasks);
+            } else {
+                pool.invoke(new RecursiveTask<Void>() {
+                    @Override
+                    protected Void compute() {
+                        invokeAll(tasks);
+                        return null;
+                    }
+                });
+            }
+            if (search.aborted) {
+                break; // Incomplete depth; keep the previous answer
+            }
+
+            // Scores below the shared bound are upper bounds, so only exact ones can win
+            int depthBest = 0;
+            for (int i = 1; i < moveCount; i++) {
+                if (tasks.get(i).getRawResult() > tasks.get(depthBest).getRawResult()) {
+                    depthBest = i;
+                }
+            }
+            bestMove = moves[depthBest];
+            bestScore = tasks.get(depthBest).getRawResult();
+            completedDepth = depth;
+
+            // Search the previous best first at the next depth
+            moves[depthBest] = moves[0];
+            moves[0] = bestMove;
+            if (Math.abs(bestScore) >= WIN_SCORE - maxDepth) {
+                break; // Forced result found
+            }
+        }
+
+        int piece = SearchPosition.movePiece(bestMove);
+        return new Result(root.getKey(piece), root.getCell(piece), SearchPosition.moveTarget(bestMove),
+                bestScore, completedDepth, search.nodes.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Shared state of one decision
+     */
+    private static final class Search {
+        final long deadlineNanos;
+        final LongAdder nodes = new LongAdder();
+        volatile boolean aborted;
+
+        Search(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * Searches one root move on its own copies of the position. Positions and
+     * move lists are kept per ply and reused by every node at that ply, so the
+     * search itself does not allocate.
+     */
+    private static final class RootTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final TranspositionTable table;
+        private final SearchPosition root;
+        private final boolean white;
+        private final int move;
+        private final int depth;
+        private final AtomicInteger alpha;
+        private final long[] line; // Hash of each position on the current line, by ply
+        private final SearchPosition[] positions; // Position of each node on the current line, by ply
+        private final int[][] moveLists; // Moves of each node on the current line, by ply
+        private final long[] targets; // Scratch for move generation
+        private long nodes;
+
+        RootTask(Search search, TranspositionTable table, SearchPosition root, boolean white, int move, int depth,
+                AtomicInteger alpha) {
+            this.search = search;
+            this.table = table;
+            this.root = root;
+            this.white = white;
+            this.move = move;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.line = new long[depth + 1];
+            this.positions = new SearchPosition[depth + 1];
+            this.moveLists = new int[depth + 1][];
+            this.targets = new long[root.occupancyWords()];
+        }
+
+        @Override
+        protected Integer compute() {
+            line[0] = hashOf(root, white);
+            SearchPosition position = positionAt(1, root);
+            position.play(move);
+            position.advance(PLY_MILLIS);
+            // One below the shared best, so a move tying it still gets an exact score
+            int bound = alpha.get() - 1;
+            int score = -negamax(position, !white, depth - 1, 1, -WIN_SCORE - 1, -Math.max(bound, -WIN_SCORE - 1));
+            search.nodes.add(nodes);
+            alpha.accumulateAndGet(score, Math::max);
+            return score;
+        }
+
+        private int negamax(SearchPosition position, boolean side, int depth, int ply, int alpha, int beta) {
+            if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > search.deadlineNanos) {
+                search.aborted = true;
+            }
+            if (search.aborted) {
+                return 0;
+            }
+            if (!position.isKingAlive(side)) {
+                return -WIN_SCORE + ply; // Prefer the fastest win and the slowest loss
+            }
+            if (!position.isKingAlive(!side)) {
+                return WIN_SCORE - ply;
+            }
+            if (depth == 0) {
+                return position.evaluate(side);
+            }
+
+            long hash = hashOf(position, side);
+            line[ply] = hash;
+            for (int i = ply - 2; i >= 0; i -= 2) {
+                if (line[i] == hash) {
+                    return 0; // Repetition: the line made no progress
+                }
+            }
+
+            long entry = table.probe(hash);
+            int hashMove = TranspositionTable.NO_MOVE;
+            if (TranspositionTable.isHit(entry)) {
+                hashMove = TranspositionTable.moveOf(entry);
+                if (TranspositionTable.depthOf(entry) >= depth) {
+                    int stored = fromTable(TranspositionTable.scoreOf(entry), ply);
+                    int flag = TranspositionTable.flagOf(entry);
+                    if (flag == TranspositionTable.EXACT
+                            || (flag == TranspositionTable.LOWER && stored >= beta)
+                            || (flag == TranspositionTable.UPPER && stored <= alpha)) {
+                        return stored;
+                    }
+                }
+            }
+
+            int[] moves = moveListAt(ply);
+            int count = position.generateMoves(side, moves, targets);
+            if (count == 0) {
+                // Nothing is ready: let the other side act
+                SearchPosition next = positionAt(ply + 1, position);
+                next.advance(PLY_MILLIS);
+                return -negamax(next, !side, depth - 1, ply + 1, -beta, -alpha);
+            }
+            // Try the table's best move first
+            for (int i = 1; i < count && hashMove != TranspositionTable.NO_MOVE; i++) {
+                if (moves[i] == hashMove) {
+                    moves[i] = moves[0];
+                    moves[0] = hashMove;
+                    break;
+                }
+            }
+
+            int originalAlpha = alpha;
+            int best = -WIN_SCORE - 1;
+            int bestMove = TranspositionTable.NO_MOVE;
+            for (int i = 0; i < count; i++) {
+                SearchPosition next = positionAt(ply + 1, position);
+                next.play(moves[i]);
+                next.advance(PLY_MILLIS);
+                int score = -negamax(next, !side, depth - 1, ply + 1, -beta, -alpha);
+                if (score > best) {
+                    best = score;
+                    bestMove = moves[i];
+                }
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+            if (!search.aborted) {
+                int flag = best <= originalAlpha ? TranspositionTable.UPPER
+                        : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+                table.store(hash, toTable(best, ply), depth, flag, bestMove);
+            }
+            return best;
+        }
+
+        /**
+         * This line's position at a ply, reset to a copy of its parent
+         */
+        private SearchPosition positionAt(int ply, SearchPosition parent) {
+            SearchPosition position = positions[ply];
+            if (position == null) {
+                position = parent.copy();
+                positions[ply] = position;
+            } else {
+                position.copyFrom(parent);
+            }
+            return position;
+        }
+
+        private int[] moveListAt(int ply) {
+            int[] moves = moveLists[ply];
+            if (moves == null) {
+                moves = new int[MAX_MOVES];
+                moveLists[ply] = moves;
+            }
+            return moves;
+        }
+
+        private static long hashOf(SearchPosition position, boolean side) {
+            return side ? position.getHash() : position.getHash() ^ position.getZobrist().getBlackToMove();
+        }
+
+        /**
+         * King-capture scores count plies from the root; the table stores them
+         * relative to the node so they stay valid at any ply
+         */
+        private static int toTable(int score, int ply) {
+            return score > MATE_BOUND ? score + ply : score < -MATE_BOUND ? score - ply : score;
+        }
+
+        private static int fromTable(int score, int ply) {
+            return score > MATE_BOUND ? score - ply : score < -MATE_BOUND ? score + ply : score;
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,183 @@
+package org.kamatech.chess;
+
+import java.util.Map;
+
+/**
+ * Immutable copy of everything the renderer draws: one entry per piece stored
+ * as parallel arrays (id, type, color, position, state, time in state,
+ * remaining cooldown) plus both players' hover/selection cursors. The
+ * simulation captures a new snapshot after every change and publishes it
+ * through a volatile field, so painting never iterates the live piece map or
+ * reads fields another thread is writing, and neither side takes a lock.
+ */
+public final class RenderSnapshot {
+    public static final RenderSnapshot EMPTY = new RenderSnapshot(0);
+
+    private final int count;
+    private final String[] ids;
+    private final PieceType[] types;
+    private final boolean[] white;
+    private final double[] x;
+    private final double[] y;
+    private final State.PieceState[] states;
+    private final long[] timeInState;
+    private final long[] remainingTime;
+
+    // Cursor state; piece references are indices into the arrays, -1 for none
+    private int hoveredWhite = -1;
+    private int hoveredBlack = -1;
+    private int selectedWhite = -1;
+    private int selectedBlack = -1;
+    private boolean whiteInMovementMode;
+    private boolean blackInMovementMode;
+    private double whiteVisualX = -1, whiteVisualY = -1;
+    private double blackVisualX = -1, blackVisualY = -1;
+
+    private RenderSnapshot(int capacity) {
+        this.count = capacity;
+        this.ids = new String[capacity];
+        this.types = new PieceType[capacity];
+        this.white = new boolean[capacity];
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.states = new State.PieceState[capacity];
+        this.timeInState = new long[capacity];
+        this.remainingTime = new long[capacity];
+    }
+
+    /**
+     * Copy the pieces and cursor state. Must be called by the thread that
+     * mutates them; the returned snapshot is never modified afterwards and can
+     * be handed to any thread.
+     */
+    public static RenderSnapshot capture(Map<String, Piece> pieces,
+            String hoveredPieceWhite, String hoveredPieceBlack,
+            String selectedPieceWhite, String selectedPieceBlack,
+            boolean whiteInMovementMode, boolean blackInMovementMode,
+            double whiteVisualX, double whiteVisualY, double blackVisualX, double blackVisualY) {
+        RenderSnapshot snapshot = new RenderSnapshot(pieces.size());
+        int i = 0;
+        for (Map.Entry<String, Piece> entry : pieces.entrySet()) {
+            String key = entry.getKey();
+            Piece piece = entry.getValue();
+            State state = piece.getState();
+
+            snapshot.ids[i] = piece.getId();
+            snapshot.types[i] = piece.getType();
+            snapshot.white[i] = piece.isWhite();
+            snapshot.x[i] = piece.getX();
+            snapshot.y[i] = piece.getY();
+            snapshot.states[i] = state.getCurrentState();
+            snapshot.timeInState[i] = state.getTimeInState();
+            snapshot.remainingTime[i] = state.getRemainingStateTime();
+
+            if (key.equals(hoveredPieceWhite)) {
+                snapshot.hoveredWhite = i;
+            }
+            if (key.equals(hoveredPieceBlack)) {
+                snapshot.hoveredBlack = i;
+            }
+            if (key.equals(selectedPieceWhite)) {
+                snapshot.selectedWhite = i;
+            }
+            if (key.equals(selectedPieceBlack)) {
+                snapshot.selectedBlack = i;
+            }
+            i++;
+        }
+        snapshot.whiteInMovementMode = whiteInMovementMode;
+        snapshot.blackInMovementMode = blackInMovementMode;
+        snapshot.whiteVisualX = whiteVisualX;
+        snapshot.whiteVisualY = whiteVisualY;
+        snapshot.blackVisualX = blackVisualX;
+        snapshot.blackVisualY = blackVisualY;
+        return snapshot;
+    }
+
+    /* ----------- Pieces ----------- */
+    public int getPieceCount() {
+        return count;
+    }
+
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get the piece's shared type definition, or null for ad-hoc pieces
+     */
+    public PieceType getType(int index) {
+        return types[index];
+    }
+
+    public boolean isWhite(int index) {
+        return white[index];
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    public State.PieceState getState(int index) {
+        return states[index];
+    }
+
+    /**
+     * Milliseconds the piece had spent in its state when the snapshot was taken
+     */
+    public long getTimeInState(int index) {
+        return timeInState[index];
+    }
+
+    /**
+     * Milliseconds of cooldown the piece had left when the snapshot was taken
+     */
+    public long getRemainingStateTime(int index) {
+        return remainingTime[index];
+    }
+
+    /* ----------- Cursors ----------- */
+    public int getHoveredWhite() {
+        return hoveredWhite;
+    }
+
+    public int getHoveredBlack() {
+        return hoveredBlack;
+    }
+
+    public int getSelectedWhite() {
+        return selectedWhite;
+    }
+
+    public int getSelectedBlack() {
+        return selectedBlack;
+    }
+
+    public boolean isWhiteInMovementMode() {
+        return whiteInMovementMode;
+    }
+
+    public boolean isBlackInMovementMode() {
+        return blackInMovementMode;
+    }
+
+    public double getWhiteVisualX() {
+        return whiteVisualX;
+    }
+
+    public double getWhiteVisualY() {
+        return whiteVisualY;
+    }
+
+    public double getBlackVisualX() {
+        return blackVisualX;
+    }
+
+    public double getBlackVisualY() {
+        return blackVisualY;
+    }
+}
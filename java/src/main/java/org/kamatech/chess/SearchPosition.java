@@ -0,0 +1,429 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, copyable position for search: a few small arrays instead of piece
+ * objects, so each search thread can play moves on its own copy. Besides
+ * placement it tracks game time and when each piece may act again, which is
+ * what makes KFChess positions real-time: a piece that just moved sits out
+ * its cooldown while the other pieces keep playing.
+ *
+ * Move tables, cooldowns and piece keys are captured once from the engine and
+ * shared between copies; only per-piece and per-cell state is copied. A
+ * {@link Zobrist} hash of placement and cooldown buckets is kept up to date as
+ * moves are played.
+ */
+public final class SearchPosition {
+    /** Cell value of a captured piece */
+    public static final int CAPTURED = -1;
+    /**
+     * Cell value of a piece that was between cells when the position was
+     * captured; it stays off the board for the whole search
+     */
+    public static final int IN_FLIGHT = -2;
+    /** Most cells a board may have, so a move fits a {@link TranspositionTable} entry */
+    public static final int MAX_CELLS = 1 << 12;
+    /** Most pieces a position may hold; the last index is left free for {@link TranspositionTable#NO_MOVE} */
+    public static final int MAX_PIECES = (1 << 12) - 1;
+
+    private static final int CELL_BITS = 12;
+
+    private static final int KIND_COUNT = Bitboards.KINDS.length();
+    private static final int KING = Bitboards.kindOf('K');
+    private static final int QUEEN = Bitboards.kindOf('Q');
+    private static final int PAWN = Bitboards.kindOf('P');
+    private static final int[] KIND_VALUES = { 0, 900, 500, 330, 320, 100 }; // Indexed like Bitboards.KINDS
+    private static final double CELL_TOLERANCE = 0.1;
+
+    // Shared between copies
+    private final int widthCells;
+    private final int heightCells;
+    private final int words;
+    private final String[] keys; // Engine key per piece
+    private final MoveTables[] tables; // Per plane (color * KIND_COUNT + kind), also for kinds not on the board
+    private final long[] cooldowns; // Per plane: ms a piece is busy after moving
+    private final Zobrist zobrist;
+
+    // Copied
+    private final byte[] planes; // Per piece: color * KIND_COUNT + kind, changes on promotion
+    private final int[] cells; // Per piece: row * width + col, CAPTURED or IN_FLIGHT
+    private final long[] readyAt; // Per piece: time at which it may act again
+    private final short[] board; // Per cell: piece index or -1
+    private final long[] occupancy; // [color * words + word], color 0 = white
+    private long time;
+    private long hash;
+
+    private SearchPosition(int widthCells, int heightCells, String[] keys, MoveTables[] tables, long[] cooldowns,
+            Zobrist zobrist, byte[] planes, int[] cells, long[] readyAt) {
+        this.widthCells = widthCells;
+        this.heightCells = heightCells;
+        this.words = (widthCells * heightCells + 63) / 64;
+        this.keys = keys;
+        this.tables = tables;
+        this.cooldowns = cooldowns;
+        this.zobrist = zobrist;
+        this.planes = planes;
+        this.cells = cells;
+        this.readyAt = readyAt;
+        this.board = new short[widthCells * heightCells];
+        this.occupancy = new long[2 * words];
+        Arrays.fill(board, (short) -1);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] >= 0) {
+                board[cells[i]] = (short) i;
+                occupancy[colorOf(i) * words + (cells[i] >>> 6)] |= 1L << (cells[i] & 63);
+            }
+        }
+        this.hash = computeHash();
+    }
+
+    private SearchPosition(SearchPosition other) {
+        this.widthCells = other.widthCells;
+        this.heightCells = other.heightCells;
+        this.words = other.words;
+        this.keys = other.keys;
+        this.tables = other.tables;
+        this.cooldowns = other.cooldowns;
+        this.zobrist = other.zobrist;
+        this.planes = other.planes.clone();
+        this.cells = other.cells.clone();
+        this.readyAt = other.readyAt.clone();
+        this.board = other.board.clone();
+        this.occupancy = other.occupancy.clone();
+        this.time = other.time;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Capture the engine's pieces. Must run on the thread that drives the
+     * engine. Pieces between cells are kept as {@link #IN_FLIGHT} so a moving
+     * king still counts as alive, but the search never lands them: they do
+     * not block, move or get captured. Move tables are taken for every kind,
+     * so a pawn promoted during the search moves as a queen.
+     */
+    public static SearchPosition capture(GameEngine engine) {
+        Map<String, Piece> pieces = engine.getPiecesView();
+        List<String> sortedKeys = new ArrayList<>(pieces.keySet());
+        sortedKeys.sort(null);
+
+        int width = engine.getWidthCells();
+        int height = engine.getHeightCells();
+        if (width * height > MAX_CELLS || sortedKeys.size() > MAX_PIECES) {
+            throw new IllegalArgumentException("Board too large to search: " + width + "x" + height + " with "
+                    + sortedKeys.size() + " pieces");
+        }
+        List<String> keys = new ArrayList<>();
+        MoveTables[] tables = new MoveTables[2 * KIND_COUNT];
+        long[] cooldowns = new long[2 * KIND_COUNT];
+        Arrays.fill(cooldowns, GameEngine.MOVE_ANIMATION_MS);
+        byte[] planes = new byte[sortedKeys.size()];
+        int[] cells = new int[sortedKeys.size()];
+        long[] readyAt = new long[sortedKeys.size()];
+
+        for (String key : sortedKeys) {
+            Piece piece = pieces.get(key);
+            int kind = piece.getId().isEmpty() ? -1 : Bitboards.kindOf(piece.getId().charAt(0));
+            if (kind < 0) {
+                continue;
+            }
+            int index = keys.size();
+            int plane = (piece.isWhite() ? 0 : KIND_COUNT) + kind;
+            keys.add(key);
+            planes[index] = (byte) plane;
+            cells[index] = cellOf(piece.getX(), piece.getY(), width, height);
+
+            State state = piece.getState();
+            if (state != null) {
+                readyAt[index] = state.canPerformAction() ? 0 : Math.max(1, state.getRemainingStateTime());
+                if (state.getMoves() != null) {
+                    cooldowns[plane] = GameEngine.MOVE_ANIMATION_MS + state.getMoves().getCooldown();
+                }
+            }
+            if (tables[plane] == null) {
+                tables[plane] = engine.getMoveTables(piece);
+            }
+        }
+
+        for (int plane = 0; plane < tables.length; plane++) {
+            if (tables[plane] == null) {
+                String code = Bitboards.KINDS.charAt(plane % KIND_COUNT) + (plane < KIND_COUNT ? "W" : "B");
+                tables[plane] = engine.getMoveTables(code);
+            }
+        }
+
+        int count = keys.size();
+        return new SearchPosition(width, height, keys.toArray(new String[0]), tables, cooldowns,
+                new Zobrist(width, height), Arrays.copyOf(planes, count), Arrays.copyOf(cells, count),
+                Arrays.copyOf(readyAt, count));
+    }
+
+    private static int cellOf(double x, double y, int width, int height) {
+        long col = Math.round(x);
+        long row = Math.round(y);
+        if (Math.abs(x - col) > CELL_TOLERANCE || Math.abs(y - row) > CELL_TOLERANCE
+                || col < 0 || col >= width || row < 0 || row >= height) {
+            return IN_FLIGHT;
+        }
+        return (int) row * width + (int) col;
+    }
+
+    /**
+     * Independent copy for another search thread
+     */
+    public SearchPosition copy() {
+        return new SearchPosition(this);
+    }
+
+    /**
+     * Overwrite this position with another copy of the same captured game,
+     * without allocating
+     */
+    public void copyFrom(SearchPosition other) {
+        System.arraycopy(other.planes, 0, planes, 0, planes.length);
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.readyAt, 0, readyAt, 0, readyAt.length);
+        System.arraycopy(other.board, 0, board, 0, board.length);
+        System.arraycopy(other.occupancy, 0, occupancy, 0, occupancy.length);
+        time = other.time;
+        hash = other.hash;
+    }
+
+    /* ----------- Moves ----------- */
+
+    /**
+     * Pack a move of a piece to a cell into one int: 12 bits of piece index
+     * above 12 bits of cell, so it fits the 24-bit move of a
+     * {@link TranspositionTable} entry. That limits positions to
+     * {@link #MAX_PIECES} pieces on {@link #MAX_CELLS} cells, which
+     * {@link #capture} enforces.
+     */
+    public static int encodeMove(int piece, int toCell) {
+        return (piece << CELL_BITS) | toCell;
+    }
+
+    public static int movePiece(int move) {
+        return move >>> CELL_BITS;
+    }
+
+    public static int moveTarget(int move) {
+        return move & (MAX_CELLS - 1);
+    }
+
+    /**
+     * Write every move available to a color at the current time into
+     * {@code out}, captures first, and return how many there are
+     */
+    public int generateMoves(boolean white, int[] out) {
+        return generateMoves(white, out, new long[words]);
+    }
+
+    /**
+     * {@link #generateMoves(boolean, int[])} with a caller-owned scratch
+     * buffer of {@link #occupancyWords()} longs, so a search allocates nothing
+     * per node
+     */
+    public int generateMoves(boolean white, int[] out, long[] targets) {
+        int count = 0;
+        int captures = 0;
+        for (int piece = 0; piece < cells.length; piece++) {
+            int cell = cells[piece];
+            MoveTables moveTables = tables[planes[piece]];
+            if (cell < 0 || isWhite(piece) != white || readyAt[piece] > time || moveTables == null) {
+                continue;
+            }
+            int col = cell % widthCells;
+            int row = cell / widthCells;
+            boolean firstMove = white ? row == heightCells - 2 : row == 1;
+            moveTables.legalTargets(col, row, occupancy, white, firstMove, targets);
+            for (int w = 0; w < words; w++) {
+                long bits = targets[w];
+                while (bits != 0 && count < out.length) {
+                    int to = w * 64 + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int move = encodeMove(piece, to);
+                    if (board[to] >= 0) {
+                        // Keep captures at the front
+                        out[count++] = out[captures];
+                        out[captures++] = move;
+                    } else {
+                        out[count++] = move;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Play a move in place: capture, promotion and the mover's cooldown. The
+     * hash is updated with a few XORs.
+     */
+    public void play(int move) {
+        int piece = movePiece(move);
+        int to = moveTarget(move);
+        int from = cells[piece];
+        int color = colorOf(piece);
+        hash ^= pieceKey(piece);
+
+        int victim = board[to];
+        if (victim >= 0) {
+            hash ^= pieceKey(victim);
+            cells[victim] = CAPTURED;
+            occupancy[colorOf(victim) * words + (to >>> 6)] &= ~(1L << (to & 63));
+        }
+        board[from] = -1;
+        occupancy[color * words + (from >>> 6)] &= ~(1L << (from & 63));
+        board[to] = (short) piece;
+        occupancy[color * words + (to >>> 6)] |= 1L << (to & 63);
+        cells[piece] = to;
+
+        readyAt[piece] = time + cooldowns[planes[piece]];
+        int row = to / widthCells;
+        if (planes[piece] % KIND_COUNT == PAWN && row == (color == 0 ? 0 : heightCells - 1)) {
+            planes[piece] = (byte) (color * KIND_COUNT + QUEEN);
+        }
+        hash ^= pieceKey(piece);
+    }
+
+    /**
+     * Let game time pass, e.g. while the other side acts. Only pieces still
+     * cooling down can change their hash bucket.
+     */
+    public void advance(long millis) {
+        for (int piece = 0; piece < cells.length; piece++) {
+            if (cells[piece] >= 0 && readyAt[piece] > time) {
+                hash ^= pieceKey(piece);
+                readyAtShifted(piece, millis);
+            }
+        }
+        time += millis;
+    }
+
+    /**
+     * Re-add a cooling piece's key as seen after {@code millis} more time
+     */
+    private void readyAtShifted(int piece, long millis) {
+        hash ^= zobrist.key(planes[piece], cells[piece], Zobrist.bucketOf(readyAt[piece] - time - millis));
+    }
+
+    private long pieceKey(int piece) {
+        return zobrist.key(planes[piece], cells[piece], Zobrist.bucketOf(readyAt[piece] - time));
+    }
+
+    /**
+     * Hash of the position computed from scratch; equals {@link #getHash()}
+     */
+    public long computeHash() {
+        long full = 0;
+        for (int piece = 0; piece < cells.length; piece++) {
+            if (cells[piece] >= 0) {
+                full ^= pieceKey(piece);
+            }
+        }
+        return full;
+    }
+
+    /**
+     * Zobrist hash of placement and cooldown buckets, not including the side
+     * to move (see {@link Zobrist#getBlackToMove()})
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    public Zobrist getZobrist() {
+        return zobrist;
+    }
+
+    /* ----------- Queries ----------- */
+
+    public int getPieceCount() {
+        return cells.length;
+    }
+
+    public String getKey(int piece) {
+        return keys[piece];
+    }
+
+    /**
+     * Cell of a piece, or {@link #CAPTURED} / {@link #IN_FLIGHT}
+     */
+    public int getCell(int piece) {
+        return cells[piece];
+    }
+
+    /**
+     * Longs per color in the occupancy bitboards
+     */
+    public int occupancyWords() {
+        return words;
+    }
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public boolean isWhite(int piece) {
+        return planes[piece] < KIND_COUNT;
+    }
+
+    private int colorOf(int piece) {
+        return planes[piece] < KIND_COUNT ? 0 : 1;
+    }
+
+    /**
+     * Whether a color still has a king that has not been captured
+     */
+    public boolean isKingAlive(boolean white) {
+        int kingPlane = (white ? 0 : KIND_COUNT) + KING;
+        for (int piece = 0; piece < cells.length; piece++) {
+            if (planes[piece] == kingPlane && cells[piece] != CAPTURED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether any piece of a color on a cell may act at the current time
+     */
+    public boolean hasReadyPiece(boolean white) {
+        for (int piece = 0; piece < cells.length; piece++) {
+            if (cells[piece] >= 0 && isWhite(piece) == white && readyAt[piece] <= time) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Material balance from a color's point of view; ready pieces are worth
+     * slightly more than ones still cooling down
+     */
+    public int evaluate(boolean white) {
+        int score = 0;
+        for (int piece = 0; piece < cells.length; piece++) {
+            if (cells[piece] == CAPTURED) {
+                continue;
+            }
+            int value = KIND_VALUES[planes[piece] % KIND_COUNT];
+            if (readyAt[piece] <= time) {
+                value += 5;
+            }
+            score += isWhite(piece) == white ? value : -value;
+        }
+        return score;
+    }
+}
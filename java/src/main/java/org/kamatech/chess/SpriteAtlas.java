@@ -0,0 +1,129 @@
+package org.kamatech.chess;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sprite frames pre-scaled to one target size and packed into a single
+ * display-compatible image. Drawing a frame is a 1:1 blit of its slot, so
+ * Java2D never rescales sprites while painting. An atlas is only valid for
+ * one sprite size; build a new one when the board cell size changes.
+ */
+public class SpriteAtlas {
+    private static final int COLUMNS = 16;
+
+    private final int spriteWidth;
+    private final int spriteHeight;
+    private final Map<BufferedImage, Integer> slots = new IdentityHashMap<>();
+    private BufferedImage image;
+    private int rows;
+
+    public SpriteAtlas(int spriteWidth, int spriteHeight) {
+        if (spriteWidth <= 0 || spriteHeight <= 0) {
+            throw new IllegalArgumentException("Sprite size must be positive: " + spriteWidth + "x" + spriteHeight);
+        }
+        this.spriteWidth = spriteWidth;
+        this.spriteHeight = spriteHeight;
+    }
+
+    public int getSpriteWidth() {
+        return spriteWidth;
+    }
+
+    public int getSpriteHeight() {
+        return spriteHeight;
+    }
+
+    /**
+     * Check whether this atlas was built for the given sprite size
+     */
+    public boolean matches(int width, int height) {
+        return spriteWidth == width && spriteHeight == height;
+    }
+
+    public synchronized int getSlotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Pack all frames of a sprite sequence that are not in the atlas yet
+     */
+    public synchronized void addFrames(List<BufferedImage> frames) {
+        for (BufferedImage frame : frames) {
+            slotOf(frame);
+        }
+    }
+
+    /**
+     * Draw a frame with its top-left corner at (x, y), packing it first if
+     * needed
+     */
+    public synchronized void draw(Graphics2D g2d, BufferedImage frame, int x, int y) {
+        int slot = slotOf(frame);
+        int sx = (slot % COLUMNS) * spriteWidth;
+        int sy = (slot / COLUMNS) * spriteHeight;
+        g2d.drawImage(image, x, y, x + spriteWidth, y + spriteHeight,
+                sx, sy, sx + spriteWidth, sy + spriteHeight, null);
+    }
+
+    private int slotOf(BufferedImage frame) {
+        Integer slot = slots.get(frame);
+        if (slot != null) {
+            return slot;
+        }
+        int index = slots.size();
+        ensureCapacity(index + 1);
+
+        int sx = (index % COLUMNS) * spriteWidth;
+        int sy = (index / COLUMNS) * spriteHeight;
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(frame, sx, sy, spriteWidth, spriteHeight, null);
+        g.dispose();
+
+        slots.put(frame, index);
+        return index;
+    }
+
+    /**
+     * Grow the atlas image (doubling its rows) so it can hold the given number of
+     * slots, keeping already packed frames
+     */
+    private void ensureCapacity(int slotCount) {
+        int neededRows = (slotCount + COLUMNS - 1) / COLUMNS;
+        if (image != null && neededRows <= rows) {
+            return;
+        }
+        int newRows = Math.max(neededRows, Math.max(1, rows * 2));
+        BufferedImage grown = createCompatibleImage(COLUMNS * spriteWidth, newRows * spriteHeight);
+        if (image != null) {
+            Graphics2D g = grown.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+        image = grown;
+        rows = newRows;
+    }
+
+    /**
+     * Create a translucent image in the screen's native pixel layout, or a plain
+     * ARGB image when there is no screen
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            try {
+                GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDefaultConfiguration();
+                return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            } catch (HeadlessException e) {
+                // Fall through to a plain image
+            }
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
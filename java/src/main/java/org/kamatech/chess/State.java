@@ -17,16 +17,22 @@ public class State implements Cloneable {
     private final Moves moves;
     private final Graphics graphics;
     private final Physics physics;
+    private GameClock clock;
     private PieceState currentState;
     private long stateStartTime;
     private long stateDuration;
 
     public State(Moves moves, Graphics graphics, Physics physics) {
+        this(moves, graphics, physics, GameClock.SYSTEM);
+    }
+
+    public State(Moves moves, Graphics graphics, Physics physics, GameClock clock) {
         this.moves = moves;
         this.graphics = graphics;
         this.physics = physics;
+        this.clock = clock;
         this.currentState = PieceState.IDLE;
-        this.stateStartTime = System.currentTimeMillis();
+        this.stateStartTime = clock.millis();
         this.stateDuration = 0;
     }
 
@@ -47,6 +53,23 @@ public class State implements Cloneable {
         return physics;
     }
 
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Switch the time source, keeping the time already spent in the current
+     * state
+     */
+    public void setClock(GameClock newClock) {
+        if (newClock == clock) {
+            return;
+        }
+        long elapsed = clock.millis() - stateStartTime;
+        this.clock = newClock;
+        this.stateStartTime = newClock.millis() - elapsed;
+    }
+
     /* ----------- State Machine Methods ----------- */
     public PieceState getCurrentState() {
         return currentState;
@@ -54,7 +77,7 @@ public class State implements Cloneable {
 
     public void setState(PieceState newState) {
         this.currentState = newState;
-        this.stateStartTime = System.currentTimeMillis();
+        this.stateStartTime = clock.millis();
 
         // Set appropriate duration for each state
         // Slow down state durations by doubling the base cooldown
@@ -85,16 +108,30 @@ public class State implements Cloneable {
         }
     }
 
+    /**
+     * Get the clock time at which the current state was entered
+     */
+    public long getStateStartTime() {
+        return stateStartTime;
+    }
+
+    /**
+     * Get how long the piece has been in its current state, in milliseconds
+     */
+    public long getTimeInState() {
+        return clock.millis() - stateStartTime;
+    }
+
     public boolean isStateFinished() {
         if (stateDuration == 0)
             return true;
-        return (System.currentTimeMillis() - stateStartTime) >= stateDuration;
+        return (clock.millis() - stateStartTime) >= stateDuration;
     }
 
     public long getRemainingStateTime() {
         if (stateDuration == 0)
             return 0;
-        long elapsed = System.currentTimeMillis() - stateStartTime;
+        long elapsed = clock.millis() - stateStartTime;
         return Math.max(0, stateDuration - elapsed);
     }
 
@@ -139,6 +176,7 @@ public class State implements Cloneable {
                 graphics.clone(),
                 physics.clone(),
                 currentState);
+        cloned.clock = this.clock;
         cloned.stateStartTime = this.stateStartTime;
         cloned.stateDuration = this.stateDuration;
         return cloned;
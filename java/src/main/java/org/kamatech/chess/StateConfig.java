@@ -0,0 +1,122 @@
+package org.kamatech.chess;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable per-state configuration parsed from a piece's
+ * states/&lt;state&gt;/config.json file
+ */
+public final class StateConfig {
+    public static final StateConfig DEFAULT = new StateConfig(6.0, true, 0.0, "idle");
+
+    private static final Pattern FRAMES_PER_SEC = Pattern.compile("\"frames_per_sec\"\\s*:\\s*([-0-9.]+)");
+    private static final Pattern IS_LOOP = Pattern.compile("\"is_loop\"\\s*:\\s*(true|false)");
+    private static final Pattern SPEED = Pattern.compile("\"speed_m_per_sec\"\\s*:\\s*([-0-9.]+)");
+    private static final Pattern NEXT_STATE = Pattern.compile("\"next_state_when_finished\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final double framesPerSec;
+    private final boolean loop;
+    private final double speedMetersPerSec;
+    private final String nextStateWhenFinished;
+
+    public StateConfig(double framesPerSec, boolean loop, double speedMetersPerSec, String nextStateWhenFinished) {
+        this.framesPerSec = framesPerSec;
+        this.loop = loop;
+        this.speedMetersPerSec = speedMetersPerSec;
+        this.nextStateWhenFinished = nextStateWhenFinished;
+    }
+
+    public double getFramesPerSec() {
+        return framesPerSec;
+    }
+
+    public boolean isLoop() {
+        return loop;
+    }
+
+    public double getSpeedMetersPerSec() {
+        return speedMetersPerSec;
+    }
+
+    public String getNextStateWhenFinished() {
+        return nextStateWhenFinished;
+    }
+
+    /**
+     * Map a piece state to the name of its folder under pieces/&lt;code&gt;/states
+     */
+    public static String folderNameFor(State.PieceState state) {
+        switch (state) {
+            case REST:
+                return "long_rest";
+            case SHORT_REST:
+                return "short_rest";
+            case EXHAUST:
+                return "exhaust";
+            default:
+                return state.name().toLowerCase();
+        }
+    }
+
+    /**
+     * Map a folder name under pieces/&lt;code&gt;/states back to its piece state,
+     * or null if no state uses that folder
+     */
+    public static State.PieceState stateForFolder(String folderName) {
+        for (State.PieceState state : State.PieceState.values()) {
+            if (folderNameFor(state).equals(folderName)) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Load a config.json file, falling back to {@link #DEFAULT} values for a
+     * missing file or missing keys
+     */
+    public static StateConfig load(Path configFile) {
+        if (!Files.isRegularFile(configFile)) {
+            return DEFAULT;
+        }
+        try {
+            return parse(new String(Files.readAllBytes(configFile), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Could not read state config " + configFile + ": " + e.getMessage());
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Parse the contents of a config.json file
+     */
+    public static StateConfig parse(String json) {
+        double fps = DEFAULT.framesPerSec;
+        boolean loop = DEFAULT.loop;
+        double speed = DEFAULT.speedMetersPerSec;
+        String next = DEFAULT.nextStateWhenFinished;
+
+        try {
+            Matcher m = FRAMES_PER_SEC.matcher(json);
+            if (m.find())
+                fps = Double.parseDouble(m.group(1));
+            m = IS_LOOP.matcher(json);
+            if (m.find())
+                loop = Boolean.parseBoolean(m.group(1));
+            m = SPEED.matcher(json);
+            if (m.find())
+                speed = Double.parseDouble(m.group(1));
+            m = NEXT_STATE.matcher(json);
+            if (m.find())
+                next = m.group(1);
+        } catch (NumberFormatException e) {
+            // Keep defaults for malformed values
+        }
+        return new StateConfig(fps, loop, speed, next);
+    }
+}
@@ -0,0 +1,142 @@
+package org.kamatech.chess;
+
+/**
+ * Fixed-size transposition table shared by search threads without locks.
+ * Entries live in one long[]: each stores (hash ^ data) next to data, so a
+ * torn write from two threads fails the hash check on read instead of
+ * returning a mixed entry.
+ *
+ * Each bucket has two entries: a depth-preferred one that keeps the deepest
+ * result, and an always-replace one that takes whatever did not go into the
+ * first. Entries remember the search generation that stored them; call
+ * {@link #newSearch()} once per decision so deep results of earlier decisions
+ * give way instead of holding their slots for the rest of the game.
+ */
+public final class TranspositionTable {
+    /** Score is exact */
+    public static final int EXACT = 0;
+    /** Score is a lower bound (search failed high) */
+    public static final int LOWER = 1;
+    /** Score is an upper bound (search failed low) */
+    public static final int UPPER = 2;
+    /** Stored move when the entry has none */
+    public static final int NO_MOVE = (1 << 24) - 1;
+
+    // Data layout: score (24 bits, signed) | depth (8) | flag (2) | generation (5) | move (24) | valid (1)
+    private static final int SCORE_SHIFT = 40;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int FLAG_SHIFT = 30;
+    private static final int GENERATION_SHIFT = 25;
+    private static final int GENERATION_MASK = 31;
+    private static final int MOVE_SHIFT = 1;
+    private static final long MOVE_MASK = (1L << 24) - 1;
+    private static final long VALID = 1L;
+    private static final int LONGS_PER_BUCKET = 4; // Two (hash ^ data, data) pairs
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation; // Stamped on stored entries, wraps at 32
+
+    /**
+     * Create a table with at least {@code entries} entries, rounded up to a
+     * power of two
+     */
+    public TranspositionTable(int entries) {
+        int wanted = Math.max(1, (entries + 1) / 2);
+        int buckets = wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+        this.table = new long[buckets * LONGS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Number of entries (two per bucket)
+     */
+    public int getCapacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * Start a new decision: entries stored before this no longer keep the
+     * depth-preferred slot against newer ones. Call before the search threads
+     * start.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Store a search result. Scores must fit in 24 signed bits and moves in
+     * 24 bits, as {@link SearchPosition#encodeMove} packs them.
+     */
+    public void store(long hash, int score, int depth, int flag, int move) {
+        int current = generation;
+        long data = ((long) score << SCORE_SHIFT)
+                | ((long) (Math.min(depth, 255) & 0xFF) << DEPTH_SHIFT)
+                | ((long) (flag & 3) << FLAG_SHIFT)
+                | ((long) current << GENERATION_SHIFT)
+                | ((move & MOVE_MASK) << MOVE_SHIFT)
+                | VALID;
+        int base = index(hash);
+
+        // Depth-preferred slot: same position, left by an earlier decision, or at least as deep
+        long oldData = table[base + 1];
+        if ((table[base] ^ oldData) == hash || (oldData & VALID) == 0 || generationOf(oldData) != current
+                || depth >= depthOf(oldData)) {
+            table[base] = hash ^ data;
+            table[base + 1] = data;
+            return;
+        }
+        table[base + 2] = hash ^ data;
+        table[base + 3] = data;
+    }
+
+    /**
+     * Look up a position. Returns the packed entry, or 0 if there is none;
+     * decode it with the static accessors.
+     */
+    public long probe(long hash) {
+        int base = index(hash);
+        for (int slot = 0; slot < LONGS_PER_BUCKET; slot += 2) {
+            long data = table[base + slot + 1];
+            if ((data & VALID) != 0 && (table[base + slot] ^ data) == hash) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    public static boolean isHit(long entry) {
+        return (entry & VALID) != 0;
+    }
+
+    public static int scoreOf(long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    public static int depthOf(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int flagOf(long entry) {
+        return (int) ((entry >>> FLAG_SHIFT) & 3);
+    }
+
+    public static int generationOf(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & GENERATION_MASK);
+    }
+
+    public static int moveOf(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK);
+    }
+
+    /**
+     * Forget every entry, e.g. before a new game
+     */
+    public void clear() {
+        java.util.Arrays.fill(table, 0);
+    }
+
+    private int index(long hash) {
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
@@ -0,0 +1,122 @@
+package org.kamatech.chess;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Central animation system for piece movement. Keeps interpolation state per
+ * moving piece and is advanced by the game loop each tick, so no animation
+ * threads are needed. Completion callbacks run on the thread that calls
+ * {@link #update(long)}.
+ *
+ * Not thread-safe: like the {@link GameEngine} that owns it, it is only used
+ * from the simulation thread. Input that starts moves reaches it through
+ * {@link GameEngine#submit(Runnable)} rather than from the input thread.
+ */
+public class TweenScheduler {
+
+    /**
+     * Receives interpolated positions, so the owner can keep its indexes in
+     * sync
+     */
+    public interface PositionSink {
+        void setPosition(Piece piece, double x, double y);
+    }
+
+    /**
+     * Called once when a piece reaches its target
+     */
+    public interface Completion {
+        void onComplete(Piece piece);
+    }
+
+    private static final class Tween {
+        final Piece piece;
+        final double fromX, fromY, toX, toY;
+        final long durationMs;
+        final Completion onComplete;
+        long elapsedMs;
+
+        Tween(Piece piece, double toX, double toY, long durationMs, Completion onComplete) {
+            this.piece = piece;
+            this.fromX = piece.getX();
+            this.fromY = piece.getY();
+            this.toX = toX;
+            this.toY = toY;
+            this.durationMs = Math.max(1, durationMs);
+            this.onComplete = onComplete;
+        }
+    }
+
+    private final PositionSink sink;
+    private final Map<Piece, Tween> active = new IdentityHashMap<>();
+    private final List<Tween> finished = new ArrayList<>();
+
+    public TweenScheduler(PositionSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Start moving a piece from its current position to a target. Replaces any
+     * tween already running for that piece.
+     */
+    public void start(Piece piece, double toX, double toY, long durationMs, Completion onComplete) {
+        active.put(piece, new Tween(piece, toX, toY, durationMs, onComplete));
+    }
+
+    /**
+     * Stop animating a piece without moving it or firing its callback
+     */
+    public void cancel(Piece piece) {
+        active.remove(piece);
+    }
+
+    public boolean isAnimating(Piece piece) {
+        return active.containsKey(piece);
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * Advance every tween by the elapsed time, then fire completion callbacks
+     * for the ones that finished
+     */
+    public void update(long deltaMs) {
+        if (active.isEmpty()) {
+            return;
+        }
+
+        for (Tween tween : active.values()) {
+            tween.elapsedMs += deltaMs;
+            if (tween.elapsedMs >= tween.durationMs) {
+                finished.add(tween);
+            } else {
+                double progress = (double) tween.elapsedMs / tween.durationMs;
+                sink.setPosition(tween.piece,
+                        tween.fromX + (tween.toX - tween.fromX) * progress,
+                        tween.fromY + (tween.toY - tween.fromY) * progress);
+            }
+        }
+
+        if (finished.isEmpty()) {
+            return;
+        }
+
+        // Remove before calling back: callbacks may start new tweens or remove pieces
+        for (Tween tween : finished) {
+            active.remove(tween.piece);
+        }
+        for (Tween tween : finished) {
+            // Ensure final position is exact
+            sink.setPosition(tween.piece, tween.toX, tween.toY);
+            if (tween.onComplete != null) {
+                tween.onComplete.onComplete(tween.piece);
+            }
+        }
+        finished.clear();
+    }
+}
@@ -0,0 +1,64 @@
+package org.kamatech.chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for one board size: a random long per (piece plane, cell,
+ * cooldown bucket), XORed together into a position hash. Moving, capturing or
+ * promoting a piece changes the hash by XORing a few keys in and out.
+ *
+ * Cooldowns are hashed as buckets of {@link #BUCKET_MILLIS} remaining time, so
+ * positions that differ only by a few milliseconds of cooldown share a hash.
+ * Keys come from a fixed seed and are the same in every run.
+ */
+public final class Zobrist {
+    /** Remaining cooldown covered by one bucket */
+    public static final long BUCKET_MILLIS = 500;
+    /** Bucket 0 is "ready"; the last bucket holds every longer cooldown */
+    public static final int BUCKETS = 8;
+
+    private static final int PLANES = 2 * Bitboards.KINDS.length();
+    private static final long SEED = 0x4B4643686573734CL;
+
+    private final int cellCount;
+    private final long[] keys; // [(plane * cellCount + cell) * BUCKETS + bucket]
+    private final long blackToMove;
+
+    public Zobrist(int widthCells, int heightCells) {
+        this.cellCount = widthCells * heightCells;
+        this.keys = new long[PLANES * cellCount * BUCKETS];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        this.blackToMove = random.nextLong();
+    }
+
+    /**
+     * Bucket of a remaining cooldown; 0 when the piece is ready
+     */
+    public static int bucketOf(long remainingMillis) {
+        if (remainingMillis <= 0) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, 1 + (remainingMillis - 1) / BUCKET_MILLIS);
+    }
+
+    /**
+     * Key of a piece plane (color * 6 + kind) on a cell in a cooldown bucket
+     */
+    public long key(int plane, int cell, int bucket) {
+        return keys[(plane * cellCount + cell) * BUCKETS + bucket];
+    }
+
+    /**
+     * XORed into a hash when black is to move
+     */
+    public long getBlackToMove() {
+        return blackToMove;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+}
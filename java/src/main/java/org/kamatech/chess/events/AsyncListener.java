@@ -0,0 +1,227 @@
+package org.kamatech.chess.events;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers events to a listener off the publisher's thread.
+ * Events are buffered in a bounded ring queue and drained in order by the
+ * given executor (a dedicated thread, the Swing EDT, ...), so a slow listener
+ * never stalls input handling or the simulation tick.
+ */
+public class AsyncListener<T extends Event> implements EventListener<T> {
+
+    /**
+     * What to do when an event arrives and the queue is full
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST, // Discard the oldest queued event (e.g. sounds)
+        DROP_NEWEST, // Discard the incoming event
+        BLOCK // Wait for room (e.g. logs). Never use with an executor that also publishes.
+    }
+
+    // Events delivered per executor task before yielding the executor
+    private static final int MAX_BATCH = 64;
+
+    private final EventListener<? super T> delegate;
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final Object[] events;
+    private final long[] enqueuedAt;
+    private final Runnable drainTask = this::drain;
+
+    private int head;
+    private int size;
+    private boolean scheduled;
+    private volatile Thread drainThread;
+
+    // Metrics
+    private volatile long deliveredCount;
+    private volatile long droppedCount;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+
+    public AsyncListener(EventListener<? super T> delegate, Executor executor, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.policy = policy;
+        this.events = new Object[capacity];
+        this.enqueuedAt = new long[capacity];
+    }
+
+    public EventListener<? super T> getDelegate() {
+        return delegate;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * Queue an event for delivery on the executor
+     */
+    @Override
+    public void onEvent(T event) {
+        boolean schedule = false;
+        synchronized (this) {
+            if (size == events.length) {
+                switch (policy) {
+                    case DROP_OLDEST:
+                        events[head] = null;
+                        head = (head + 1) % events.length;
+                        size--;
+                        droppedCount++;
+                        break;
+                    case DROP_NEWEST:
+                        droppedCount++;
+                        return;
+                    case BLOCK:
+                        if (Thread.currentThread() == drainThread) {
+                            // The listener published to itself; waiting here would never end
+                            droppedCount++;
+                            return;
+                        }
+                        while (size == events.length) {
+                            try {
+                                wait();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                droppedCount++;
+                                return;
+                            }
+                        }
+                        break;
+                }
+            }
+
+            int tail = (head + size) % events.length;
+            events[tail] = event;
+            enqueuedAt[tail] = System.nanoTime();
+            size++;
+            if (!scheduled) {
+                scheduled = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                droppedCount += size;
+                Arrays.fill(events, null);
+                head = 0;
+                size = 0;
+                scheduled = false;
+                notifyAll();
+            }
+            System.err.println("EventBus: executor rejected delivery to "
+                    + delegate.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver queued events in order, yielding the executor after a batch
+     */
+    private void drain() {
+        drainThread = Thread.currentThread();
+        boolean aborted = true; // Cleared on every normal exit
+        try {
+            for (int delivered = 0; delivered < MAX_BATCH; delivered++) {
+                T event;
+                long queuedAt;
+                synchronized (this) {
+                    if (size == 0) {
+                        scheduled = false;
+                        aborted = false;
+                        return;
+                    }
+                    @SuppressWarnings("unchecked")
+                    T next = (T) events[head];
+                    event = next;
+                    queuedAt = enqueuedAt[head];
+                    events[head] = null;
+                    head = (head + 1) % events.length;
+                    size--;
+                    if (policy == OverflowPolicy.BLOCK) {
+                        notifyAll();
+                    }
+                }
+
+                long lag = System.nanoTime() - queuedAt;
+                lastLagNanos = lag;
+                if (lag > maxLagNanos) {
+                    maxLagNanos = lag;
+                }
+                try {
+                    delegate.onEvent(event);
+                } catch (RuntimeException e) {
+                    System.err.println("EventBus: " + delegate.getClass().getSimpleName() + " failed on "
+                            + event.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+                deliveredCount++;
+            }
+            aborted = false;
+        } finally {
+            drainThread = null;
+            if (aborted) {
+                // An Error escaped the listener; let the next event schedule delivery again
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+        // Batch exhausted with events still queued; let other executor work run first
+        schedule();
+    }
+
+    /**
+     * Number of events waiting for delivery
+     */
+    public synchronized int getPendingCount() {
+        return size;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Queueing delay of the most recently delivered event, in nanoseconds
+     */
+    public long getLastLagNanos() {
+        return lastLagNanos;
+    }
+
+    /**
+     * Largest queueing delay seen so far, in nanoseconds
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    /**
+     * How long the oldest pending event has been waiting, in nanoseconds (0 if
+     * the queue is empty)
+     */
+    public synchronized long getCurrentLagNanos() {
+        return size == 0 ? 0 : System.nanoTime() - enqueuedAt[head];
+    }
+}
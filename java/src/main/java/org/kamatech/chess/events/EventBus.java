@@ -1,25 +1,202 @@
 package org.kamatech.chess.events;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Publish/subscribe hub for game events.
+ * Safe to use from the game loop, the Swing EDT and other threads at once.
+ * Listeners may subscribe to a concrete event class or to any supertype or
+ * interface (e.g. {@code Event.class}). For each published class the matching
+ * listeners are resolved once into an immutable array and cached, so
+ * publishing reads a single array without locking, map lookups or allocation.
+ */
 public class EventBus {
-    private final Map<Class<? extends Event>, List<EventListener<? extends Event>>> listeners = new HashMap<>();
+    private static final EventListener<?>[] NO_LISTENERS = new EventListener<?>[0];
 
-    public <T extends Event> void subscribe(Class<T> eventType, EventListener<T> listener) {
-        listeners.computeIfAbsent(eventType, k -> new ArrayList<>()).add(listener);
-        System.out.println("DEBUG: EventBus - Subscribed " + listener.getClass().getSimpleName() + " to "
-                + eventType.getSimpleName());
+    /**
+     * One subscribe call: the type subscribed to and its listener
+     */
+    private static final class Registration {
+        final Class<?> eventType;
+        final EventListener<?> listener;
+
+        Registration(Class<?> eventType, EventListener<?> listener) {
+            this.eventType = eventType;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Listeners resolved for one published class, valid while the registrations
+     * array they were built from is current
+     */
+    private static final class Resolved {
+        final Registration[] source;
+        final EventListener<?>[] listeners;
+
+        Resolved(Registration[] source, EventListener<?>[] listeners) {
+            this.source = source;
+            this.listeners = listeners;
+        }
+    }
+
+    private static final class ResolvedSlot {
+        volatile Resolved resolved;
+    }
+
+    // All registrations in subscription order, replaced (never mutated) on subscribe
+    private volatile Registration[] registrations = new Registration[0];
+
+    // Per published class cache, reached through the class itself instead of a map
+    private final ClassValue<ResolvedSlot> resolvedCache = new ClassValue<>() {
+        @Override
+        protected ResolvedSlot computeValue(Class<?> type) {
+            return new ResolvedSlot();
+        }
+    };
+
+    private final List<AsyncListener<?>> asyncListeners = new CopyOnWriteArrayList<>();
+    private final List<ExecutorService> ownedExecutors = new CopyOnWriteArrayList<>();
+
+    private volatile boolean debug;
+
+    public EventBus() {
+        this(Boolean.getBoolean("kfchess.eventbus.debug"));
+    }
+
+    public EventBus(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     * Enable or disable diagnostic printing. Disabled by default; can also be
+     * turned on with -Dkfchess.eventbus.debug=true
+     */
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Subscribe a listener to an event type. The listener also receives events
+     * of every subclass or implementation of that type.
+     */
+    public <T extends Event> void subscribe(Class<T> eventType, EventListener<? super T> listener) {
+        synchronized (this) {
+            Registration[] current = registrations;
+            Registration[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = new Registration(eventType, listener);
+            // Publishing a new array invalidates every resolved cache entry
+            registrations = updated;
+        }
+        if (debug) {
+            System.out.println("DEBUG: EventBus - Subscribed " + listener.getClass().getSimpleName() + " to "
+                    + eventType.getSimpleName());
+        }
     }
 
     public <T extends Event> void publish(T event) {
-        List<EventListener<? extends Event>> registered = listeners.getOrDefault(event.getClass(), List.of());
-        System.out.println("DEBUG: EventBus - Publishing " + event.getClass().getSimpleName() + " to "
-                + registered.size() + " listeners");
+        EventListener<?>[] registered = listenersFor(event.getClass());
+        if (debug) {
+            System.out.println("DEBUG: EventBus - Publishing " + event.getClass().getSimpleName() + " to "
+                    + registered.length + " listeners");
+        }
         for (EventListener<?> listener : registered) {
             @SuppressWarnings("unchecked")
             EventListener<T> typedListener = (EventListener<T>) listener;
-            System.out.println("DEBUG: EventBus - Calling onEvent on " + listener.getClass().getSimpleName());
+            if (debug) {
+                System.out.println("DEBUG: EventBus - Calling onEvent on " + listener.getClass().getSimpleName());
+            }
             typedListener.onEvent(event);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the listeners for a published class, rebuilding the cached array only
+     * after a subscribe
+     */
+    private EventListener<?>[] listenersFor(Class<?> eventClass) {
+        ResolvedSlot slot = resolvedCache.get(eventClass);
+        Registration[] current = registrations;
+        Resolved resolved = slot.resolved;
+        if (resolved == null || resolved.source != current) {
+            resolved = resolve(eventClass, current);
+            slot.resolved = resolved;
+        }
+        return resolved.listeners;
+    }
+
+    private static Resolved resolve(Class<?> eventClass, Registration[] source) {
+        int count = 0;
+        for (Registration registration : source) {
+            if (registration.eventType.isAssignableFrom(eventClass)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new Resolved(source, NO_LISTENERS);
+        }
+        EventListener<?>[] listeners = new EventListener<?>[count];
+        int i = 0;
+        for (Registration registration : source) {
+            if (registration.eventType.isAssignableFrom(eventClass)) {
+                listeners[i++] = registration.listener;
+            }
+        }
+        return new Resolved(source, listeners);
+    }
+
+    /**
+     * Subscribe a listener that is called on its own daemon thread instead of
+     * the publisher's thread
+     */
+    public <T extends Event> AsyncListener<T> subscribeAsync(Class<T> eventType, EventListener<? super T> listener,
+            int capacity, AsyncListener.OverflowPolicy policy) {
+        String threadName = "EventBus-" + listener.getClass().getSimpleName();
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ownedExecutors.add(executor);
+        return subscribeAsync(eventType, listener, executor, capacity, policy);
+    }
+
+    /**
+     * Subscribe a listener whose events are queued and delivered by the given
+     * executor (e.g. SwingUtilities::invokeLater for UI listeners)
+     */
+    public <T extends Event> AsyncListener<T> subscribeAsync(Class<T> eventType, EventListener<? super T> listener,
+            Executor executor, int capacity, AsyncListener.OverflowPolicy policy) {
+        AsyncListener<T> async = new AsyncListener<>(listener, executor, capacity, policy);
+        asyncListeners.add(async);
+        subscribe(eventType, async);
+        return async;
+    }
+
+    /**
+     * Get all asynchronous subscriptions, for lag and drop metrics
+     */
+    public List<AsyncListener<?>> getAsyncListeners() {
+        return List.copyOf(asyncListeners);
+    }
+
+    /**
+     * Stop the delivery threads created by
+     * {@link #subscribeAsync(Class, EventListener, int, AsyncListener.OverflowPolicy)}
+     */
+    public void shutdown() {
+        for (ExecutorService executor : ownedExecutors) {
+            executor.shutdown();
+        }
+        ownedExecutors.clear();
+    }
+}
@@ -2,144 +2,187 @@ package org.kamatech.chess.listeners;
 
 import org.kamatech.chess.events.*;
 import javax.sound.sampled.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * Sound player for chess game events - plays WAV files
+ * Sound player for chess game events - plays WAV files.
+ * All sounds are decoded once at startup into PCM buffers, and each sound
+ * gets a small pool of open clips on a mixer resolved once, so triggering a
+ * sound only rewinds and starts a clip and overlapping sounds can play
+ * together.
  */
 public class SoundPlayer implements EventListener<SoundEvent> {
 
-    private final BlockingQueue<String> soundQueue = new LinkedBlockingQueue<>();
-    private volatile boolean running = true;
-
-    public SoundPlayer() {
-        preloadAudioSystem();
-        startSoundWorker();
-    }
+    // Clips per sound, i.e. how many copies of the same sound may overlap
+    private static final int CLIPS_PER_SOUND = 3;
+    private static final float GAIN_DB = 6.0f;
 
     /**
-     * Pre-load the audio system to avoid delay on first sound
+     * Ready-to-play clips for one sound, reused round-robin
      */
-    private void preloadAudioSystem() {
-        try {
-            java.io.InputStream stream = getClass().getResourceAsStream("/1.wav");
-            if (stream != null) {
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(stream);
-                Mixer.Info[] mixers = AudioSystem.getMixerInfo();
-
-                for (int i = 0; i < mixers.length; i++) {
-                    try {
-                        Mixer mixer = AudioSystem.getMixer(mixers[i]);
-                        DataLine.Info clipInfo = new DataLine.Info(Clip.class, audioStream.getFormat());
-                        if (mixer.isLineSupported(clipInfo)) {
-                            Clip clip = (Clip) mixer.getLine(clipInfo);
-                            clip.open(audioStream);
-                            clip.close();
-                            break;
-                        }
-                    } catch (Exception e) {
-                        // Continue to next mixer
-                    }
-                }
-                audioStream.close();
-            }
-        } catch (Exception e) {
-            // Audio pre-loading failed - continue anyway
+    private static final class ClipPool {
+        private final Clip[] clips;
+        private int next;
+
+        ClipPool(Clip[] clips) {
+            this.clips = clips;
         }
-    }
 
-    /**
-     * Start the single worker thread that processes sound requests
-     */
-    private void startSoundWorker() {
-        Thread soundWorker = new Thread(() -> {
-            while (running) {
-                try {
-                    String fileName = soundQueue.take();
-                    playWavFileSync(fileName);
-                } catch (InterruptedException e) {
+        synchronized void play() {
+            // Prefer an idle clip; if all are busy restart the least recently used one
+            Clip clip = null;
+            for (int i = 0; i < clips.length; i++) {
+                Clip candidate = clips[next];
+                next = (next + 1) % clips.length;
+                if (!candidate.isRunning()) {
+                    clip = candidate;
                     break;
-                } catch (Exception e) {
-                    // Sound worker error - continue
                 }
             }
-        });
-        soundWorker.setDaemon(true);
-        soundWorker.setName("SoundPlayer-Worker");
-        soundWorker.start();
+            if (clip == null) {
+                clip = clips[next];
+                next = (next + 1) % clips.length;
+                clip.stop();
+            }
+            clip.setFramePosition(0);
+            clip.start();
+        }
+
+        synchronized void close() {
+            for (Clip clip : clips) {
+                clip.stop();
+                clip.close();
+            }
+        }
     }
 
-    @Override
-    public void onEvent(SoundEvent event) {
-        String fileName;
-        switch (event.soundType) {
+    // Indexed by SoundEvent.SoundType ordinal; null when the sound could not be loaded
+    private final ClipPool[] pools = new ClipPool[SoundEvent.SoundType.values().length];
+
+    public SoundPlayer() {
+        loadSounds();
+    }
+
+    /**
+     * Get the resource file played for a sound type
+     */
+    static String fileNameFor(SoundEvent.SoundType soundType) {
+        switch (soundType) {
             case MOVE:
-                fileName = "1.wav";
-                break;
+                return "1.wav";
             case JUMP:
-                fileName = "2.wav";
-                break;
+                return "2.wav";
             case EAT:
-                fileName = "3.wav";
-                break;
+                return "3.wav";
             default:
-                return;
+                return null;
         }
-
-        soundQueue.clear();
-        soundQueue.offer(fileName);
     }
 
     /**
-     * Play a WAV file
+     * Decode every sound and open its clip pool on the first mixer that can play
+     * it. The working mixer is remembered so later sounds skip the search.
      */
-    private synchronized void playWavFileSync(String fileName) {
-        Mixer.Info[] mixers = AudioSystem.getMixerInfo();
-
-        for (int i = 0; i < mixers.length; i++) {
-            try {
-                java.io.InputStream stream = getClass().getResourceAsStream("/" + fileName);
-                if (stream == null) {
-                    return;
+    private void loadSounds() {
+        Mixer mixer = null;
+        for (SoundEvent.SoundType soundType : SoundEvent.SoundType.values()) {
+            String fileName = fileNameFor(soundType);
+            if (fileName == null) {
+                continue;
+            }
+            try (InputStream resource = getClass().getResourceAsStream("/" + fileName)) {
+                if (resource == null) {
+                    continue;
+                }
+                AudioFormat format;
+                byte[] pcm;
+                try (AudioInputStream audioStream = AudioSystem
+                        .getAudioInputStream(new BufferedInputStream(resource))) {
+                    format = audioStream.getFormat();
+                    pcm = readAll(audioStream);
                 }
 
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(stream);
-                Mixer mixer = AudioSystem.getMixer(mixers[i]);
+                DataLine.Info clipInfo = new DataLine.Info(Clip.class, format);
+                if (mixer == null || !mixer.isLineSupported(clipInfo)) {
+                    mixer = findMixer(clipInfo);
+                }
+                if (mixer == null) {
+                    continue;
+                }
 
-                DataLine.Info clipInfo = new DataLine.Info(Clip.class, audioStream.getFormat());
-                if (mixer.isLineSupported(clipInfo)) {
+                Clip[] clips = new Clip[CLIPS_PER_SOUND];
+                for (int i = 0; i < clips.length; i++) {
                     Clip clip = (Clip) mixer.getLine(clipInfo);
-                    clip.open(audioStream);
-
+                    clip.open(format, pcm, 0, pcm.length);
                     if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
                         FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                        gainControl.setValue(6.0f);
+                        gainControl.setValue(Math.min(GAIN_DB, gainControl.getMaximum()));
                     }
-
-                    clip.start();
-                    Thread.sleep(500);
-                    clip.stop();
-                    clip.close();
-                    audioStream.close();
-                    stream.close();
-                    return;
+                    clips[i] = clip;
                 }
+                pools[soundType.ordinal()] = new ClipPool(clips);
+            } catch (Exception e) {
+                // Sound could not be loaded - play the others without it
+            }
+        }
+    }
 
-                audioStream.close();
-                stream.close();
-
+    private static Mixer findMixer(DataLine.Info clipInfo) {
+        for (Mixer.Info info : AudioSystem.getMixerInfo()) {
+            try {
+                Mixer mixer = AudioSystem.getMixer(info);
+                if (mixer.isLineSupported(clipInfo)) {
+                    return mixer;
+                }
             } catch (Exception e) {
                 // Continue to next mixer
             }
         }
+        return null;
+    }
+
+    private static byte[] readAll(AudioInputStream audioStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = audioStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Check whether a sound type has clips ready to play
+     */
+    public boolean isLoaded(SoundEvent.SoundType soundType) {
+        return pools[soundType.ordinal()] != null;
+    }
+
+    @Override
+    public void onEvent(SoundEvent event) {
+        ClipPool pool = pools[event.soundType.ordinal()];
+        if (pool == null) {
+            return;
+        }
+        try {
+            pool.play();
+        } catch (Exception e) {
+            // Audio device error - skip this sound
+        }
     }
 
     /**
      * Clean shutdown
      */
     public void shutdown() {
-        running = false;
-        soundQueue.clear();
+        for (int i = 0; i < pools.length; i++) {
+            if (pools[i] != null) {
+                pools[i].close();
+                pools[i] = null;
+            }
+        }
     }
 }
@@ -0,0 +1,42 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AIPlayerTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    @Test
+    void testPlaysCaptureThroughEngineCommands(@TempDir Path logDir) throws InterruptedException {
+        ManualClock clock = new ManualClock();
+        GameEngine engine = new GameEngine(8, 8, FACTORY, clock, new GameLogger(logDir.toString()));
+        engine.addPiece("KW_1", FACTORY.createPiece("KW", 4, 7));
+        engine.addPiece("KB_1", FACTORY.createPiece("KB", 0, 0));
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 2, 7));
+        engine.start();
+
+        try (AIPlayer ai = new AIPlayer(engine, Command.Player.BLACK, 100, 2)) {
+            for (int tick = 0; tick < 400 && engine.isRunning(); tick++) {
+                ai.update();
+                clock.advanceMillis(33);
+                engine.update(33);
+                Thread.sleep(5);
+            }
+            assertNotNull(ai.getLastResult(), "AI should have decided");
+            assertTrue(ai.getLastResult().getNodesPerSecond() > 0);
+        }
+        assertFalse(engine.isRunning(), "Black's rook should capture the white king");
+        assertNull(engine.getPiece("KW_1"));
+    }
+
+    @Test
+    void testRejectsSystemPlayer(@TempDir Path logDir) {
+        GameEngine engine = new GameEngine(8, 8, FACTORY, new ManualClock(), new GameLogger(logDir.toString()));
+        assertThrows(IllegalArgumentException.class, () -> new AIPlayer(engine, Command.Player.SYSTEM, 100, 1));
+    }
+}
@@ -0,0 +1,83 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitboardsTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    @Test
+    void testPlanesUseOneBitPerCellOnStandardBoard() {
+        Bitboards boards = new Bitboards(8, 8);
+        assertEquals(1, boards.getWords());
+
+        boards.add(FACTORY.createPiece("RW", 0, 7));
+        boards.add(FACTORY.createPiece("RW", 7, 7));
+        boards.add(FACTORY.createPiece("NB", 1, 0));
+
+        assertEquals((1L << 56) | (1L << 63), boards.getBits('R', true));
+        assertEquals(1L << 1, boards.getBits('N', false));
+        assertEquals(boards.getBits('R', true), boards.getOccupancy(true));
+        assertEquals(2, boards.count('R', true));
+        assertEquals('N', boards.kindAt(1, 0, false));
+        assertEquals(0, boards.kindAt(1, 0, true));
+    }
+
+    @Test
+    void testMovingPieceKeepsCountButLeavesCells() {
+        Bitboards boards = new Bitboards(8, 8);
+        Piece king = FACTORY.createPiece("KW", 4, 7);
+        boards.add(king);
+
+        boards.lift(king);
+        king.setPosition(4.5, 6.5);
+        boards.place(king);
+        assertFalse(boards.isOccupied(4, 7));
+        assertEquals(0, boards.getOccupancy(true));
+        assertTrue(boards.isKingAlive(true), "A king between cells is still alive");
+
+        boards.lift(king);
+        king.setPosition(5, 6);
+        boards.place(king);
+        assertTrue(boards.isOccupied(5, 6, true));
+
+        boards.remove(king);
+        assertFalse(boards.isKingAlive(true));
+        assertFalse(boards.isOccupied(5, 6));
+    }
+
+    @Test
+    void testAttacksFollowLeaperMasksAndBlockedRays() {
+        Bitboards boards = new Bitboards(8, 8);
+        boards.add(FACTORY.createPiece("NW", 1, 7));
+        boards.add(FACTORY.createPiece("PW", 4, 6));
+        boards.add(FACTORY.createPiece("RB", 0, 0));
+        boards.add(FACTORY.createPiece("PB", 0, 3));
+
+        assertTrue(boards.isAttacked(2, 5, true), "Knight attacks c3");
+        assertTrue(boards.isAttacked(3, 5, true), "White pawn attacks diagonally up");
+        assertFalse(boards.isAttacked(4, 5, true), "Pawn does not attack straight ahead");
+        assertTrue(boards.isAttacked(0, 2, false), "Rook attacks down to the blocker");
+        assertTrue(boards.isAttacked(0, 3, false), "Rook attacks the blocking cell");
+        assertFalse(boards.isAttacked(0, 5, false), "Rook ray stops at the blocker");
+        assertTrue(boards.isAttacked(7, 0, false), "Rook attacks along the empty rank");
+    }
+
+    @Test
+    void testLargerBoardsSpanSeveralWords() {
+        Bitboards boards = new Bitboards(10, 10);
+        assertEquals(2, boards.getWords());
+
+        boards.add(FACTORY.createPiece("QB", 9, 9));
+        boards.add(FACTORY.createPiece("KW", 0, 0));
+
+        long[] queens = boards.getPlane('Q', false);
+        assertEquals(0, queens[0]);
+        assertEquals(1L << (99 - 64), queens[1]);
+        assertTrue(boards.isAttacked(0, 0, false), "Queen attacks along the long diagonal");
+        assertTrue(boards.isAttacked(9, 0, false));
+        assertFalse(boards.isAttacked(1, 0, false));
+    }
+}
@@ -0,0 +1,51 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardGeometryTest {
+
+    @Test
+    void testFitUsesLargestSquareCellsAndCenters() {
+        BoardGeometry geometry = BoardGeometry.fit(700, 1100, 8, 8);
+
+        assertEquals(87, geometry.getCellWidth());
+        assertEquals(87, geometry.getCellHeight());
+        assertEquals(696, geometry.getBoardWidth());
+        assertEquals(696, geometry.getBoardHeight());
+        assertEquals(2, geometry.getOriginX());
+        assertEquals(202, geometry.getOriginY());
+    }
+
+    @Test
+    void testScalesToLargeDisplays() {
+        BoardGeometry geometry = BoardGeometry.fit(3840, 2000, 8, 8);
+        assertEquals(250, geometry.getCellWidth());
+        assertEquals(2000, geometry.getBoardHeight());
+    }
+
+    @Test
+    void testPixelPositionsMatchScaling() {
+        BoardGeometry geometry = BoardGeometry.fit(800, 800, 8, 8);
+
+        assertEquals(0, geometry.toPixelX(0));
+        assertEquals(300, geometry.toPixelX(3));
+        assertEquals(700, geometry.toPixelY(7));
+        assertEquals(350, geometry.toPixelX(3.5), "Positions between cells should be scaled");
+        assertEquals(-100, geometry.toPixelY(-1), "Positions off the board should still be scaled");
+    }
+
+    @Test
+    void testMatchesPanelSize() {
+        BoardGeometry geometry = BoardGeometry.fit(800, 600, 8, 8);
+        assertTrue(geometry.matches(800, 600));
+        assertFalse(geometry.matches(800, 601));
+    }
+
+    @Test
+    void testTinyPanelKeepsPositiveCells() {
+        BoardGeometry geometry = BoardGeometry.fit(0, 0, 8, 8);
+        assertEquals(1, geometry.getCellWidth());
+    }
+}
@@ -0,0 +1,56 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedLayerTest {
+
+    private static final CachedLayer.Painter RED_LEFT_HALF = (g, width, height) -> {
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, width / 2, height);
+    };
+
+    @Test
+    void testContentsRenderedOnceAndReused() {
+        CachedLayer layer = new CachedLayer(RED_LEFT_HALF);
+        BufferedImage target = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        layer.draw(g, 0, 0, 100, 50);
+        layer.draw(g, 0, 0, 100, 50);
+        g.dispose();
+
+        assertEquals(1, layer.getRenderCount(), "Unchanged layer should not be re-rendered");
+        assertEquals(Color.RED.getRGB(), target.getRGB(10, 10));
+        assertEquals(0, target.getRGB(90, 10), "Unpainted part of the layer should stay transparent");
+    }
+
+    @Test
+    void testResizeAndInvalidateRerender() {
+        CachedLayer layer = new CachedLayer(RED_LEFT_HALF);
+        BufferedImage target = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        layer.draw(g, 0, 0, 100, 50);
+        layer.draw(g, 0, 0, 200, 100);
+        assertEquals(2, layer.getRenderCount(), "Resize should re-render the layer");
+        assertEquals(Color.RED.getRGB(), target.getRGB(90, 80));
+
+        layer.invalidate();
+        layer.draw(g, 0, 0, 200, 100);
+        g.dispose();
+        assertEquals(3, layer.getRenderCount(), "Invalidate should re-render the layer");
+    }
+
+    @Test
+    void testEmptySizeDrawsNothing() {
+        CachedLayer layer = new CachedLayer(RED_LEFT_HALF);
+        BufferedImage target = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        layer.draw(g, 0, 0, 0, 10);
+        g.dispose();
+        assertEquals(0, layer.getRenderCount());
+    }
+}
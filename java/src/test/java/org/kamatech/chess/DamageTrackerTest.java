@@ -0,0 +1,66 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DamageTrackerTest {
+
+    private static List<Rectangle> flush(DamageTracker tracker) {
+        List<Rectangle> rects = new ArrayList<>();
+        tracker.flush(10, 20, 100, 100, (x, y, w, h) -> rects.add(new Rectangle(x, y, w, h)));
+        return rects;
+    }
+
+    @Test
+    void testIdleBoardRepaintsNothing() {
+        DamageTracker tracker = new DamageTracker(8, 8);
+        assertFalse(tracker.isDirty());
+        assertTrue(flush(tracker).isEmpty());
+    }
+
+    @Test
+    void testAdjacentCellsInARowAreMerged() {
+        DamageTracker tracker = new DamageTracker(8, 8);
+        tracker.markCell(2, 3);
+        tracker.markCell(3, 3);
+        tracker.markCell(6, 5);
+
+        List<Rectangle> rects = flush(tracker);
+        assertEquals(2, rects.size());
+        Rectangle run = rects.get(0);
+        assertTrue(run.contains(new Rectangle(10 + 200, 20 + 300, 200, 100)));
+        assertTrue(run.width < 300, "Run should only cover the two marked cells plus padding");
+        assertTrue(rects.get(1).contains(new Rectangle(10 + 600, 20 + 500, 100, 100)));
+
+        assertFalse(tracker.isDirty(), "Flush should clear the marks");
+        assertTrue(flush(tracker).isEmpty());
+    }
+
+    @Test
+    void testPositionBetweenCellsMarksAllCoveredCells() {
+        DamageTracker tracker = new DamageTracker(8, 8);
+        tracker.markPosition(1.5, 2.5);
+        List<Rectangle> rects = flush(tracker);
+        // Cells (1..2, 2..3): one run per row
+        assertEquals(2, rects.size());
+        assertTrue(rects.get(0).contains(new Rectangle(10 + 100, 20 + 200, 200, 100)));
+        assertTrue(rects.get(1).contains(new Rectangle(10 + 100, 20 + 300, 200, 100)));
+    }
+
+    @Test
+    void testMarkAllAndOffBoardCells() {
+        DamageTracker tracker = new DamageTracker(8, 8);
+        tracker.markCell(-1, 0);
+        tracker.markCell(8, 8);
+        assertFalse(tracker.isDirty(), "Cells off the board should be ignored");
+
+        tracker.markAll();
+        List<Rectangle> rects = flush(tracker);
+        assertEquals(1, rects.size());
+        assertTrue(rects.get(0).contains(new Rectangle(10, 20, 800, 800)));
+    }
+}
@@ -0,0 +1,73 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedTimestepLoopTest {
+
+    @Test
+    void testAccumulatesWholeSteps() {
+        ManualClock clock = new ManualClock();
+        List<Long> steps = new ArrayList<>();
+        int[] renders = { 0 };
+        FixedTimestepLoop loop = new FixedTimestepLoop(clock, 33, steps::add, () -> renders[0]++);
+
+        clock.advanceMillis(20);
+        assertEquals(0, loop.tick(), "No step is due before 33ms");
+        assertEquals(0, renders[0], "Nothing to render without a step");
+
+        clock.advanceMillis(80); // 100ms total
+        assertEquals(3, loop.tick());
+        assertEquals(List.of(33L, 33L, 33L), steps, "Every step uses the fixed delta");
+        assertEquals(1, renders[0], "One render per tick");
+
+        clock.advanceMillis(32); // 132ms total: 1ms leftover + 32ms
+        assertEquals(1, loop.tick(), "Leftover time is carried to the next tick");
+        assertEquals(4, loop.getTotalSteps());
+    }
+
+    @Test
+    void testBacklogIsCapped() {
+        ManualClock clock = new ManualClock();
+        int[] steps = { 0 };
+        FixedTimestepLoop loop = new FixedTimestepLoop(clock, 10, 5, dt -> steps[0]++, null);
+
+        clock.advanceMillis(1000);
+        assertEquals(5, loop.tick(), "A long stall runs at most the step cap");
+        assertEquals(0, loop.tick(), "Dropped backlog is not replayed");
+    }
+
+    @Test
+    void testStateRunsOnManualClock() {
+        ManualClock clock = new ManualClock(5000);
+        State state = new State(new Moves(List.of("1,0"), 1000), new Graphics(null), new Physics(null), clock);
+
+        state.setState(State.PieceState.REST); // 2 x cooldown
+        assertFalse(state.canPerformAction());
+        assertEquals(2000, state.getRemainingStateTime());
+
+        clock.advanceMillis(1500);
+        assertEquals(500, state.getRemainingStateTime());
+
+        clock.advanceMillis(500);
+        assertTrue(state.canPerformAction());
+        state.update();
+        assertEquals(State.PieceState.IDLE, state.getCurrentState());
+    }
+
+    @Test
+    void testSetClockKeepsElapsedTime() {
+        ManualClock first = new ManualClock(100);
+        State state = new State(new Moves(List.of(), 1000), new Graphics(null), new Physics(null), first);
+        state.setState(State.PieceState.REST);
+        first.advanceMillis(400);
+
+        ManualClock second = new ManualClock(90_000);
+        state.setClock(second);
+        assertEquals(1600, state.getRemainingStateTime());
+    }
+}
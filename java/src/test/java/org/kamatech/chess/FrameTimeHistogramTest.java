@@ -0,0 +1,54 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameTimeHistogramTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMeanMillis());
+        assertEquals(0.0, histogram.getPercentileMillis(99));
+    }
+
+    @Test
+    void testPercentilesAndMean() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(16 * MS + MS / 10);
+        }
+        histogram.record(40 * MS);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(16.5, histogram.getPercentileMillis(50), 1e-9);
+        assertEquals(16.5, histogram.getPercentileMillis(99), 1e-9);
+        assertEquals(40.5, histogram.getPercentileMillis(100), 1e-9);
+        assertEquals(40.0, histogram.getMaxMillis(), 1e-9);
+        assertEquals((99 * 16.1 + 40) / 100, histogram.getMeanMillis(), 1e-6);
+    }
+
+    @Test
+    void testOverflowReportsLongestFrame() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.record(5 * MS);
+        histogram.record(250 * MS);
+        assertEquals(250.0, histogram.getPercentileMillis(100), 1e-9);
+    }
+
+    @Test
+    void testResetAndNegativeIgnored() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.record(-1);
+        assertEquals(0, histogram.getCount(), "Negative durations should be ignored");
+
+        histogram.record(10 * MS);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMaxMillis());
+    }
+}
@@ -0,0 +1,282 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEngineTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    private static GameEngine newEngine(ManualClock clock, Path logDir) {
+        GameEngine engine = new GameEngine(8, 8, FACTORY, clock, new GameLogger(logDir.toString()));
+        engine.addPiece("KW_1", FACTORY.createPiece("KW", 4, 7));
+        engine.addPiece("KB_1", FACTORY.createPiece("KB", 4, 0));
+        return engine;
+    }
+
+    @Test
+    void testJumpCaptureOfKingEndsGame(@TempDir Path logDir) {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 4, 6));
+        Command.Player[] winner = new Command.Player[1];
+        engine.setListener(new GameEngine.Listener() {
+            @Override
+            public void gameEnded(Command.Player w, String reason) {
+                winner[0] = w;
+            }
+        });
+        engine.start();
+        assertEquals("KB_1", engine.getSelectedPieceBlack());
+
+        // Rook jumps onto the white king
+        engine.selectPiece("RB_1", Command.Player.BLACK);
+        engine.adjustPendingMove(Command.Player.BLACK, 0, 1);
+        engine.jump(Command.Player.BLACK);
+
+        assertNull(engine.getPiece("KW_1"), "Captured king should be removed");
+        assertFalse(engine.getBitboards().isKingAlive(true));
+        assertEquals('R', engine.getBitboards().kindAt(4, 7, false), "Bitboards should follow the capture");
+        assertFalse(engine.getBitboards().isOccupied(4, 6));
+        assertEquals(7.0, engine.getPiece("RB_1").getY(), "Rook should land on the king's cell");
+        assertFalse(engine.isRunning());
+        assertEquals(Command.Player.BLACK, winner[0]);
+    }
+
+    @Test
+    void testMoveAnimatesOverUpdatesAndReportsCells(@TempDir Path logDir) {
+        ManualClock clock = new ManualClock();
+        GameEngine engine = newEngine(clock, logDir);
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 6));
+        AtomicInteger changedCells = new AtomicInteger();
+        engine.setListener(new GameEngine.Listener() {
+            @Override
+            public void cellChanged(double x, double y) {
+                changedCells.incrementAndGet();
+            }
+        });
+        engine.start();
+        engine.selectPiece("PW_1", Command.Player.WHITE);
+
+        engine.toggleMovementMode(Command.Player.WHITE);
+        assertTrue(engine.isInMovementMode(Command.Player.WHITE));
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -1);
+        assertEquals(5.0, engine.getVisualY(Command.Player.WHITE));
+        engine.toggleMovementMode(Command.Player.WHITE);
+
+        Piece pawn = engine.getPiece("PW_1");
+        assertEquals(State.PieceState.MOVE, pawn.getState().getCurrentState());
+        for (int i = 0; i < 3; i++) {
+            clock.advanceMillis(1000);
+            engine.update(1000);
+        }
+        assertEquals(5.0, pawn.getY(), "Move should complete through update()");
+        assertTrue(changedCells.get() > 0, "Listener should hear about moved cells");
+        assertEquals(1, engine.getMoveCount());
+
+        RenderSnapshot snapshot = engine.captureSnapshot();
+        assertEquals(3, snapshot.getPieceCount());
+        assertTrue(snapshot.getSelectedWhite() >= 0);
+    }
+
+    @Test
+    void testSlidingMoveCannotPassThroughPieces(@TempDir Path logDir) {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 5));
+        engine.start();
+        engine.selectPiece("RW_1", Command.Player.WHITE);
+
+        engine.toggleMovementMode(Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -3);
+        engine.toggleMovementMode(Command.Player.WHITE);
+
+        Piece rook = engine.getPiece("RW_1");
+        assertNotEquals(State.PieceState.MOVE, rook.getState().getCurrentState(), "Blocked slide must not start");
+        assertEquals(7.0, rook.getY());
+    }
+
+    @Test
+    void testIndependentEnginesRunInParallel(@TempDir Path logDir) {
+        long finished = IntStream.range(0, 16).parallel().filter(i -> {
+            GameEngine engine = newEngine(new ManualClock(), logDir.resolve("game" + i));
+            engine.addPiece("QW_1", FACTORY.createPiece("QW", 4, 1));
+            engine.start();
+            engine.selectPiece("QW_1", Command.Player.WHITE);
+            engine.adjustPendingMove(Command.Player.WHITE, 0, -1);
+            engine.jump(Command.Player.WHITE);
+            for (int step = 0; step < 10 && engine.isRunning(); step++) {
+                engine.update(33);
+            }
+            return !engine.isRunning() && engine.getPiece("KB_1") == null;
+        }).count();
+        assertEquals(16, finished, "Every engine should finish its own game");
+    }
+
+    @Test
+    void testSubmittedInputRunsOnNextUpdate(@TempDir Path logDir) throws InterruptedException {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        engine.start();
+
+        Thread inputThread = new Thread(() -> engine.submit(() -> engine.selectPiece("RW_1", Command.Player.WHITE)));
+        inputThread.start();
+        inputThread.join();
+        assertEquals("KW_1", engine.getSelectedPieceWhite(), "Input must wait for the simulation thread");
+
+        engine.update(33);
+        assertEquals("RW_1", engine.getSelectedPieceWhite());
+    }
+
+    @Test
+    void testJumpOntoOwnPieceIsRefused(@TempDir Path logDir) {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        engine.addPiece("RW_2", FACTORY.createPiece("RW", 1, 7));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 1, 0));
+        engine.start();
+
+        engine.selectPiece("RW_1", Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 1, 0);
+        engine.jump(Command.Player.WHITE);
+        assertEquals(0.0, engine.getPiece("RW_1").getX(), "Jump onto an own piece must not land");
+        assertTrue(engine.getBitboards().isOccupied(0, 7));
+        assertTrue(engine.getBitboards().isOccupied(1, 7));
+
+        // The rook that stayed put is still there to be captured
+        engine.selectPiece("RB_1", Command.Player.BLACK);
+        engine.adjustPendingMove(Command.Player.BLACK, 0, 7);
+        engine.jump(Command.Player.BLACK);
+        assertNull(engine.getPiece("RW_2"), "Enemy landing should capture the rook on the cell");
+        assertEquals('R', engine.getBitboards().kindAt(1, 7, false));
+    }
+
+    private static void assertKeysInSync(GameEngine engine) {
+        engine.getPiecesView().forEach((key, piece) -> assertEquals(key, engine.getKeyOf(piece),
+                "Reverse index must map " + key + " back to its key"));
+    }
+
+    @Test
+    void testPieceKeysFollowCapturePromotionAndReplacement(@TempDir Path logDir) {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 0, 3));
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 7, 1));
+        engine.start();
+        assertKeysInSync(engine);
+
+        // Capture: the victim leaves the index
+        Piece victim = engine.getPiece("RB_1");
+        engine.selectPiece("RW_1", Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -4);
+        engine.jump(Command.Player.WHITE);
+        assertNull(engine.getPiece("RB_1"));
+        assertNull(engine.getKeyOf(victim));
+        assertKeysInSync(engine);
+
+        // Promotion: the pawn is replaced by a queen under a new key
+        Piece pawn = engine.getPiece("PW_1");
+        engine.selectPiece("PW_1", Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -1);
+        engine.jump(Command.Player.WHITE);
+        assertNull(engine.getKeyOf(pawn));
+        Piece queen = engine.getPiece("QW_promoted_1");
+        assertNotNull(queen, "Promotion keys come from the engine's counter");
+        assertEquals("QW_promoted_1", engine.getKeyOf(queen));
+        assertKeysInSync(engine);
+
+        // Replacing a key drops the old piece from the index
+        Piece oldRook = engine.getPiece("RW_1");
+        Piece newRook = FACTORY.createPiece("RW", 7, 7);
+        engine.addPiece("RW_1", newRook);
+        assertNull(engine.getKeyOf(oldRook));
+        assertEquals("RW_1", engine.getKeyOf(newRook));
+        assertKeysInSync(engine);
+    }
+
+    @Test
+    void testJumpHalfwayThroughMoveWaitsForLanding(@TempDir Path logDir) {
+        ManualClock clock = new ManualClock();
+        GameEngine engine = newEngine(clock, logDir);
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 6));
+        engine.start();
+        engine.selectPiece("PW_1", Command.Player.WHITE);
+        engine.toggleMovementMode(Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -1);
+        engine.toggleMovementMode(Command.Player.WHITE);
+
+        clock.advanceMillis(1000);
+        engine.update(1000);
+        Piece pawn = engine.getPiece("PW_1");
+        assertTrue(pawn.getY() > 5.0 && pawn.getY() < 6.0, "Pawn should be between cells");
+
+        engine.adjustPendingMove(Command.Player.WHITE, 1, 0);
+        engine.jump(Command.Player.WHITE);
+        for (int i = 0; i < 2; i++) {
+            clock.advanceMillis(1000);
+            engine.update(1000);
+        }
+        assertEquals(0.0, pawn.getX(), "Jump from between cells must be refused");
+        assertEquals(5.0, pawn.getY(), "The move should still land on its cell");
+        assertTrue(engine.getBitboards().isOccupied(0, 5), "The landed pawn is indexed again");
+    }
+
+    @Test
+    void testMoveTargetIsHeldUntilLanding(@TempDir Path logDir) {
+        ManualClock clock = new ManualClock();
+        GameEngine engine = newEngine(clock, logDir);
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 6));
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 1, 5));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 0, 0));
+        engine.start();
+        engine.selectPiece("PW_1", Command.Player.WHITE);
+        engine.toggleMovementMode(Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -1);
+        engine.toggleMovementMode(Command.Player.WHITE);
+        clock.advanceMillis(500);
+        engine.update(500);
+
+        // A friend cannot start a move into the cell the pawn is heading for
+        engine.selectPiece("RW_1", Command.Player.WHITE);
+        engine.toggleMovementMode(Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, -1, 0);
+        engine.toggleMovementMode(Command.Player.WHITE);
+        assertNotEquals(State.PieceState.MOVE, engine.getPiece("RW_1").getState().getCurrentState());
+
+        // An enemy may jump in ahead of the pawn, and is captured when it lands
+        engine.selectPiece("RB_1", Command.Player.BLACK);
+        engine.adjustPendingMove(Command.Player.BLACK, 0, 5);
+        engine.jump(Command.Player.BLACK);
+        assertEquals(5.0, engine.getPiece("RB_1").getY());
+        for (int i = 0; i < 2; i++) {
+            clock.advanceMillis(1000);
+            engine.update(1000);
+        }
+        Piece pawn = engine.getPiece("PW_1");
+        assertNull(engine.getPiece("RB_1"), "The arriving pawn captures the rook in its cell");
+        assertEquals(0, engine.getBitboards().count('R', false));
+        assertEquals(5.0, pawn.getY());
+        assertEquals('P', engine.getBitboards().kindAt(0, 5, true));
+    }
+
+    @Test
+    void testPawnDoubleStepCannotPassThroughPieces(@TempDir Path logDir) {
+        GameEngine engine = newEngine(new ManualClock(), logDir);
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 6));
+        engine.addPiece("NB_1", FACTORY.createPiece("NB", 0, 5));
+        engine.start();
+        engine.selectPiece("PW_1", Command.Player.WHITE);
+
+        engine.toggleMovementMode(Command.Player.WHITE);
+        engine.adjustPendingMove(Command.Player.WHITE, 0, -2);
+        engine.toggleMovementMode(Command.Player.WHITE);
+
+        Piece pawn = engine.getPiece("PW_1");
+        assertNotEquals(State.PieceState.MOVE, pawn.getState().getCurrentState(), "Blocked double step must not start");
+        assertEquals(6.0, pawn.getY());
+    }
+}
@@ -0,0 +1,50 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GlyphCacheTest {
+
+    private static final Font FONT = new Font("Arial", Font.BOLD, 14);
+
+    @Test
+    void testMeasureMatchesFontMetrics() {
+        GlyphCache glyphs = new GlyphCache(FONT, Color.BLUE);
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        FontMetrics metrics = g.getFontMetrics(FONT);
+        g.dispose();
+
+        assertEquals(metrics.stringWidth("3.7"), glyphs.measureTenths(37));
+        assertEquals(metrics.stringWidth("0.4"), glyphs.measureTenths(4));
+        assertEquals(metrics.stringWidth("12.0"), glyphs.measureTenths(120));
+    }
+
+    @Test
+    void testDrawTenthsPaintsInsideMeasuredArea() {
+        GlyphCache glyphs = new GlyphCache(FONT, Color.BLUE);
+        BufferedImage target = new BufferedImage(100, 40, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        glyphs.drawTenths(g, 125, 10, 25);
+        g.dispose();
+
+        int width = glyphs.measureTenths(125);
+        boolean painted = false;
+        for (int x = 0; x < target.getWidth(); x++) {
+            for (int y = 0; y < target.getHeight(); y++) {
+                if (target.getRGB(x, y) != 0) {
+                    painted = true;
+                    assertTrue(x >= 10 && x < 10 + width, "Glyph pixel outside the measured width at x=" + x);
+                    assertTrue(y <= 25 + 5, "Glyph pixel far below the baseline at y=" + y);
+                }
+            }
+        }
+        assertTrue(painted, "Number should be drawn");
+    }
+}
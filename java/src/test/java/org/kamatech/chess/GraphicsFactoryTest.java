@@ -1,6 +1,11 @@
 package org.kamatech.chess;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics2D;
 import java.awt.Color;
@@ -13,10 +18,24 @@ public class GraphicsFactoryTest {
     void testGetSpriteForPieceReturnsImageWhenSpritesExist() {
         PieceFactory pf = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
         Piece p = pf.createPiece("PB", 0, 0);
-        BufferedImage img = GraphicsFactory.getSpriteForPiece(p);
+        BufferedImage img = GraphicsFactory.loadSpriteForPiece(p);
         assertNotNull(img, "Expected a sprite image when sprites are available");
     }
 
+    @Test
+    void testPaintPathNeverLoadsOnTheCallingThread() throws InterruptedException {
+        // Not the EDT, like the active renderer thread: must still get the background load
+        Piece piece = new Piece("ZR", new State(null, null, null), 0, 0, true);
+        assertNull(GraphicsFactory.getSpriteForPiece(piece), "Unloaded frames should not be decoded inline");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!GraphicsFactory.isSpriteCached("ZR", State.PieceState.IDLE)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(GraphicsFactory.isSpriteCached("ZR", State.PieceState.IDLE),
+                "Frames should be loaded in the background");
+    }
+
     @Test
     void testDrawPieceFallbackChangesImage() {
         PieceFactory pf = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
@@ -72,4 +91,57 @@ public class GraphicsFactoryTest {
         assertNotEquals(Color.WHITE.getRGB(), img.getRGB(6, 6), "Selection border (white) should draw border");
         assertNotEquals(Color.WHITE.getRGB(), img.getRGB(16, 16), "Selection border (black) should draw border");
     }
+
+    @Test
+    void testPreloadSpritesDecodesAllFramesIntoCache(@TempDir Path root) throws IOException {
+        // Unique piece code so other tests cannot have cached it already
+        for (String state : new String[] { "idle", "jump" }) {
+            File sprites = root.resolve("ZQ").resolve("states").resolve(state).resolve("sprites").toFile();
+            assertTrue(sprites.mkdirs());
+            for (int i = 1; i <= 3; i++) {
+                BufferedImage frame = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+                ImageIO.write(frame, "png", new File(sprites, i + ".png"));
+            }
+        }
+        assertTrue(new File(root.toFile(), "ZQ/states/short_rest/sprites").mkdirs());
+        new File(root.toFile(), "ZQ/states/short_rest/sprites/1.png").createNewFile();
+
+        GraphicsFactory.PreloadStats stats = GraphicsFactory.preloadSprites(root.toFile());
+        assertEquals(3, stats.getSequences());
+        assertEquals(6, stats.getFrames(), "Unreadable frames should be skipped");
+
+        Piece piece = new Piece("ZQ", new State(null, null, null), 0, 0, true);
+        piece.getState().setState(State.PieceState.JUMP);
+        assertNotNull(GraphicsFactory.getSpriteForPiece(piece), "Preloaded frames should be served from the cache");
+    }
+
+    @Test
+    void testFrameIndexFollowsStateConfig() {
+        StateConfig looping = new StateConfig(10.0, true, 0.0, "idle");
+        assertEquals(0, GraphicsFactory.frameIndex(looping, 0, 4));
+        assertEquals(0, GraphicsFactory.frameIndex(looping, 99, 4));
+        assertEquals(1, GraphicsFactory.frameIndex(looping, 100, 4));
+        assertEquals(1, GraphicsFactory.frameIndex(looping, 500, 4), "Looping animation should wrap around");
+
+        StateConfig once = new StateConfig(10.0, false, 0.0, "idle");
+        assertEquals(3, GraphicsFactory.frameIndex(once, 500, 4), "Non-looping animation should hold the last frame");
+
+        StateConfig still = new StateConfig(0.0, true, 0.0, "idle");
+        assertEquals(0, GraphicsFactory.frameIndex(still, 500, 4));
+    }
+
+    @Test
+    void testSpriteAtlasForNewSizeIsBuiltInBackground() throws InterruptedException {
+        // Unusual size so no other test has built it
+        int size = 73;
+        SpriteAtlas atlas = GraphicsFactory.getSpriteAtlas(size, size);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (atlas == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            atlas = GraphicsFactory.getSpriteAtlas(size, size);
+        }
+        assertNotNull(atlas, "Atlas for the new size should become available");
+        assertTrue(atlas.matches(size, size));
+        assertSame(atlas, GraphicsFactory.getSpriteAtlas(size, size), "Atlas should be reused while the size holds");
+    }
 }
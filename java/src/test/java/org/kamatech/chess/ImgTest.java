@@ -0,0 +1,81 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImgTest {
+
+    private static Img solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, color.getRGB());
+            }
+        }
+        Img img = new Img();
+        img.setImage(image);
+        return img;
+    }
+
+    @Test
+    void testCloneSharesPixels() {
+        Img original = solid(50, 50, Color.WHITE);
+        Img clone = original.clone();
+
+        assertSame(original.getImage(), clone.getImage(), "Clone should not copy the raster");
+        assertTrue(original.isImageShared());
+        assertTrue(clone.isImageShared());
+    }
+
+    @Test
+    void testDrawOnCloneCopiesBeforeWriting() {
+        Img original = solid(50, 50, Color.WHITE);
+        Img clone = original.clone();
+        BufferedImage sharedImage = original.getImage();
+
+        solid(10, 10, Color.RED).drawOn(clone, 0, 0);
+
+        assertNotSame(sharedImage, clone.getImage(), "Writing should give the clone its own copy");
+        assertFalse(clone.isImageShared());
+        assertEquals(Color.RED.getRGB(), clone.getImage().getRGB(5, 5));
+        assertEquals(Color.WHITE.getRGB(), original.getImage().getRGB(5, 5), "Original must be unchanged");
+        assertEquals(Color.WHITE.getRGB(), clone.getImage().getRGB(30, 30), "Copy should keep the old pixels");
+    }
+
+    @Test
+    void testDrawOnOriginalDoesNotLeakIntoClone() {
+        Img original = solid(50, 50, Color.WHITE);
+        Img clone = original.clone();
+
+        solid(10, 10, Color.BLUE).drawOn(original, 20, 20);
+
+        assertEquals(Color.BLUE.getRGB(), original.getImage().getRGB(25, 25));
+        assertEquals(Color.WHITE.getRGB(), clone.getImage().getRGB(25, 25), "Clone must be unchanged");
+    }
+
+    @Test
+    void testUnsharedImageIsWrittenInPlace() {
+        Img img = solid(50, 50, Color.WHITE);
+        BufferedImage before = img.getImage();
+
+        solid(10, 10, Color.RED).drawOn(img, 0, 0);
+
+        assertSame(before, img.getImage(), "An image nobody shares needs no copy");
+    }
+
+    @Test
+    void testCloneFramesAreIndependentLists() {
+        BufferedImage frame = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        Img original = new Img();
+        original.addFrame(frame);
+        Img clone = original.clone();
+        assertSame(frame, clone.getImage(), "Frames should be shared, not copied");
+
+        // A frame added to the clone must not animate the original
+        clone.addFrame(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+        assertSame(frame, original.getImage());
+    }
+}
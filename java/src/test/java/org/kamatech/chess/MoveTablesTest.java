@@ -0,0 +1,135 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveTablesTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    private static Moves rookMoves() {
+        List<String> moves = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            moves.add(i + ",0");
+            moves.add("-" + i + ",0");
+            moves.add("0," + i);
+            moves.add("0,-" + i);
+        }
+        return new Moves(moves, 1000);
+    }
+
+    @Test
+    void testClassifiesSlidersAndLeapers() {
+        MoveTables rook = MoveTables.build(rookMoves(), 8, 8, false);
+        assertEquals(4, rook.getSliderCount());
+        assertEquals(0, rook.getLeaperCount());
+        assertEquals(7, rook.getSliderLength(0));
+
+        MoveTables knight = MoveTables.build(new Moves(
+                Arrays.asList("2,1", "2,-1", "-2,1", "-2,-1", "1,2", "1,-2", "-1,2", "-1,-2"), 1000), 8, 8, false);
+        assertEquals(0, knight.getSliderCount());
+        assertEquals(8, knight.getLeaperCount());
+
+        MoveTables pawn = MoveTables.build(new Moves(Arrays.asList("0,-1:non_capture", "0,-2:1st"), 1000), 8, 8,
+                false);
+        assertEquals(1, pawn.getSliderCount(), "A first-move double step is a short ray");
+    }
+
+    @Test
+    void testSlidingMovesStopAtBlockers() {
+        MoveTables rook = MoveTables.build(rookMoves(), 8, 8, false);
+        Bitboards boards = new Bitboards(8, 8);
+        boards.add(FACTORY.createPiece("RW", 0, 7));
+        boards.add(FACTORY.createPiece("PW", 0, 4));
+        boards.add(FACTORY.createPiece("PB", 3, 7));
+
+        assertTrue(rook.isLegal(0, 7, 0, 5, boards, true, false));
+        assertFalse(rook.isLegal(0, 7, 0, 4, boards, true, false), "Cannot land on an own piece");
+        assertFalse(rook.isLegal(0, 7, 0, 2, boards, true, false), "Cannot slide through a piece");
+        assertTrue(rook.isLegal(0, 7, 3, 7, boards, true, false), "Can capture the first enemy");
+        assertFalse(rook.isLegal(0, 7, 5, 7, boards, true, false));
+
+        long[] targets = new long[boards.getWords()];
+        assertEquals(5, rook.legalTargets(0, 7, boards, true, false, targets));
+        assertEquals((1L << 48) | (1L << 40) | (1L << 57) | (1L << 58) | (1L << 59), targets[0]);
+    }
+
+    @Test
+    void testQualifiedMovesDependOnTarget() {
+        MoveTables pawn = MoveTables.build(new Moves(
+                Arrays.asList("0,-1:non_capture", "0,-2:1st", "-1,-1:capture", "1,-1:capture"), 1000), 8, 8, false);
+        Bitboards boards = new Bitboards(8, 8);
+        boards.add(FACTORY.createPiece("PW", 4, 6));
+        boards.add(FACTORY.createPiece("NB", 5, 5));
+
+        assertTrue(pawn.isLegal(4, 6, 4, 5, boards, true, false));
+        assertTrue(pawn.isLegal(4, 6, 4, 4, boards, true, true));
+        assertFalse(pawn.isLegal(4, 6, 4, 4, boards, true, false), "Double step only on the first move");
+        assertTrue(pawn.isLegal(4, 6, 5, 5, boards, true, false), "Diagonal capture of an enemy");
+        assertFalse(pawn.isLegal(4, 6, 3, 5, boards, true, false), "No diagonal move onto an empty cell");
+
+        boards.add(FACTORY.createPiece("BB", 4, 5));
+        assertFalse(pawn.isLegal(4, 6, 4, 5, boards, true, false), "Non-capture move is blocked");
+        assertFalse(pawn.isLegal(4, 6, 4, 4, boards, true, true), "Double step cannot jump a piece");
+    }
+
+    @Test
+    void testMirroredTablesAllowReverseDeltasOnLargerBoards() {
+        MoveTables step = MoveTables.build(new Moves(Arrays.asList("1,0"), 1000), 10, 10, true);
+        Bitboards boards = new Bitboards(10, 10);
+
+        assertTrue(step.isLegal(5, 9, 4, 9, boards, true, false));
+        long[] targets = new long[boards.getWords()];
+        assertEquals(2, step.legalTargets(5, 9, boards, true, false, targets));
+        assertEquals((1L << (94 - 64)) | (1L << (96 - 64)), targets[1]);
+    }
+
+    @Test
+    void testShippedPawnFileMovesForward() throws Exception {
+        Moves moves = new Moves(Files.readAllLines(Paths.get("..", "pieces", "PW", "moves.txt")), 1000);
+        MoveTables pawn = MoveTables.build(moves, 8, 8, true);
+        Bitboards boards = new Bitboards(8, 8);
+        boards.add(FACTORY.createPiece("PW", 3, 6));
+        boards.add(FACTORY.createPiece("PB", 2, 5));
+        boards.add(FACTORY.createPiece("PB", 4, 7));
+
+        assertTrue(pawn.isLegal(3, 6, 3, 5, boards, true, false), "One step forward");
+        assertTrue(pawn.isLegal(3, 6, 3, 4, boards, true, true), "Two steps forward on the first move");
+        assertTrue(pawn.isLegal(3, 6, 2, 5, boards, true, false), "Forward diagonal capture");
+        assertFalse(pawn.isLegal(3, 6, 2, 6, boards, true, false), "No sideways step");
+        assertFalse(pawn.isLegal(3, 6, 1, 6, boards, true, true), "No sideways first move");
+        assertFalse(pawn.isLegal(3, 6, 4, 7, boards, true, false), "No backward diagonal capture");
+
+        // Black's file mirrors white's: forward is towards the last row
+        MoveTables blackPawn = MoveTables.build(
+                new Moves(Files.readAllLines(Paths.get("..", "pieces", "PB", "moves.txt")), 1000), 8, 8, true);
+        assertTrue(blackPawn.isLegal(2, 5, 2, 6, boards, false, false));
+        assertTrue(blackPawn.isLegal(2, 5, 3, 6, boards, false, false), "Forward diagonal capture");
+        assertFalse(blackPawn.isLegal(2, 5, 1, 5, boards, false, false), "No sideways step");
+    }
+
+    @Test
+    void testLargeBoardsCheckRaysWithoutPairTables() {
+        List<String> moves = new ArrayList<>();
+        for (int i = 1; i < 64; i++) {
+            moves.add(i + ",0");
+        }
+        // A 64x64 pair table would need 64^4 / 64 longs, about 128 MB
+        MoveTables rook = MoveTables.build(new Moves(moves, 1000), 64, 64, true);
+        Bitboards boards = new Bitboards(64, 64);
+        boards.add(FACTORY.createPiece("RW", 0, 63));
+        boards.add(FACTORY.createPiece("PB", 40, 63));
+
+        assertTrue(rook.isLegal(0, 63, 39, 63, boards, true, false));
+        assertTrue(rook.isLegal(0, 63, 40, 63, boards, true, false), "Can capture the first enemy");
+        assertFalse(rook.isLegal(0, 63, 41, 63, boards, true, false), "Cannot slide through it");
+        long[] targets = new long[boards.getWords()];
+        assertEquals(40, rook.legalTargets(0, 63, boards, true, false, targets));
+    }
+}
@@ -20,6 +20,40 @@ public class MovesTest {
         assertEquals(original.getCooldown(), clone.getCooldown());
     }
 
+    @Test
+    void testCompiledLookup() {
+        Moves moves = new Moves(Arrays.asList("1,0", " -2 , 3 ", "bad", "", "7,7"), 100L);
+        assertTrue(moves.allows(1, 0));
+        assertTrue(moves.allows(-2, 3));
+        assertTrue(moves.allows(7, 7));
+        assertFalse(moves.allows(-1, 0), "Only listed deltas are allowed");
+        assertFalse(moves.allows(8, 8), "Deltas outside the table are rejected");
+        assertEquals(3, moves.getVectorCount(), "Malformed and blank entries are skipped");
+        assertEquals(-2, moves.getVectorDx(1));
+        assertEquals(3, moves.getVectorDy(1));
+    }
+
+    @Test
+    void testQualifiersAreKeptButNotPlain() {
+        Moves moves = new Moves(Arrays.asList("0,1", "0,2:first_move", "-2,0:1st", "1,1:capture",
+                "-1,0:non_capture"), 100L);
+        assertTrue(moves.allows(0, 1));
+        assertFalse(moves.allows(0, 2), "Qualified moves are not plain moves");
+        assertEquals(Moves.FIRST_MOVE, moves.getFlags(0, 2));
+        assertEquals(Moves.FIRST_MOVE, moves.getFlags(-2, 0));
+        assertEquals(Moves.CAPTURE, moves.getFlags(1, 1));
+        assertEquals(Moves.NON_CAPTURE, moves.getFlags(-1, 0));
+        assertEquals(0, moves.getFlags(5, 5));
+    }
+
+    @Test
+    void testNullMovesList() {
+        Moves moves = new Moves(null, 0L);
+        assertNull(moves.getAllowedMoves());
+        assertEquals(0, moves.getVectorCount());
+        assertFalse(moves.allows(0, 0));
+    }
+
     @Test
     void testHandlePawnMoveWithinBounds() {
         Piece p = new Piece("PW", new State(null, null, null));
@@ -0,0 +1,61 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancyGridTest {
+
+    @Test
+    void testPlaceAndFind() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        Piece p = new Piece("PW", new State(null, null, null), 3, 6, true);
+        grid.place(p);
+        assertSame(p, grid.get(3, 6));
+        assertSame(p, grid.findAt(3.0, 6.0));
+        assertSame(p, grid.findAt(3.05, 5.95), "Lookup should accept positions within tolerance");
+        assertNull(grid.findAt(4.0, 6.0));
+    }
+
+    @Test
+    void testRemoveClearsOnlyOwnCell() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        Piece first = new Piece("RW", new State(null, null, null), 0, 7, true);
+        Piece second = new Piece("RB", new State(null, null, null), 0, 0, false);
+        grid.place(first);
+        grid.place(second);
+
+        grid.remove(first);
+        assertNull(grid.get(0, 7));
+        assertSame(second, grid.get(0, 0));
+
+        // Removing a piece that is not indexed must not clear another piece's cell
+        Piece stranger = new Piece("NB", new State(null, null, null), 0, 0, false);
+        grid.remove(stranger);
+        assertSame(second, grid.get(0, 0));
+    }
+
+    @Test
+    void testPiecesBetweenCellsAndOffBoardAreNotIndexed() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        Piece moving = new Piece("QW", new State(null, null, null), 2.5, 4.0, true);
+        Piece offBoard = new Piece("KB", new State(null, null, null), 9, 9, false);
+        grid.place(moving);
+        grid.place(offBoard);
+        assertNull(grid.findAt(2.5, 4.0));
+        assertNull(grid.get(2, 4));
+        assertNull(grid.get(9, 9));
+        assertNull(grid.findAt(-1, 0));
+    }
+
+    @Test
+    void testPlaceNeverOverwritesAnotherPiece() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        Piece first = new Piece("RW", new State(null, null, null), 1, 7, true);
+        Piece second = new Piece("RW", new State(null, null, null), 1, 7, true);
+        grid.place(first);
+        grid.place(first); // Re-placing the same piece is fine
+        assertThrows(IllegalStateException.class, () -> grid.place(second));
+        assertSame(first, grid.get(1, 7));
+    }
+}
@@ -11,60 +11,55 @@ import java.lang.reflect.Method;
  */
 public class PawnPromotionIntegrationTest {
 
-    private Game game;
+    private GameEngine engine;
     private PieceFactory pieceFactory;
     private GraphicsFactory graphicsFactory;
     private PhysicsFactory physicsFactory;
-    private Board board;
 
     @BeforeEach
     void setUp() {
-        // Create test board
-        Img boardImg = new Img();
-        board = new Board(100, 100, 1, 1, 8, 8, boardImg);
-
         // Create factories
         graphicsFactory = new GraphicsFactory();
         physicsFactory = new PhysicsFactory();
         pieceFactory = new PieceFactory(graphicsFactory, physicsFactory);
 
-        // Create game instance
-        game = new Game(board, pieceFactory, graphicsFactory, physicsFactory);
+        // Create a headless engine for an 8x8 board
+        engine = new GameEngine(8, 8, pieceFactory, GameClock.SYSTEM);
     }
 
     @Test
     void testShouldPromotePawnMethod() throws Exception {
         // Use reflection to test the private method
-        Method shouldPromotePawnMethod = Game.class.getDeclaredMethod("shouldPromotePawn", Piece.class, double.class);
+        Method shouldPromotePawnMethod = GameEngine.class.getDeclaredMethod("shouldPromotePawn", Piece.class, double.class);
         shouldPromotePawnMethod.setAccessible(true);
 
         // Test white pawn promotion
         Piece whitePawn = pieceFactory.createPiece("PW", 4, 0);
-        Boolean whiteResult = (Boolean) shouldPromotePawnMethod.invoke(game, whitePawn, 0.0);
+        Boolean whiteResult = (Boolean) shouldPromotePawnMethod.invoke(engine, whitePawn, 0.0);
         assertTrue(whiteResult, "White pawn at row 0 should be promoted");
 
         // Test black pawn promotion
         Piece blackPawn = pieceFactory.createPiece("PB", 3, 7);
-        Boolean blackResult = (Boolean) shouldPromotePawnMethod.invoke(game, blackPawn, 7.0);
+        Boolean blackResult = (Boolean) shouldPromotePawnMethod.invoke(engine, blackPawn, 7.0);
         assertTrue(blackResult, "Black pawn at row 7 should be promoted");
 
         // Test non-promotion cases
-        Boolean whiteNoPromotion = (Boolean) shouldPromotePawnMethod.invoke(game, whitePawn, 3.0);
+        Boolean whiteNoPromotion = (Boolean) shouldPromotePawnMethod.invoke(engine, whitePawn, 3.0);
         assertFalse(whiteNoPromotion, "White pawn not at row 0 should not be promoted");
 
-        Boolean blackNoPromotion = (Boolean) shouldPromotePawnMethod.invoke(game, blackPawn, 2.0);
+        Boolean blackNoPromotion = (Boolean) shouldPromotePawnMethod.invoke(engine, blackPawn, 2.0);
         assertFalse(blackNoPromotion, "Black pawn not at row 7 should not be promoted");
 
         // Test non-pawn pieces
         Piece queen = pieceFactory.createPiece("QW", 4, 0);
-        Boolean queenResult = (Boolean) shouldPromotePawnMethod.invoke(game, queen, 0.0);
+        Boolean queenResult = (Boolean) shouldPromotePawnMethod.invoke(engine, queen, 0.0);
         assertFalse(queenResult, "Queen should not be promoted even at promotion row");
     }
 
     @Test
     void testGetPieceIdFromPiece() throws Exception {
         // Test the helper method used in promotion
-        Method getPieceIdMethod = Game.class.getDeclaredMethod("getPieceIdFromPiece", Piece.class);
+        Method getPieceIdMethod = GameEngine.class.getDeclaredMethod("getPieceIdFromPiece", Piece.class);
         getPieceIdMethod.setAccessible(true);
 
         // Create a piece and add it to the game
@@ -72,7 +67,7 @@ public class PawnPromotionIntegrationTest {
 
         // Since getPieceIdFromPiece looks for the piece in the pieces map,
         // we need to manually add it or use the piece's getId() fallback
-        String pieceId = (String) getPieceIdMethod.invoke(game, testPiece);
+        String pieceId = (String) getPieceIdMethod.invoke(engine, testPiece);
 
         // Should return the piece's own ID as fallback
         assertEquals("PW", pieceId, "Should return piece's own ID");
@@ -10,25 +10,20 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class PawnPromotionTest {
 
-    private Game game;
+    private GameEngine engine;
     private PieceFactory pieceFactory;
     private GraphicsFactory graphicsFactory;
     private PhysicsFactory physicsFactory;
-    private Board board;
 
     @BeforeEach
     void setUp() {
-        // Create test board
-        Img boardImg = new Img();
-        board = new Board(100, 100, 1, 1, 8, 8, boardImg);
-
         // Create factories
         graphicsFactory = new GraphicsFactory();
         physicsFactory = new PhysicsFactory();
         pieceFactory = new PieceFactory(graphicsFactory, physicsFactory);
 
-        // Create game instance
-        game = new Game(board, pieceFactory, graphicsFactory, physicsFactory);
+        // Create a headless engine for an 8x8 board
+        engine = new GameEngine(8, 8, pieceFactory, GameClock.SYSTEM);
     }
 
     @Test
@@ -40,7 +35,7 @@ public class PawnPromotionTest {
 
         // Manually add pawn to game pieces for testing
         String pawnKey = "PW_test_1_4";
-        game.getPieces().put(pawnKey, whitePawn);
+        engine.getPieces().put(pawnKey, whitePawn);
 
         // Act: Move pawn to promotion row (y=0)
         whitePawn.setPosition(4, 0);
@@ -57,4 +57,20 @@ public class PieceFactoryTest {
         assertEquals(cooldown, moves.getCooldown(), "Cooldown mismatch");
         assertFalse(moves.getAllowedMoves().isEmpty(), "Allowed moves should not be empty");
     }
+
+    @Test
+    void testPiecesOfSameTypeShareDefinition() {
+        PieceFactory factory = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+        Piece a = factory.createPiece("PW", 0, 6);
+        Piece b = factory.createPiece("PW", 1, 6);
+
+        assertSame(a.getType(), b.getType(), "Pieces of the same code should share one type");
+        assertSame(a.getState().getMoves(), b.getState().getMoves(), "Moves table should be shared");
+        assertNotSame(a.getState(), b.getState(), "Each piece needs its own state machine");
+
+        a.getState().setState(State.PieceState.REST);
+        assertEquals(State.PieceState.IDLE, b.getState().getCurrentState(),
+                "State changes must not leak between pieces");
+    }
 }
@@ -0,0 +1,79 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RealTimeSearchTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    private static GameEngine newEngine(Path logDir) {
+        GameEngine engine = new GameEngine(8, 8, FACTORY, new ManualClock(), new GameLogger(logDir.toString()));
+        engine.addPiece("KW_1", FACTORY.createPiece("KW", 4, 7));
+        engine.addPiece("KB_1", FACTORY.createPiece("KB", 0, 0));
+        return engine;
+    }
+
+    @Test
+    void testTakesHangingKing(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 4, 2));
+        engine.addPiece("PB_1", FACTORY.createPiece("PB", 7, 1));
+
+        try (RealTimeSearch search = new RealTimeSearch(4)) {
+            RealTimeSearch.Result result = search.search(SearchPosition.capture(engine), false, 500);
+            assertEquals("RB_1", result.getPieceKey());
+            assertEquals(7 * 8 + 4, result.getToCell());
+            assertTrue(result.getScore() >= RealTimeSearch.WIN_SCORE - 8);
+        }
+    }
+
+    @Test
+    void testAvoidsLosingTheRook(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 3, 3));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 3, 0));
+
+        try (RealTimeSearch search = new RealTimeSearch(2, 3)) {
+            RealTimeSearch.Result result = search.search(SearchPosition.capture(engine), true, 2000);
+            assertEquals(3, result.getDepth());
+            assertTrue(result.getScore() > -100, "White should keep its rook or trade it, score " + result.getScore());
+        }
+    }
+
+    @Test
+    void testHonorsTimeBudgetAndReportsSpeed(@TempDir Path logDir) {
+        GameEngine engine = new GameEngine(8, 8, FACTORY, new ManualClock(), new GameLogger(logDir.toString()));
+        engine.addPieces(FACTORY.createDefaultPieces());
+
+        try (RealTimeSearch search = new RealTimeSearch(Runtime.getRuntime().availableProcessors(), 64)) {
+            long start = System.nanoTime();
+            RealTimeSearch.Result result = search.search(SearchPosition.capture(engine), true, 200);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(result.hasMove());
+            assertTrue(elapsedMs < 1500, "Search should stop near its budget, took " + elapsedMs + " ms");
+            assertTrue(result.getNodes() > 0);
+            assertTrue(result.getNodesPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testTableIsSharedAcrossDecisions(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 1, 6));
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 7, 1));
+        SearchPosition position = SearchPosition.capture(engine);
+
+        try (RealTimeSearch search = new RealTimeSearch(4, 4)) {
+            RealTimeSearch.Result first = search.search(position, true, 5000);
+            RealTimeSearch.Result second = search.search(position, true, 5000);
+            assertEquals(first.getDepth(), second.getDepth());
+            assertEquals(first.getScore(), second.getScore());
+            assertTrue(second.getNodes() < first.getNodes(), "Second search should reuse table entries");
+        }
+    }
+}
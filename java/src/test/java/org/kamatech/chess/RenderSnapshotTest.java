@@ -0,0 +1,69 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderSnapshotTest {
+
+    private static Piece piece(String id, ManualClock clock, double x, double y, boolean white) {
+        return new Piece(id, new State(null, null, null, clock), x, y, white);
+    }
+
+    @Test
+    void testCaptureCopiesPiecesAndCursors() {
+        ManualClock clock = new ManualClock();
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        pieces.put("KW_1", piece("KW", clock, 4, 7, true));
+        pieces.put("KB_1", piece("KB", clock, 4, 0, false));
+        pieces.get("KB_1").getState().setState(State.PieceState.REST);
+        clock.advanceMillis(500);
+
+        RenderSnapshot snapshot = RenderSnapshot.capture(pieces, "KW_1", null, "KW_1", "KB_1",
+                true, false, 5, 6, -1, -1);
+
+        assertEquals(2, snapshot.getPieceCount());
+        assertEquals("KW", snapshot.getId(0));
+        assertTrue(snapshot.isWhite(0));
+        assertEquals(4.0, snapshot.getX(0));
+        assertEquals(7.0, snapshot.getY(0));
+        assertEquals(State.PieceState.REST, snapshot.getState(1));
+        assertEquals(500, snapshot.getTimeInState(1));
+        assertEquals(1500, snapshot.getRemainingStateTime(1));
+
+        assertEquals(0, snapshot.getHoveredWhite());
+        assertEquals(-1, snapshot.getHoveredBlack());
+        assertEquals(0, snapshot.getSelectedWhite());
+        assertEquals(1, snapshot.getSelectedBlack());
+        assertTrue(snapshot.isWhiteInMovementMode());
+        assertEquals(5.0, snapshot.getWhiteVisualX());
+    }
+
+    @Test
+    void testSnapshotUnaffectedByLaterChanges() {
+        ManualClock clock = new ManualClock();
+        Map<String, Piece> pieces = new LinkedHashMap<>();
+        Piece pawn = piece("PW", clock, 1, 6, true);
+        pieces.put("PW_1", pawn);
+
+        RenderSnapshot snapshot = RenderSnapshot.capture(pieces, null, null, null, null,
+                false, false, -1, -1, -1, -1);
+        pawn.setPosition(1, 5);
+        pawn.getState().setState(State.PieceState.MOVE);
+        pieces.put("PW_2", piece("PW", clock, 2, 6, true));
+        clock.advanceMillis(1000);
+
+        assertEquals(1, snapshot.getPieceCount());
+        assertEquals(6.0, snapshot.getY(0));
+        assertEquals(State.PieceState.IDLE, snapshot.getState(0));
+        assertEquals(0, snapshot.getTimeInState(0));
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        assertEquals(0, RenderSnapshot.EMPTY.getPieceCount());
+        assertEquals(-1, RenderSnapshot.EMPTY.getSelectedWhite());
+    }
+}
@@ -0,0 +1,140 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchPositionTest {
+
+    private static final PieceFactory FACTORY = new PieceFactory(new GraphicsFactory(), new PhysicsFactory());
+
+    private static GameEngine newEngine(Path logDir) {
+        GameEngine engine = new GameEngine(8, 8, FACTORY, new ManualClock(), new GameLogger(logDir.toString()));
+        engine.addPiece("KW_1", FACTORY.createPiece("KW", 4, 7));
+        engine.addPiece("KB_1", FACTORY.createPiece("KB", 4, 0));
+        engine.addPiece("RW_1", FACTORY.createPiece("RW", 0, 7));
+        return engine;
+    }
+
+    private static int indexOf(SearchPosition position, String key) {
+        for (int i = 0; i < position.getPieceCount(); i++) {
+            if (position.getKey(i).equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void testCapturesEngineAndCopiesIndependently(@TempDir Path logDir) {
+        SearchPosition position = SearchPosition.capture(newEngine(logDir));
+        assertEquals(3, position.getPieceCount());
+        int rook = indexOf(position, "RW_1");
+        assertEquals(7 * 8, position.getCell(rook));
+
+        SearchPosition copy = position.copy();
+        copy.play(SearchPosition.encodeMove(rook, 0));
+        assertEquals(0, copy.getCell(rook));
+        assertEquals(7 * 8, position.getCell(rook), "Playing on a copy must not change the original");
+
+        copy.copyFrom(position);
+        assertEquals(7 * 8, copy.getCell(rook), "copyFrom should reset the copy in place");
+        assertEquals(position.getHash(), copy.getHash());
+    }
+
+    @Test
+    void testMovedPieceWaitsForItsCooldown(@TempDir Path logDir) {
+        SearchPosition position = SearchPosition.capture(newEngine(logDir));
+        int rook = indexOf(position, "RW_1");
+        int[] moves = new int[256];
+        int before = position.generateMoves(true, moves);
+
+        position.play(SearchPosition.encodeMove(rook, 6 * 8));
+        int during = position.generateMoves(true, moves);
+        assertTrue(during < before, "A piece in cooldown cannot move");
+        for (int i = 0; i < during; i++) {
+            assertNotEquals(rook, SearchPosition.movePiece(moves[i]));
+        }
+
+        position.advance(GameEngine.MOVE_ANIMATION_MS + 1000);
+        assertTrue(position.generateMoves(true, moves) > during, "The rook is ready again");
+    }
+
+    @Test
+    void testCaptureOfKingIsVisible(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 4, 5));
+        SearchPosition position = SearchPosition.capture(engine);
+
+        int[] moves = new int[256];
+        int count = position.generateMoves(false, moves);
+        assertTrue(count > 0);
+        assertEquals(7 * 8 + 4, SearchPosition.moveTarget(moves[0]), "Captures are generated first");
+
+        position.play(moves[0]);
+        assertFalse(position.isKingAlive(true));
+        assertTrue(position.isKingAlive(false));
+    }
+
+    @Test
+    void testIncrementalHashMatchesFullHash(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("RB_1", FACTORY.createPiece("RB", 0, 2));
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 6, 1));
+        SearchPosition position = SearchPosition.capture(engine);
+        long start = position.getHash();
+        assertEquals(position.computeHash(), start);
+
+        // Capture, promotion and cooldown buckets passing
+        position.play(SearchPosition.encodeMove(indexOf(position, "RW_1"), 2 * 8));
+        assertEquals(position.computeHash(), position.getHash());
+        position.play(SearchPosition.encodeMove(indexOf(position, "PW_1"), 6));
+        assertEquals(position.computeHash(), position.getHash());
+        for (int i = 0; i < 8; i++) {
+            position.advance(RealTimeSearch.PLY_MILLIS);
+            assertEquals(position.computeHash(), position.getHash());
+        }
+        assertNotEquals(start, position.getHash());
+    }
+
+    @Test
+    void testSamePlacementAndCooldownsHashEqually(@TempDir Path logDir) {
+        SearchPosition position = SearchPosition.capture(newEngine(logDir));
+        int rook = indexOf(position, "RW_1");
+
+        SearchPosition direct = position.copy();
+        direct.play(SearchPosition.encodeMove(rook, 5 * 8));
+        SearchPosition detour = position.copy();
+        detour.play(SearchPosition.encodeMove(rook, 6 * 8));
+        assertNotEquals(direct.getHash(), detour.getHash());
+
+        direct.advance(GameEngine.MOVE_ANIMATION_MS + 1000);
+        detour.advance(GameEngine.MOVE_ANIMATION_MS + 1000);
+        detour.play(SearchPosition.encodeMove(rook, 5 * 8));
+        detour.advance(GameEngine.MOVE_ANIMATION_MS + 1000);
+        assertEquals(direct.getHash(), detour.getHash(), "Transposed positions share a hash once rested");
+        assertEquals(SearchPosition.capture(newEngine(logDir.resolve("again"))).getHash(), position.getHash(),
+                "Keys are the same for every capture");
+    }
+
+    @Test
+    void testPawnPromotedDuringSearchMovesAsQueen(@TempDir Path logDir) {
+        GameEngine engine = newEngine(logDir);
+        engine.addPiece("PW_1", FACTORY.createPiece("PW", 0, 1));
+        SearchPosition position = SearchPosition.capture(engine);
+        int pawn = indexOf(position, "PW_1");
+
+        // No queen is on the board, so its tables must come from the piece type
+        position.play(SearchPosition.encodeMove(pawn, 0));
+        position.advance(GameEngine.MOVE_ANIMATION_MS + 1000);
+        int[] moves = new int[256];
+        int count = position.generateMoves(true, moves);
+        boolean diagonal = false;
+        for (int i = 0; i < count; i++) {
+            diagonal |= moves[i] == SearchPosition.encodeMove(pawn, 7 * 8 + 7);
+        }
+        assertTrue(diagonal, "The promoted pawn should slide like a queen");
+    }
+}
@@ -0,0 +1,79 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteAtlasTest {
+
+    private static BufferedImage solid(Color color, int size) {
+        BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, size, size);
+        g.dispose();
+        return img;
+    }
+
+    @Test
+    void testDrawBlitsScaledFrame() {
+        SpriteAtlas atlas = new SpriteAtlas(20, 20);
+        BufferedImage red = solid(Color.RED, 64);
+        BufferedImage blue = solid(Color.BLUE, 64);
+
+        BufferedImage target = new BufferedImage(60, 30, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        atlas.draw(g, red, 0, 0);
+        atlas.draw(g, blue, 30, 0);
+        g.dispose();
+
+        assertEquals(Color.RED.getRGB(), target.getRGB(10, 10));
+        assertEquals(Color.BLUE.getRGB(), target.getRGB(40, 10));
+        assertEquals(0, target.getRGB(25, 10), "Nothing should be drawn between the sprites");
+        assertEquals(0, target.getRGB(10, 25), "Sprite must be drawn at the atlas size, not the source size");
+    }
+
+    @Test
+    void testFramesArePackedOnce() {
+        SpriteAtlas atlas = new SpriteAtlas(8, 8);
+        BufferedImage frame = solid(Color.GREEN, 16);
+        atlas.addFrames(List.of(frame, frame));
+        BufferedImage target = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        atlas.draw(g, frame, 0, 0);
+        g.dispose();
+        assertEquals(1, atlas.getSlotCount());
+    }
+
+    @Test
+    void testAtlasGrowsAndKeepsPackedFrames() {
+        SpriteAtlas atlas = new SpriteAtlas(4, 4);
+        List<BufferedImage> frames = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            frames.add(solid(new Color(i * 6, 0, 0), 4));
+        }
+        atlas.addFrames(frames);
+        assertEquals(40, atlas.getSlotCount());
+
+        BufferedImage target = new BufferedImage(8, 4, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        atlas.draw(g, frames.get(0), 0, 0);
+        atlas.draw(g, frames.get(39), 4, 0);
+        g.dispose();
+        assertEquals(new Color(0, 0, 0).getRGB(), target.getRGB(1, 1), "First frame must survive atlas growth");
+        assertEquals(new Color(39 * 6, 0, 0).getRGB(), target.getRGB(5, 1));
+    }
+
+    @Test
+    void testMatchesSize() {
+        SpriteAtlas atlas = new SpriteAtlas(90, 80);
+        assertTrue(atlas.matches(90, 80));
+        assertFalse(atlas.matches(80, 90));
+        assertThrows(IllegalArgumentException.class, () -> new SpriteAtlas(0, 10));
+    }
+}
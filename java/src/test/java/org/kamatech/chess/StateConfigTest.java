@@ -0,0 +1,51 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StateConfigTest {
+
+    @Test
+    void testParseConfigJson() {
+        String json = "{\n"
+                + "  \"physics\": {\n"
+                + "    \"speed_m_per_sec\": 1.5,\n"
+                + "    \"next_state_when_finished\": \"long_rest\"\n"
+                + "  },\n"
+                + "  \"graphics\": {\n"
+                + "    \"frames_per_sec\": 12,\n"
+                + "    \"is_loop\": false\n"
+                + "  }\n"
+                + "}";
+        StateConfig config = StateConfig.parse(json);
+        assertEquals(12.0, config.getFramesPerSec());
+        assertFalse(config.isLoop());
+        assertEquals(1.5, config.getSpeedMetersPerSec());
+        assertEquals("long_rest", config.getNextStateWhenFinished());
+    }
+
+    @Test
+    void testMissingFileUsesDefaults() {
+        StateConfig config = StateConfig.load(Paths.get("does-not-exist", "config.json"));
+        assertSame(StateConfig.DEFAULT, config);
+    }
+
+    @Test
+    void testFolderNames() {
+        assertEquals("idle", StateConfig.folderNameFor(State.PieceState.IDLE));
+        assertEquals("long_rest", StateConfig.folderNameFor(State.PieceState.REST));
+        assertEquals("short_rest", StateConfig.folderNameFor(State.PieceState.SHORT_REST));
+        assertEquals("jump", StateConfig.folderNameFor(State.PieceState.JUMP));
+    }
+
+    @Test
+    void testStateForFolder() {
+        for (State.PieceState state : State.PieceState.values()) {
+            assertEquals(state, StateConfig.stateForFolder(StateConfig.folderNameFor(state)));
+        }
+        assertNull(StateConfig.stateForFolder("unknown"));
+    }
+}
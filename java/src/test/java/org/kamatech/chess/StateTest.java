@@ -27,4 +27,17 @@ public class StateTest {
         assertNotSame(state.getPhysics(), clone.getPhysics(), "Clone should create a new physics instance");
         assertTrue(state.canPerformAction(), "New state should allow action");
     }
+
+    @Test
+    void testTimeInStateRestartsOnStateChange() {
+        ManualClock clock = new ManualClock(1000);
+        State state = new State(null, null, null, clock);
+        clock.advanceMillis(300);
+        assertEquals(300, state.getTimeInState());
+
+        state.setState(State.PieceState.JUMP);
+        assertEquals(1300, state.getStateStartTime());
+        clock.advanceMillis(50);
+        assertEquals(50, state.getTimeInState());
+    }
 }
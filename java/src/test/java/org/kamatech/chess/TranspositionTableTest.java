@@ -0,0 +1,91 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    void testStoresAndDecodesEntries() {
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.getCapacity());
+        assertFalse(TranspositionTable.isHit(table.probe(42)));
+
+        table.store(42, -RealTimeSearch.WIN_SCORE + 3, 7, TranspositionTable.UPPER, SearchPosition.encodeMove(5, 63));
+        long entry = table.probe(42);
+        assertTrue(TranspositionTable.isHit(entry));
+        assertEquals(-RealTimeSearch.WIN_SCORE + 3, TranspositionTable.scoreOf(entry));
+        assertEquals(7, TranspositionTable.depthOf(entry));
+        assertEquals(TranspositionTable.UPPER, TranspositionTable.flagOf(entry));
+        assertEquals(SearchPosition.encodeMove(5, 63), TranspositionTable.moveOf(entry));
+        assertFalse(TranspositionTable.isHit(table.probe(43)));
+    }
+
+    @Test
+    void testKeepsMovesOfEveryPieceIndex() {
+        TranspositionTable table = new TranspositionTable(16);
+        int move = SearchPosition.encodeMove(SearchPosition.MAX_PIECES - 1, SearchPosition.MAX_CELLS - 1);
+        assertNotEquals(TranspositionTable.NO_MOVE, move);
+        table.store(7, 0, 1, TranspositionTable.EXACT, move);
+        int stored = TranspositionTable.moveOf(table.probe(7));
+        assertEquals(move, stored, "Piece indexes of 256 and up must not lose their hash move");
+        assertEquals(SearchPosition.MAX_PIECES - 1, SearchPosition.movePiece(stored));
+        assertEquals(SearchPosition.MAX_CELLS - 1, SearchPosition.moveTarget(stored));
+    }
+
+    @Test
+    void testDeepEntriesSurviveShallowOnes() {
+        TranspositionTable table = new TranspositionTable(2); // A single bucket
+        table.store(1, 10, 8, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        table.store(2, 20, 2, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        table.store(3, 30, 1, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+
+        assertEquals(10, TranspositionTable.scoreOf(table.probe(1)), "Depth-preferred slot keeps the deep entry");
+        assertFalse(TranspositionTable.isHit(table.probe(2)), "Always-replace slot takes the newest");
+        assertEquals(30, TranspositionTable.scoreOf(table.probe(3)));
+
+        table.store(4, 40, 9, TranspositionTable.LOWER, 1);
+        assertEquals(40, TranspositionTable.scoreOf(table.probe(4)));
+        table.clear();
+        assertFalse(TranspositionTable.isHit(table.probe(4)));
+    }
+
+    @Test
+    void testEntriesOfEarlierSearchesGiveWay() {
+        TranspositionTable table = new TranspositionTable(2); // A single bucket
+        table.store(1, 10, 20, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        table.store(2, 20, 1, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        assertEquals(10, TranspositionTable.scoreOf(table.probe(1)));
+
+        table.newSearch();
+        table.store(3, 30, 1, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        assertFalse(TranspositionTable.isHit(table.probe(1)), "A stale deep entry must not hold its slot");
+        assertEquals(20, TranspositionTable.scoreOf(table.probe(2)), "The always-replace slot is untouched");
+        long entry = table.probe(3);
+        assertEquals(30, TranspositionTable.scoreOf(entry));
+        assertEquals(1, TranspositionTable.generationOf(entry));
+
+        // Within one search depth still wins
+        table.store(4, 40, 0, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        assertEquals(30, TranspositionTable.scoreOf(table.probe(3)));
+    }
+
+    @Test
+    void testConcurrentWritersNeverReturnMixedEntries() {
+        TranspositionTable table = new TranspositionTable(64);
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 200_000; i++) {
+                long hash = (i % 97) * 0x9E3779B97F4A7C15L;
+                int move = (int) (hash >>> 40);
+                table.store(hash, (int) (hash & 0xFFFF), i % 20, TranspositionTable.EXACT, move);
+                long entry = table.probe(hash);
+                if (TranspositionTable.isHit(entry)) {
+                    assertEquals((int) (hash & 0xFFFF), TranspositionTable.scoreOf(entry));
+                    assertEquals(move, TranspositionTable.moveOf(entry));
+                }
+            }
+        });
+    }
+}
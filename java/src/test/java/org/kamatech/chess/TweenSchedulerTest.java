@@ -0,0 +1,61 @@
+package org.kamatech.chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TweenSchedulerTest {
+
+    @Test
+    void testInterpolatesAndCompletes() {
+        TweenScheduler tweens = new TweenScheduler(Piece::setPosition);
+        Piece piece = new Piece("RW", new State(null, null, null), 0, 0, true);
+        List<Piece> completed = new ArrayList<>();
+
+        tweens.start(piece, 4, 2, 1000, completed::add);
+        assertTrue(tweens.isAnimating(piece));
+
+        tweens.update(250);
+        assertEquals(1.0, piece.getX(), 1e-9);
+        assertEquals(0.5, piece.getY(), 1e-9);
+        assertTrue(completed.isEmpty());
+
+        tweens.update(800);
+        assertEquals(4.0, piece.getX(), "Final position must be exact");
+        assertEquals(2.0, piece.getY(), "Final position must be exact");
+        assertEquals(List.of(piece), completed);
+        assertFalse(tweens.isAnimating(piece));
+        assertEquals(0, tweens.getActiveCount());
+    }
+
+    @Test
+    void testCancelStopsWithoutCallback() {
+        TweenScheduler tweens = new TweenScheduler(Piece::setPosition);
+        Piece piece = new Piece("NB", new State(null, null, null), 1, 1, false);
+        List<Piece> completed = new ArrayList<>();
+
+        tweens.start(piece, 3, 2, 100, completed::add);
+        tweens.update(50);
+        tweens.cancel(piece);
+        tweens.update(100);
+
+        assertTrue(completed.isEmpty());
+        assertEquals(2.0, piece.getX(), 1e-9, "Cancelled piece stays where it was");
+    }
+
+    @Test
+    void testCallbackMayStartNewTween() {
+        TweenScheduler tweens = new TweenScheduler(Piece::setPosition);
+        Piece piece = new Piece("QW", new State(null, null, null), 0, 0, true);
+
+        tweens.start(piece, 1, 0, 100, p -> tweens.start(p, 1, 1, 100, null));
+        tweens.update(100);
+        assertTrue(tweens.isAnimating(piece), "Chained tween should be running");
+        tweens.update(100);
+        assertEquals(1.0, piece.getY());
+        assertFalse(tweens.isAnimating(piece));
+    }
+}
@@ -0,0 +1,177 @@
+package org.kamatech.chess.events;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncListenerTest {
+
+    /**
+     * Executor that only runs tasks when the test says so
+     */
+    static class ManualExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return tasks.poll();
+        }
+    }
+
+    private static SoundEvent sound(SoundEvent.SoundType type) {
+        return new SoundEvent(type);
+    }
+
+    @Test
+    void testDeliversInOrderOnExecutor() {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = new ArrayList<>();
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> received.add(e.soundType), executor, 8,
+                AsyncListener.OverflowPolicy.BLOCK);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        async.onEvent(sound(SoundEvent.SoundType.JUMP));
+        assertTrue(received.isEmpty(), "Nothing should be delivered on the publisher's thread");
+        assertEquals(2, async.getPendingCount());
+
+        executor.runAll();
+        assertEquals(List.of(SoundEvent.SoundType.MOVE, SoundEvent.SoundType.JUMP), received);
+        assertEquals(2, async.getDeliveredCount());
+        assertEquals(0, async.getPendingCount());
+        assertTrue(async.getMaxLagNanos() >= async.getLastLagNanos());
+    }
+
+    @Test
+    void testDropOldestKeepsNewestEvents() {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = new ArrayList<>();
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> received.add(e.soundType), executor, 2,
+                AsyncListener.OverflowPolicy.DROP_OLDEST);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        async.onEvent(sound(SoundEvent.SoundType.JUMP));
+        async.onEvent(sound(SoundEvent.SoundType.EAT));
+        executor.runAll();
+
+        assertEquals(List.of(SoundEvent.SoundType.JUMP, SoundEvent.SoundType.EAT), received);
+        assertEquals(1, async.getDroppedCount());
+    }
+
+    @Test
+    void testDropNewestKeepsQueuedEvents() {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = new ArrayList<>();
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> received.add(e.soundType), executor, 2,
+                AsyncListener.OverflowPolicy.DROP_NEWEST);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        async.onEvent(sound(SoundEvent.SoundType.JUMP));
+        async.onEvent(sound(SoundEvent.SoundType.EAT));
+        executor.runAll();
+
+        assertEquals(List.of(SoundEvent.SoundType.MOVE, SoundEvent.SoundType.JUMP), received);
+        assertEquals(1, async.getDroppedCount());
+    }
+
+    @Test
+    void testBlockWaitsForRoom() throws InterruptedException {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> received.add(e.soundType), executor, 1,
+                AsyncListener.OverflowPolicy.BLOCK);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            async.onEvent(sound(SoundEvent.SoundType.EAT));
+            published.countDown();
+        });
+        publisher.start();
+
+        assertFalse(published.await(100, TimeUnit.MILLISECONDS), "Publisher should wait while the queue is full");
+        executor.runAll();
+        assertTrue(published.await(1, TimeUnit.SECONDS), "Publisher should resume once the queue drains");
+        publisher.join();
+        executor.runAll();
+
+        assertEquals(List.of(SoundEvent.SoundType.MOVE, SoundEvent.SoundType.EAT), received);
+        assertEquals(0, async.getDroppedCount());
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopDelivery() {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = new ArrayList<>();
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> {
+            if (e.soundType == SoundEvent.SoundType.MOVE) {
+                throw new IllegalStateException("boom");
+            }
+            received.add(e.soundType);
+        }, executor, 4, AsyncListener.OverflowPolicy.BLOCK);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        async.onEvent(sound(SoundEvent.SoundType.EAT));
+        executor.runAll();
+
+        assertEquals(List.of(SoundEvent.SoundType.EAT), received);
+        assertEquals(2, async.getDeliveredCount());
+    }
+
+    @Test
+    void testErrorInListenerDoesNotWedgeDelivery() {
+        ManualExecutor executor = new ManualExecutor();
+        List<SoundEvent.SoundType> received = new ArrayList<>();
+        AsyncListener<SoundEvent> async = new AsyncListener<>(e -> {
+            if (e.soundType == SoundEvent.SoundType.MOVE) {
+                throw new AssertionError("boom");
+            }
+            received.add(e.soundType);
+        }, executor, 4, AsyncListener.OverflowPolicy.BLOCK);
+
+        async.onEvent(sound(SoundEvent.SoundType.MOVE));
+        async.onEvent(sound(SoundEvent.SoundType.EAT));
+        assertThrows(AssertionError.class, executor::runAll);
+        assertTrue(received.isEmpty());
+
+        // The next event schedules a new drain that also delivers the one left behind
+        async.onEvent(sound(SoundEvent.SoundType.JUMP));
+        executor.runAll();
+        assertEquals(List.of(SoundEvent.SoundType.EAT, SoundEvent.SoundType.JUMP), received);
+    }
+
+    @Test
+    void testEventBusSubscribeAsyncDeliversOffPublisherThread() throws InterruptedException {
+        EventBus bus = new EventBus(false);
+        CountDownLatch delivered = new CountDownLatch(1);
+        Thread[] deliveryThread = new Thread[1];
+        AsyncListener<SoundEvent> async = bus.subscribeAsync(SoundEvent.class, e -> {
+            deliveryThread[0] = Thread.currentThread();
+            delivered.countDown();
+        }, 4, AsyncListener.OverflowPolicy.DROP_OLDEST);
+
+        bus.publish(sound(SoundEvent.SoundType.MOVE));
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), deliveryThread[0]);
+        assertTrue(bus.getAsyncListeners().contains(async));
+        bus.shutdown();
+    }
+}
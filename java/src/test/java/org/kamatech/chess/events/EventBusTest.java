@@ -126,7 +126,7 @@ public class EventBusTest {
 
     @BeforeEach
     void setUp() {
-        eventBus = new EventBus();
+        eventBus = new EventBus(true); // Diagnostics on so the DEBUG output can be checked
 
         // יצירת מאזינים לבדיקה
         moveListener = new TestMoveListener();
@@ -273,6 +273,84 @@ public class EventBusTest {
         assertEquals(event3, receivedEvents.get(2));
     }
 
+    @Test
+    @DisplayName("מאזין לממשק Event מקבל את כל סוגי האירועים")
+    void testSubscribeToSupertypeReceivesAllEvents() {
+        List<Event> allEvents = new ArrayList<>();
+        eventBus.subscribe(Event.class, allEvents::add);
+        eventBus.subscribe(PieceMovedEvent.class, moveListener);
+
+        PieceMovedEvent moveEvent = new PieceMovedEvent("e2", "e4", "WHITE", "P", 1, null);
+        SoundEvent soundEvent = new SoundEvent(SoundEvent.SoundType.MOVE);
+        eventBus.publish(moveEvent);
+        eventBus.publish(soundEvent);
+
+        assertEquals(List.of(moveEvent, soundEvent), allEvents);
+        assertEquals(1, moveListener.getReceivedEvents().size(), "מאזין ספציפי מקבל רק את הסוג שלו");
+    }
+
+    @Test
+    @DisplayName("הרשמה חדשה אחרי פרסום מתעדכנת במטמון")
+    void testSubscribeAfterPublishInvalidatesCache() {
+        eventBus.subscribe(PieceMovedEvent.class, moveListener);
+        eventBus.publish(new PieceMovedEvent("e2", "e4", "WHITE", "P", 1, null));
+
+        List<Event> lateEvents = new ArrayList<>();
+        eventBus.subscribe(Event.class, lateEvents::add);
+        eventBus.publish(new PieceMovedEvent("e7", "e5", "BLACK", "P", 2, null));
+
+        assertEquals(2, moveListener.getReceivedEvents().size());
+        assertEquals(1, lateEvents.size(), "המאזין המאוחר מקבל רק אירועים שפורסמו אחרי ההרשמה");
+    }
+
+    @Test
+    @DisplayName("ללא מצב DEBUG לא יודפסו הודעות")
+    void testNoDiagnosticsByDefault() {
+        EventBus quietBus = new EventBus(false);
+        quietBus.subscribe(PieceMovedEvent.class, moveListener);
+        quietBus.publish(new PieceMovedEvent("e2", "e4", "WHITE", "P", 1, null));
+
+        assertEquals(1, moveListener.getReceivedEvents().size());
+        assertEquals("", outputStream.toString(), "לא אמור להיות פלט כאשר DEBUG כבוי");
+    }
+
+    @Test
+    @DisplayName("הרשמה ופרסום במקביל ממספר תהליכונים")
+    void testConcurrentSubscribeAndPublish() throws InterruptedException {
+        EventBus concurrentBus = new EventBus(false);
+        java.util.concurrent.atomic.AtomicInteger delivered = new java.util.concurrent.atomic.AtomicInteger();
+        int threads = 4;
+        int perThread = 200;
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = java.util.Collections.synchronizedList(new ArrayList<>());
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        concurrentBus.subscribe(SoundEvent.class, event -> delivered.incrementAndGet());
+                        concurrentBus.publish(new SoundEvent(SoundEvent.SoundType.MOVE));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(failures.isEmpty(), "לא אמורות להיות שגיאות: " + failures);
+        delivered.set(0);
+        concurrentBus.publish(new SoundEvent(SoundEvent.SoundType.MOVE));
+        assertEquals(threads * perThread, delivered.get(), "כל ההרשמות המקבילות צריכות להישמר");
+    }
+
     void tearDown() {
         System.setOut(originalOut);
     }
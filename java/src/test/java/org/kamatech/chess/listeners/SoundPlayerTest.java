@@ -166,6 +166,16 @@ public class SoundPlayerTest {
         assertEquals(15, totalDebugMessages, "צריכים להיות 15 הודעות DEBUG (5 MOVE + 5 JUMP + 5 EAT)");
     }
 
+    @Test
+    @DisplayName("לכל סוג צליל יש קובץ WAV במשאבים")
+    void testEverySoundTypeHasResource() {
+        for (SoundEvent.SoundType soundType : SoundEvent.SoundType.values()) {
+            String fileName = SoundPlayer.fileNameFor(soundType);
+            assertNotNull(fileName, "חסר קובץ עבור " + soundType);
+            assertNotNull(getClass().getResource("/" + fileName), "הקובץ " + fileName + " לא נמצא במשאבים");
+        }
+    }
+
     void tearDown() {
         System.setOut(originalOut);
     }